@@ -0,0 +1,177 @@
+package com.org.java.app.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.org.java.app.dto.HistogramBucketDto;
+import com.org.java.app.dto.SalaryAggregateDto;
+import com.org.java.app.dto.SalaryHistogramDto;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+/**
+ * Result cache that cannot be refilled with data from before a clear, and
+ * that serves one read-only copy of each value to all callers.
+ *
+ * The @Cacheable methods use sync = true, so a miss computes the value in
+ * {@link #get(Object, Callable)}. A value computed while ResultCacheInvalidator
+ * cleared the cache may come from pre-commit data; it is returned to its
+ * caller but not stored, because the generation seen before computing is no
+ * longer current.
+ *
+ * Values are copied once on put into unmodifiable collections with copied
+ * elements, so the caller that computed a result cannot change the cached
+ * one. Hits return that instance as it is, as cheap as the map lookup; the
+ * callers only serialize it. Results of a type it cannot copy are not cached.
+ */
+final class GuardedCaffeineCache extends CaffeineCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(GuardedCaffeineCache.class);
+
+	// bumped, under the cache's lock, by every evict and clear
+	private final AtomicLong generation = new AtomicLong();
+
+	GuardedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+		super(name, cache, allowNullValues);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		long seen = generation.get();
+		ValueWrapper cached = super.get(key);
+		if (cached != null) {
+			return (T) cached.get();
+		}
+		T value;
+		try {
+			value = valueLoader.call();
+		} catch (Exception ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		if (!isCopyable(value)) {
+			return value;
+		}
+		T stored = (T) immutableCopyOf(value);
+		synchronized (this) {
+			if (generation.get() == seen) {
+				super.put(key, stored);
+			} else {
+				logger.debug("dropped result computed while " + getName() + " was cleared");
+			}
+		}
+		return stored;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		if (isCopyable(value)) {
+			super.put(key, immutableCopyOf(value));
+		}
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		if (!isCopyable(value)) {
+			return null;
+		}
+		return super.putIfAbsent(key, immutableCopyOf(value));
+	}
+
+	@Override
+	public synchronized void evict(Object key) {
+		generation.incrementAndGet();
+		super.evict(key);
+	}
+
+	@Override
+	public synchronized boolean evictIfPresent(Object key) {
+		generation.incrementAndGet();
+		return super.evictIfPresent(key);
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation.incrementAndGet();
+		super.clear();
+	}
+
+	@Override
+	public synchronized boolean invalidate() {
+		generation.incrementAndGet();
+		return super.invalidate();
+	}
+
+	private boolean isCopyable(Object value) {
+		try {
+			immutableCopyOf(value);
+			return true;
+		} catch (IllegalArgumentException ex) {
+			logger.warn("not caching " + getName() + ": " + ex.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Copy of a result that shares nothing with it, with every collection
+	 * unmodifiable; immutable values are returned as they are.
+	 */
+	static Object immutableCopyOf(Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum) {
+			return value;
+		}
+		if (value instanceof Employee) {
+			return EmployeeSnapshotStore.copyOf((Employee) value);
+		}
+		if (value instanceof SalaryAggregateDto) {
+			SalaryAggregateDto dto = (SalaryAggregateDto) value;
+			return new SalaryAggregateDto(dto.getGroupKey(), dto.getCount(), dto.getSum(), dto.getMin(), dto.getMax(),
+					dto.getAvg());
+		}
+		if (value instanceof HistogramBucketDto) {
+			HistogramBucketDto dto = (HistogramBucketDto) value;
+			return new HistogramBucketDto(dto.getLower(), dto.getUpper(), dto.getCount(), dto.getSum());
+		}
+		if (value instanceof SalaryHistogramDto) {
+			SalaryHistogramDto dto = (SalaryHistogramDto) value;
+			@SuppressWarnings("unchecked")
+			List<HistogramBucketDto> buckets = (List<HistogramBucketDto>) immutableCopyOf(dto.getBuckets());
+			return new SalaryHistogramDto(dto.getDeptName(), dto.getCount(), dto.getSum(), buckets);
+		}
+		if (value instanceof List) {
+			List<Object> copy = new ArrayList<>(((List<?>) value).size());
+			for (Object element : (List<?>) value) {
+				copy.add(immutableCopyOf(element));
+			}
+			return Collections.unmodifiableList(copy);
+		}
+		if (value instanceof Set) {
+			Set<Object> copy = new LinkedHashSet<>();
+			for (Object element : (Set<?>) value) {
+				copy.add(immutableCopyOf(element));
+			}
+			return Collections.unmodifiableSet(copy);
+		}
+		if (value instanceof Map) {
+			Map<Object, Object> copy = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				copy.put(immutableCopyOf(entry.getKey()), immutableCopyOf(entry.getValue()));
+			}
+			return Collections.unmodifiableMap(copy);
+		}
+		throw new IllegalArgumentException("no copy for " + value.getClass().getName());
+	}
+}
@@ -0,0 +1,55 @@
+package com.org.java.app.configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caffeine caches (W-TinyLFU eviction) for the results of EmployeeService read
+ * methods, one cache per method so each has its own hit ratio. They are
+ * cleared by ResultCacheInvalidator whenever an EmployeeEvent reports a change;
+ * GuardedCaffeineCache keeps results computed before a clear out and stores
+ * read-only copies. The @Cacheable methods use sync = true, which is how the
+ * cache sees a miss and its computation together.
+ */
+@Configuration
+@EnableCaching
+public class ResultCacheConfig {
+
+	public static final String MAX_SALARY = "maxSalary";
+	public static final String MIN_SALARY = "minSalary";
+	public static final String SUM_SALARY = "sumSalary";
+	public static final String COUNT_SALARY = "countSalary";
+	public static final String GROUP_COUNT = "groupCount";
+	public static final String GROUP_BY_SALARY = "groupBySalary";
+	public static final String MAP_NAMES = "mapNames";
+	public static final String SALARY_AGGREGATES = "salaryAggregates";
+	public static final String SALARY_HISTOGRAM = "salaryHistogram";
+
+	@Bean
+	public CacheManager cacheManager(@Value("${result-cache.maximum-size:1000}") long maximumSize,
+			@Value("${result-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+		// fixed cache names: a typo in @Cacheable fails at startup instead of creating a new cache
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache adaptCaffeineCache(String name,
+					com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+				return new GuardedCaffeineCache(name, cache, isAllowNullValues());
+			}
+		};
+		cacheManager.setCacheNames(Arrays.asList(MAX_SALARY, MIN_SALARY, SUM_SALARY, COUNT_SALARY, GROUP_COUNT,
+				GROUP_BY_SALARY, MAP_NAMES, SALARY_AGGREGATES, SALARY_HISTOGRAM));
+		cacheManager.setCaffeine(
+				Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats());
+		return cacheManager;
+	}
+}
@@ -1,5 +1,8 @@
 package com.org.java.app.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -15,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -24,16 +28,47 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.org.java.app.dto.BulkDeleteResultDto;
+import com.org.java.app.dto.BulkSaveResultDto;
+import com.org.java.app.dto.BulkUpdateResultDto;
+import com.org.java.app.dto.CacheStatsDto;
+import com.org.java.app.dto.DepartmentSummaryDto;
 import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.ExactDuplicateReportDto;
+import com.org.java.app.dto.FuzzyDuplicateReportDto;
+import com.org.java.app.dto.EmployeePatchDto;
+import com.org.java.app.dto.MailJobDto;
+import com.org.java.app.dto.NameCompletionDto;
+import com.org.java.app.dto.NameIndexStatsDto;
+import com.org.java.app.dto.SalaryAggregateDto;
+import com.org.java.app.dto.SalaryHistogramDto;
+import com.org.java.app.dto.SalaryPercentilesDto;
+import com.org.java.app.dto.DistinctCountDto;
+import com.org.java.app.dto.SalaryRevisionDto;
+import com.org.java.app.dto.SearchHitDto;
+import com.org.java.app.dto.SearchIndexStatsDto;
+import com.org.java.app.dto.TextAnalysisDto;
 import com.org.java.app.entity.Employee;
+import com.org.java.app.mapper.EmployeeMapper;
+import com.org.java.app.service.CacheStatisticsService;
+import com.org.java.app.service.DepartmentSummaryService;
+import com.org.java.app.service.DuplicateDetectionService;
+import com.org.java.app.service.EmployeeSearchService;
 import com.org.java.app.service.EmployeeService;
+import com.org.java.app.service.MailQueueService;
+import com.org.java.app.service.SalaryPercentileService;
+import com.org.java.app.service.DistinctCountService;
 import com.org.java.app.util.PdfGenerator;
-import com.org.java.app.mapper.EmployeeMapper;
 import com.org.java.app.util.ExcelGenerator;
-import com.org.java.app.util.EmailSender;
 
 import java.util.stream.Collectors;
-import jakarta.mail.MessagingException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
 @RestController
@@ -46,7 +81,28 @@ public class EmployeeController {
 	private EmployeeService employeeService;
 
 	@Autowired
-	private EmailSender emailSender;
+	private MailQueueService mailQueueService;
+
+	@Autowired
+	private CacheStatisticsService cacheStatisticsService;
+
+	@Autowired
+	private DepartmentSummaryService departmentSummaryService;
+
+	@Autowired
+	private EmployeeSearchService employeeSearchService;
+
+	@Autowired
+	private DuplicateDetectionService duplicateDetectionService;
+
+	@Autowired
+	private SalaryPercentileService salaryPercentileService;
+
+	@Autowired
+	private DistinctCountService distinctCountService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
 
 	@GetMapping("/welcome")
 	public String welcomeTest() {
@@ -63,12 +119,34 @@ public class EmployeeController {
 		return new ResponseEntity<Employee>(emp, HttpStatus.CREATED);
 	}
 
+	@PostMapping(value = "/saveAll", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<BulkSaveResultDto> addAllEmployees(HttpServletRequest request) throws IOException {
+		// a JSON array or one EmployeeDto per line; records are read one by one while they are inserted
+		try (MappingIterator<EmployeeDto> employees = objectMapper.readerFor(EmployeeDto.class)
+				.readValues(request.getInputStream())) {
+			BulkSaveResultDto result = employeeService.saveAllEmployeeDetails(employees);
+			return new ResponseEntity<BulkSaveResultDto>(result, HttpStatus.CREATED);
+		}
+	}
+
 	@PutMapping("/update")
 	public ResponseEntity<Employee> updateEmployee(@RequestBody Employee employee) {
 		Employee emp = employeeService.updateEmployeeDetails(employee);
 		return new ResponseEntity("Sucessfully updated fields in  DB", HttpStatus.CREATED);
 	}
 
+	@PatchMapping("/patch/{id}")
+	public ResponseEntity<Employee> patchEmployee(@PathVariable("id") int empId, @RequestBody EmployeePatchDto patch) {
+		Employee emp = employeeService.patchEmployeeDetails(empId, patch);
+		return new ResponseEntity<Employee>(emp, HttpStatus.OK);
+	}
+
+	@PutMapping("/reviseSalaries")
+	public ResponseEntity<BulkUpdateResultDto> reviseSalaries(@RequestBody SalaryRevisionDto revision) {
+		BulkUpdateResultDto result = employeeService.reviseSalaries(revision);
+		return new ResponseEntity<BulkUpdateResultDto>(result, HttpStatus.OK);
+	}
+
 	@DeleteMapping("/delete")
 	public ResponseEntity<Employee> deletEmployee(@RequestBody Employee employee) {
 		Employee emp = employeeService.deleteEmployeeDetails(employee);
@@ -76,6 +154,20 @@ public class EmployeeController {
 		return new ResponseEntity("Sucessfully deleted from DB", HttpStatus.NO_CONTENT);
 	}
 
+	@DeleteMapping("/deleteByIds")
+	public ResponseEntity<BulkDeleteResultDto> deleteEmployeesByIds(@RequestBody List<Integer> empIds) {
+		BulkDeleteResultDto result = employeeService.deleteEmployeesByIds(empIds);
+		logger.info("bulk delete by ids " + result);
+		return new ResponseEntity<BulkDeleteResultDto>(result, HttpStatus.OK);
+	}
+
+	@DeleteMapping("/deleteByDeptName")
+	public ResponseEntity<BulkDeleteResultDto> deleteEmployeesByDeptName(@RequestParam String deptName) {
+		BulkDeleteResultDto result = employeeService.deleteEmployeesByDeptName(deptName);
+		logger.info("bulk delete of department " + deptName + " " + result);
+		return new ResponseEntity<BulkDeleteResultDto>(result, HttpStatus.OK);
+	}
+
 	@GetMapping("/findById/{id}")
 	public ResponseEntity<?> findByIdData(@PathVariable("id") int empId,
 			@RequestHeader(name = "x-Request-Source") String sourceSystem) {
@@ -121,6 +213,28 @@ public class EmployeeController {
 		return ResponseEntity.ok(employeeService.findAllEmployeeDetails());
 	}
 
+	@GetMapping(value = "/findAll/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public void streamAllEmployee(@RequestHeader(name = "X-request-Source") String SouceSystem,
+			HttpServletResponse response) throws IOException {
+		if (!"test".equalsIgnoreCase(SouceSystem)) {
+			response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unknown source system: " + SouceSystem);
+			return;
+		}
+		// rows are written as they come off the cursor, so heap use does not depend on the table size
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+			generator.writeStartArray();
+			employeeService.streamAllEmployeeDetails(employees -> employees.forEach(employee -> {
+				try {
+					generator.writeObject(EmployeeMapper.INSTANCE.employeeToEmployeeDto(employee));
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}));
+			generator.writeEndArray();
+		}
+	}
+
 	@GetMapping("/findByDepatmentName/{deptName}")
 	public ResponseEntity<Employee> findByDeptDetails(@PathVariable("deptName") String deptName) {
 		List<Employee> deptDetails = employeeService.findByDepartmentDetails(deptName);
@@ -161,9 +275,22 @@ public class EmployeeController {
 	}
 
 	@GetMapping("/findByBetwenSalary")
-	public ResponseEntity<Employee> findByEmployeeBetweenSalary() {
-		List<EmployeeDto> emplist = employeeService.findByEmployeeBetweenSalaryDeatails();
-		return new ResponseEntity(emplist, HttpStatus.OK);
+	public ResponseEntity<Employee> findByEmployeeBetweenSalary(
+			@RequestParam(name = "minSalary", defaultValue = "65000") double minSalary,
+			@RequestParam(name = "maxSalary", defaultValue = "90000") double maxSalary,
+			@RequestParam(name = "size", defaultValue = "100") int size,
+			@RequestParam(name = "afterSalary", required = false) Double afterSalary,
+			@RequestParam(name = "afterEmpId", required = false) Integer afterEmpId) {
+		List<EmployeeDto> emplist = employeeService.findByEmployeeBetweenSalaryDeatails(minSalary, maxSalary, size,
+				afterSalary, afterEmpId);
+		HttpHeaders headers = new HttpHeaders();
+		if (emplist.size() == size) {
+			// cursor for the next page: the (salary, empId) of the last row
+			EmployeeDto last = emplist.get(emplist.size() - 1);
+			headers.add("X-Next-After-Salary", String.valueOf(last.getSalary()));
+			headers.add("X-Next-After-EmpId", String.valueOf(last.getEmpId()));
+		}
+		return new ResponseEntity(emplist, headers, HttpStatus.OK);
 	}
 
 	@GetMapping("/groupCount")
@@ -220,6 +347,71 @@ public class EmployeeController {
 		return new ResponseEntity(emplist, HttpStatus.OK);
 	}
 
+	@GetMapping("/salaryAggregates")
+	public ResponseEntity<List<SalaryAggregateDto>> salaryAggregates(
+			@RequestParam(name = "groupBy", required = false) String groupBy) {
+		List<SalaryAggregateDto> aggregates = employeeService.findSalaryAggregatesDeatails(groupBy);
+		return new ResponseEntity<>(aggregates, HttpStatus.OK);
+	}
+
+	@GetMapping("/salaryHistogram")
+	public ResponseEntity<List<SalaryHistogramDto>> salaryHistogram(
+			@RequestParam(name = "width", required = false) Double width,
+			@RequestParam(name = "boundaries", required = false) String boundaries,
+			@RequestParam(name = "byDepartment", defaultValue = "false") boolean byDepartment) {
+		return new ResponseEntity<>(employeeService.findSalaryHistogramDeatails(width, boundaries, byDepartment),
+				HttpStatus.OK);
+	}
+
+	@GetMapping("/salaryPercentiles")
+	public ResponseEntity<List<SalaryPercentilesDto>> salaryPercentiles(
+			@RequestParam(name = "deptNames", required = false) List<String> deptNames,
+			@RequestParam(name = "quantiles", defaultValue = "0.5,0.9,0.99") List<Double> quantiles,
+			@RequestParam(name = "merge", defaultValue = "false") boolean merge) {
+		return new ResponseEntity<>(salaryPercentileService.findSalaryPercentiles(deptNames, quantiles, merge),
+				HttpStatus.OK);
+	}
+
+	@GetMapping("/distinct/{field}")
+	public ResponseEntity<List<DistinctCountDto>> distinctCounts(@PathVariable("field") String field,
+			@RequestParam(name = "deptNames", required = false) List<String> deptNames,
+			@RequestParam(name = "byDepartment", defaultValue = "false") boolean byDepartment) {
+		return new ResponseEntity<>(distinctCountService.findDistinctCounts(field, deptNames, byDepartment),
+				HttpStatus.OK);
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<List<SearchHitDto>> search(@RequestParam("q") String q,
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return new ResponseEntity<>(employeeSearchService.searchEmployees(q, limit), HttpStatus.OK);
+	}
+
+	@GetMapping("/search/stats")
+	public ResponseEntity<SearchIndexStatsDto> searchIndexStatistics() {
+		return new ResponseEntity<>(employeeSearchService.findSearchIndexStatistics(), HttpStatus.OK);
+	}
+
+	@GetMapping("/names/autocomplete")
+	public ResponseEntity<List<NameCompletionDto>> autocompleteNames(@RequestParam("prefix") String prefix,
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return new ResponseEntity<>(employeeSearchService.completeEmployeeNames(prefix, limit), HttpStatus.OK);
+	}
+
+	@GetMapping("/names/autocomplete/stats")
+	public ResponseEntity<NameIndexStatsDto> nameIndexStatistics() {
+		return new ResponseEntity<>(employeeSearchService.findNameIndexStatistics(), HttpStatus.OK);
+	}
+
+	@GetMapping("/departmentSummaries")
+	public ResponseEntity<List<DepartmentSummaryDto>> departmentSummaries() {
+		return new ResponseEntity<>(departmentSummaryService.findDepartmentSummaries(), HttpStatus.OK);
+	}
+
+	@PostMapping("/departmentSummaries/rebuild")
+	public ResponseEntity<List<DepartmentSummaryDto>> rebuildDepartmentSummaries() {
+		return new ResponseEntity<>(departmentSummaryService.rebuildDepartmentSummaries(), HttpStatus.OK);
+	}
+
 	@GetMapping("/findParticularRecords")
 	public ResponseEntity<Employee> findParticularRecords() {
 		List<Employee> emplist = employeeService.findParticularRecordsDeatails();
@@ -250,9 +442,26 @@ public class EmployeeController {
 		return new ResponseEntity(emplist, HttpStatus.OK);
 	}
 
+	@GetMapping("/duplicates/fuzzy")
+	public ResponseEntity<FuzzyDuplicateReportDto> fuzzyDuplicates(
+			@RequestParam(name = "maxNameDistance", defaultValue = "2") int maxNameDistance,
+			@RequestParam(name = "minMatchingFields", defaultValue = "2") int minMatchingFields,
+			@RequestParam(name = "limit", defaultValue = "100") int limit) {
+		return new ResponseEntity<>(
+				duplicateDetectionService.findFuzzyDuplicates(maxNameDistance, minMatchingFields, limit),
+				HttpStatus.OK);
+	}
+
+	@GetMapping("/duplicates/exact")
+	public ResponseEntity<ExactDuplicateReportDto> exactDuplicates(@RequestParam("columns") String columns,
+			@RequestParam(name = "limit", defaultValue = "100") int limit) {
+		return new ResponseEntity<>(duplicateDetectionService.findExactDuplicates(columns, limit), HttpStatus.OK);
+	}
+
 	@GetMapping("/printDublicatesInString")
-	public ResponseEntity<Employee> printDublicatesInString() {
-		List<String> dublicates = employeeService.printDublicatesInStringDeatails();
+	public ResponseEntity<Employee> printDublicatesInString(
+			@RequestParam(name = "name", defaultValue = "suresh") String name) {
+		List<String> dublicates = employeeService.printDublicatesInStringDeatails(name);
 		return new ResponseEntity(dublicates, HttpStatus.OK);
 	}
 
@@ -263,8 +472,9 @@ public class EmployeeController {
 	}
 
 	@GetMapping("/uniquerecordsInString")
-	public ResponseEntity<Employee> uniquerecordsInString() {
-		List<String> dublicates = employeeService.uniquerecordsInStringDeatails();
+	public ResponseEntity<Employee> uniquerecordsInString(
+			@RequestParam(name = "name", defaultValue = "suresh") String name) {
+		List<String> dublicates = employeeService.uniquerecordsInStringDeatails(name);
 		return new ResponseEntity(dublicates, HttpStatus.OK);
 	}
 
@@ -281,8 +491,9 @@ public class EmployeeController {
 	}
 
 	@GetMapping("/findStringOccurence")
-	public ResponseEntity<Employee> findStringOccurence() {
-		Map<Character, Integer> emplist = employeeService.findStringOccurenceDeatails();
+	public ResponseEntity<Employee> findStringOccurence(
+			@RequestParam(name = "name", defaultValue = "naveenkumar") String name) {
+		Map<String, Integer> emplist = employeeService.findStringOccurenceDeatails(name);
 		return new ResponseEntity(emplist, HttpStatus.OK);
 	}
 
@@ -306,17 +517,25 @@ public class EmployeeController {
 	}
 
 	@GetMapping("/firstnonRepeactedCharacterInString")
-	public ResponseEntity<Employee> firstnonRepeactedCharacterInString() {
-		String emplist = employeeService.firstnonRepeactedCharacterInStringDeatails();
+	public ResponseEntity<Employee> firstnonRepeactedCharacterInString(
+			@RequestParam(name = "name", defaultValue = "suresh") String name) {
+		String emplist = employeeService.firstnonRepeactedCharacterInStringDeatails(name);
 		return new ResponseEntity(emplist, HttpStatus.OK);
 	}
 
 	@GetMapping("/firstRepeactedCharacterInString")
-	public ResponseEntity<Employee> firstRepeactedCharacterInString() {
-		String emplist = employeeService.firstRepeactedCharacterInStringDeatails();
+	public ResponseEntity<Employee> firstRepeactedCharacterInString(
+			@RequestParam(name = "name", defaultValue = "suresh") String name) {
+		String emplist = employeeService.firstRepeactedCharacterInStringDeatails(name);
 		return new ResponseEntity(emplist, HttpStatus.OK);
 	}
 
+	@GetMapping("/textAnalytics/{empId}")
+	public ResponseEntity<TextAnalysisDto> textAnalytics(@PathVariable("empId") int empId,
+			@RequestParam(name = "field", defaultValue = "empName") String field) {
+		return new ResponseEntity<>(employeeService.analyzeEmployeeTextDeatails(empId, field), HttpStatus.OK);
+	}
+
 	@GetMapping("/longestString")
 	public ResponseEntity<Employee> longestString() {
 		String emplist = employeeService.longestStringDeatails();
@@ -360,41 +579,44 @@ public class EmployeeController {
 	}
 
 	@GetMapping("/report/pdf")
-	public ResponseEntity<byte[]> downloadEmployeesPdf() {
-		// Reuse existing service to fetch all employees as DTOs, then map to entity shape used by PdfGenerator
-		var dtos = employeeService.findAllEmployeeDetails();
-		var employees = dtos.stream().map(dto -> EmployeeMapper.INSTANCE.employeeDtoToEmployee(dto)).collect(Collectors.toList());
-		byte[] pdf = PdfGenerator.generateEmployeesPdf(employees);
-		return ResponseEntity.ok()
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees.pdf")
-				.contentType(MediaType.APPLICATION_PDF)
-				.body(pdf);
+	public void downloadEmployeesPdf(HttpServletResponse response) throws IOException {
+		// Rows are rendered straight from the DB cursor and the file is streamed to the client
+		response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees.pdf");
+		PdfGenerator.writeEmployeesPdf(employeeService::streamAllEmployeeDetails, response.getOutputStream());
 	}
 
 	@GetMapping("/report/excel")
-	public ResponseEntity<byte[]> downloadEmployeesExcel() {
-		var dtos = employeeService.findAllEmployeeDetails();
-		var employees = dtos.stream().map(dto -> EmployeeMapper.INSTANCE.employeeDtoToEmployee(dto)).collect(Collectors.toList());
-		byte[] xlsx = ExcelGenerator.generateEmployeesExcel(employees);
-		return ResponseEntity.ok()
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees.xlsx")
-				.contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-				.body(xlsx);
+	public void downloadEmployeesExcel(HttpServletResponse response) throws IOException {
+		// SXSSF keeps a small window of rows in memory and the workbook is written straight to the client
+		response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees.xlsx");
+		ExcelGenerator.writeEmployeesExcel(employeeService::streamAllEmployeeDetails, response.getOutputStream());
 	}
 
 	@PostMapping("/report/email")
-	public ResponseEntity<String> emailEmployeesPdf( String to) {
-		try {
-			var dtos = employeeService.findAllEmployeeDetails();
-			var employees = dtos.stream().map(dto -> EmployeeMapper.INSTANCE.employeeDtoToEmployee(dto)).collect(Collectors.toList());
-			byte[] pdf = PdfGenerator.generateEmployeesPdf(employees);
-			emailSender.sendPdf(to, "Employees Report", "<p>Please find attached the latest employees report.</p>", pdf, "employees.pdf");
-			return ResponseEntity.ok("Email sent to " + to);
-		} catch (MessagingException ex) {
-			return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("Email sending failed: " + ex.getMessage());
-		} catch (Exception ex) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unexpected error: " + ex.getMessage());
-		}
+	public ResponseEntity<String> emailEmployeesPdf(@RequestParam String to) {
+		// the report is rendered and sent by the mail queue; "to" may list several comma separated addresses
+		List<String> recipients = Arrays.stream(to.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+				.collect(Collectors.toList());
+		String trackingId = mailQueueService.queueReportEmail(recipients);
+		return new ResponseEntity<String>(trackingId, HttpStatus.ACCEPTED);
+	}
+
+	@GetMapping("/report/email/{trackingId}")
+	public ResponseEntity<MailJobDto> findEmailStatus(@PathVariable String trackingId) {
+		return new ResponseEntity<MailJobDto>(mailQueueService.findMailJob(trackingId), HttpStatus.OK);
+	}
+
+	@GetMapping("/cache/stats")
+	public ResponseEntity<List<CacheStatsDto>> cacheStatistics() {
+		return new ResponseEntity<List<CacheStatsDto>>(cacheStatisticsService.findCacheStatistics(), HttpStatus.OK);
+	}
+
+	@GetMapping("/cache/results/stats")
+	public ResponseEntity<List<CacheStatsDto>> resultCacheStatistics() {
+		return new ResponseEntity<List<CacheStatsDto>>(cacheStatisticsService.findResultCacheStatistics(),
+				HttpStatus.OK);
 	}
 
 	@GetMapping("/listToSetConversion")
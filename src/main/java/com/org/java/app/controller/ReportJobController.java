@@ -0,0 +1,74 @@
+package com.org.java.app.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.org.java.app.dto.ReportJobDto;
+import com.org.java.app.dto.ReportJobRequestDto;
+import com.org.java.app.service.ReportJobService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/empApi/report/jobs")
+public class ReportJobController {
+
+	// request attributes understood by Tomcat's NIO connector for sendfile
+	private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@PostMapping
+	public ResponseEntity<ReportJobDto> submitReportJob(@RequestBody ReportJobRequestDto request) {
+		ReportJobDto job = reportJobService.submitReportJob(request.getFormat(), request.getDeptName());
+		return new ResponseEntity<ReportJobDto>(job, HttpStatus.ACCEPTED);
+	}
+
+	@GetMapping("/{jobId}")
+	public ResponseEntity<ReportJobDto> findReportJob(@PathVariable String jobId) {
+		return new ResponseEntity<ReportJobDto>(reportJobService.findReportJob(jobId), HttpStatus.OK);
+	}
+
+	@GetMapping("/{jobId}/download")
+	public void downloadReport(@PathVariable String jobId, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		ReportJobDto job = reportJobService.findReportJob(jobId);
+		Path artifact = reportJobService.findReportArtifact(jobId);
+		boolean pdf = "pdf".equals(job.getFormat());
+		long length = Files.size(artifact);
+
+		response.setContentType(pdf ? MediaType.APPLICATION_PDF_VALUE
+				: "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=employees." + (pdf ? "pdf" : "xlsx"));
+		response.setContentLengthLong(length);
+
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+			// the connector copies the file to the socket itself, the bytes never pass through the heap
+			request.setAttribute(SENDFILE_FILENAME, artifact.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, 0L);
+			request.setAttribute(SENDFILE_END, length);
+			return;
+		}
+		Files.copy(artifact, response.getOutputStream());
+	}
+
+}
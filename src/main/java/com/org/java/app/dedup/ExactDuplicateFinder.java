@@ -0,0 +1,374 @@
+package com.org.java.app.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import com.org.java.app.entity.Employee;
+
+/**
+ * Counts rows per distinct value of a set of columns in one pass over a row
+ * stream, and reports the keys that occur more than once.
+ *
+ * Keys are encoded by {@link KeyColumn} and counted in a {@link KeyTable}.
+ * When the table outgrows the memory budget it is written out, split by the
+ * top {@link #PARTITION_BITS} bits of the key hash, and emptied. At the end
+ * each partition file is read back into its own table; equal keys always land
+ * in the same partition, so counting them there is exact. A partition that
+ * still does not fit is split again by the next bits of the hash.
+ *
+ * Not thread safe; feed it from one stream and close it to delete the spill
+ * files.
+ */
+public final class ExactDuplicateFinder implements Closeable {
+
+	static final int PARTITION_BITS = 4;
+	private static final int PARTITIONS = 1 << PARTITION_BITS;
+	// 64-bit hashes allow this many re-partitioning rounds; beyond it a partition is counted in memory as is
+	private static final int MAX_LEVEL = 64 / PARTITION_BITS - 1;
+	// a table is never spilled with fewer keys, so tiny budgets still make progress
+	static final int MIN_KEYS_TO_SPILL = 1024;
+
+	private final List<KeyColumn> columns;
+	private final long memoryBudgetBytes;
+	private final Path spillDirectory;
+	private final KeyBuffer key = new KeyBuffer();
+	private final int[] rowId = new int[1];
+
+	private KeyTable table = new KeyTable();
+	private DataOutputStream[] partitions;
+	private long rows;
+	private int spillFiles;
+	private long spilledBytes;
+	private boolean finished;
+
+	/** One key that occurs more than once. */
+	public static final class Group {
+
+		private final Object[] values;
+		private final long count;
+		private final int[] sampleIds;
+
+		Group(Object[] values, long count, int[] sampleIds) {
+			this.values = values;
+			this.count = count;
+			this.sampleIds = sampleIds;
+		}
+
+		/** Column values in the order of the columns given to the finder. */
+		public Object[] getValues() {
+			return values;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		/** The first empIds seen with this key, at most {@link KeyTable#SAMPLE_IDS}. */
+		public int[] getSampleIds() {
+			return sampleIds;
+		}
+	}
+
+	public static final class Result {
+
+		private final long rows;
+		private final long distinctKeys;
+		private final long duplicateKeys;
+		private final long duplicateRows;
+		private final int spillFiles;
+		private final long spilledBytes;
+		private final List<Group> groups;
+
+		Result(long rows, long distinctKeys, long duplicateKeys, long duplicateRows, int spillFiles,
+				long spilledBytes, List<Group> groups) {
+			this.rows = rows;
+			this.distinctKeys = distinctKeys;
+			this.duplicateKeys = duplicateKeys;
+			this.duplicateRows = duplicateRows;
+			this.spillFiles = spillFiles;
+			this.spilledBytes = spilledBytes;
+			this.groups = groups;
+		}
+
+		public long getRows() {
+			return rows;
+		}
+
+		public long getDistinctKeys() {
+			return distinctKeys;
+		}
+
+		/** Keys carried by two or more rows. */
+		public long getDuplicateKeys() {
+			return duplicateKeys;
+		}
+
+		/** Rows whose key is carried by another row too. */
+		public long getDuplicateRows() {
+			return duplicateRows;
+		}
+
+		public int getSpillFiles() {
+			return spillFiles;
+		}
+
+		public long getSpilledBytes() {
+			return spilledBytes;
+		}
+
+		/** The most frequent duplicated keys, highest count first. */
+		public List<Group> getGroups() {
+			return groups;
+		}
+	}
+
+	/**
+	 * spillDirectory is created once the budget is exceeded and deleted on
+	 * close, so it must not be shared.
+	 */
+	public ExactDuplicateFinder(List<KeyColumn> columns, long memoryBudgetBytes, Path spillDirectory) {
+		this.columns = List.copyOf(columns);
+		this.memoryBudgetBytes = memoryBudgetBytes;
+		this.spillDirectory = spillDirectory;
+	}
+
+	public void add(Employee employee) {
+		key.clear();
+		for (KeyColumn column : columns) {
+			column.encode(employee, key);
+		}
+		rowId[0] = employee.getEmpId();
+		table.add(key.bytes(), 0, key.length(), KeyBuffer.hash(key.bytes(), 0, key.length()), 1, rowId, 0);
+		rows++;
+		if (table.memoryBytes() > memoryBudgetBytes && table.size() >= MIN_KEYS_TO_SPILL) {
+			if (partitions == null) {
+				partitions = openPartitions("p");
+			}
+			spill(table, partitions, 0);
+			table = new KeyTable();
+		}
+	}
+
+	/** Counts, and the limit most frequent duplicated keys (ties: lowest sample id first). */
+	public Result finish(int limit) {
+		if (finished) {
+			throw new IllegalStateException("finish was already called");
+		}
+		finished = true;
+		Tally tally = new Tally(limit);
+		try {
+			if (partitions == null) {
+				tally.collect(table);
+			} else {
+				spill(table, partitions, 0);
+				table = null;
+				Path[] files = closePartitions(partitions, "p");
+				partitions = null;
+				for (Path file : files) {
+					countPartition(file, 1, tally);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new Result(rows, tally.distinctKeys, tally.duplicateKeys, tally.duplicateRows, spillFiles,
+				spilledBytes, tally.groups());
+	}
+
+	/** Reads one partition into a table, splitting it further when it does not fit the budget. */
+	private void countPartition(Path file, int level, Tally tally) throws IOException {
+		KeyTable partition = new KeyTable();
+		DataOutputStream[] subPartitions = null;
+		String prefix = file.getFileName().toString();
+		byte[] keyBytes = new byte[64];
+		int[] ids = new int[KeyTable.SAMPLE_IDS];
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			while (true) {
+				long hash;
+				try {
+					hash = in.readLong();
+				} catch (EOFException e) {
+					break;
+				}
+				int length = in.readInt();
+				if (length > keyBytes.length) {
+					keyBytes = new byte[Math.max(length, keyBytes.length * 2)];
+				}
+				in.readFully(keyBytes, 0, length);
+				long count = in.readLong();
+				int sampleCount = in.readUnsignedByte();
+				for (int i = 0; i < sampleCount; i++) {
+					ids[i] = in.readInt();
+				}
+				partition.add(keyBytes, 0, length, hash, count, ids, 0);
+				if (partition.memoryBytes() > memoryBudgetBytes && partition.size() >= MIN_KEYS_TO_SPILL
+						&& level <= MAX_LEVEL) {
+					if (subPartitions == null) {
+						subPartitions = openPartitions(prefix);
+					}
+					spill(partition, subPartitions, level);
+					partition = new KeyTable();
+				}
+			}
+		}
+		Files.deleteIfExists(file);
+		if (subPartitions == null) {
+			tally.collect(partition);
+			return;
+		}
+		spill(partition, subPartitions, level);
+		for (Path subFile : closePartitions(subPartitions, prefix)) {
+			countPartition(subFile, level + 1, tally);
+		}
+	}
+
+	/** Appends every entry to the partition chosen by the hash bits of this level. */
+	private void spill(KeyTable source, DataOutputStream[] out, int level) {
+		int shift = 64 - PARTITION_BITS * (level + 1);
+		try {
+			for (int entry = 0; entry < source.size(); entry++) {
+				long hash = source.hash(entry);
+				DataOutputStream partition = out[(int) (hash >>> shift) & (PARTITIONS - 1)];
+				int sampleCount = source.sampleCount(entry);
+				partition.writeLong(hash);
+				partition.writeInt(source.keyLength(entry));
+				partition.write(source.arena(), source.keyOffset(entry), source.keyLength(entry));
+				partition.writeLong(source.count(entry));
+				partition.writeByte(sampleCount);
+				for (int i = 0; i < sampleCount; i++) {
+					partition.writeInt(source.samples()[entry * KeyTable.SAMPLE_IDS + i]);
+				}
+				spilledBytes += 8 + 4 + source.keyLength(entry) + 8 + 1 + 4 * sampleCount;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private DataOutputStream[] openPartitions(String prefix) {
+		try {
+			Files.createDirectories(spillDirectory);
+			DataOutputStream[] out = new DataOutputStream[PARTITIONS];
+			for (int i = 0; i < PARTITIONS; i++) {
+				out[i] = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(partitionFile(prefix, i)), 1 << 16));
+				spillFiles++;
+			}
+			return out;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Path[] closePartitions(DataOutputStream[] out, String prefix) throws IOException {
+		Path[] files = new Path[out.length];
+		for (int i = 0; i < out.length; i++) {
+			out[i].close();
+			files[i] = partitionFile(prefix, i);
+		}
+		return files;
+	}
+
+	private Path partitionFile(String prefix, int partition) {
+		return spillDirectory.resolve(prefix + "-" + Integer.toHexString(partition));
+	}
+
+	/** Closes open spill files and deletes every spill file left. */
+	@Override
+	public void close() throws IOException {
+		if (partitions != null) {
+			for (DataOutputStream out : partitions) {
+				out.close();
+			}
+			partitions = null;
+		}
+		if (Files.isDirectory(spillDirectory)) {
+			try (Stream<Path> files = Files.list(spillDirectory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.deleteIfExists(file);
+				}
+			}
+			Files.deleteIfExists(spillDirectory);
+		}
+	}
+
+	/** Totals over all keys and a bounded min-heap of the most frequent duplicated ones. */
+	private final class Tally {
+
+		private final int limit;
+		private final PriorityQueue<Group> top;
+		private long distinctKeys;
+		private long duplicateKeys;
+		private long duplicateRows;
+
+		Tally(int limit) {
+			this.limit = limit;
+			this.top = new PriorityQueue<>(RANKING.reversed());
+		}
+
+		void collect(KeyTable source) {
+			for (int entry = 0; entry < source.size(); entry++) {
+				distinctKeys++;
+				long count = source.count(entry);
+				if (count < 2) {
+					continue;
+				}
+				duplicateKeys++;
+				duplicateRows += count;
+				int from = entry * KeyTable.SAMPLE_IDS;
+				int[] sampleIds = Arrays.copyOfRange(source.samples(), from, from + source.sampleCount(entry));
+				if (top.size() == limit && !(limit > 0 && RANKING.compare(count, sampleIds[0], top.peek()) < 0)) {
+					continue;
+				}
+				top.add(new Group(decode(source, entry), count, sampleIds));
+				if (top.size() > limit) {
+					top.poll();
+				}
+			}
+		}
+
+		List<Group> groups() {
+			List<Group> groups = new ArrayList<>(top);
+			groups.sort(RANKING);
+			return groups;
+		}
+
+		private Object[] decode(KeyTable source, int entry) {
+			Object[] values = new Object[columns.size()];
+			int position = source.keyOffset(entry);
+			for (int i = 0; i < values.length; i++) {
+				position = columns.get(i).decode(source.arena(), position, values, i);
+			}
+			return values;
+		}
+	}
+
+	// most rows first, then the key first seen at the lowest empId
+	private static final Ranking RANKING = new Ranking();
+
+	private static final class Ranking implements Comparator<Group> {
+
+		@Override
+		public int compare(Group a, Group b) {
+			return compare(a.count, a.sampleIds[0], b);
+		}
+
+		int compare(long count, int firstId, Group b) {
+			return count != b.count ? Long.compare(b.count, count) : Integer.compare(firstId, b.sampleIds[0]);
+		}
+	}
+}
@@ -0,0 +1,383 @@
+package com.org.java.app.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.util.EditDistance;
+import com.org.java.app.util.Hashing;
+
+/**
+ * Finds employee records that probably describe the same person although
+ * their fields differ by typos.
+ *
+ * Two records match when at least {@code minMatchingFields} of these agree:
+ * <ul>
+ * <li>name, ignoring case and punctuation, within {@code maxNameDistance}
+ * edits (one edit per four characters of the shorter name at most)</li>
+ * <li>email, ignoring case, within one edit</li>
+ * <li>mobile number, differing in at most one digit</li>
+ * </ul>
+ * Matches are chained into clusters, so a cluster can hold records that only
+ * match through a third one.
+ *
+ * Since a match needs two fields, every matching pair agrees on the email or
+ * on the mobile number, and only those two fields are used for blocking:
+ * <ul>
+ * <li>email pass k: every email is keyed once as is and once with its k-th
+ * character deleted. Equal emails meet in pass 0, one substitution at k meets
+ * deletion against deletion in pass k, one insertion at k meets the shorter
+ * email against the deletion in pass k.</li>
+ * <li>phone pass p: every number is keyed with its p-th decimal digit set to 0,
+ * so numbers differing only in that digit meet.</li>
+ * </ul>
+ * Each pass sorts one {@code long[]} of (40-bit key hash, 24-bit row) and
+ * compares rows with equal keys, each against the next {@link #WINDOW} rows of
+ * its block only, so a key shared by thousands of rows (a placeholder email)
+ * stays linear. Passes are independent and run in parallel; hash collisions
+ * only cost a comparison, since every candidate pair is verified.
+ */
+public final class FuzzyDuplicateFinder {
+
+	static final int WINDOW = 32;
+	static final int MAX_ROWS = 1 << 24;
+
+	private static final int ROW_BITS = 24;
+	private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+	// lowest bit of the key hash part: set for the as-is email entries of an email pass
+	private static final long ORIGINAL = 1L << ROW_BITS;
+
+	private final int maxNameDistance;
+	private final int minMatchingFields;
+
+	/** Clusters of row indexes into the list passed to {@link #find(List)}, largest first. */
+	public static final class Result {
+
+		private final List<int[]> clusters;
+		private final long candidatePairs;
+		private final long matchedPairs;
+
+		Result(List<int[]> clusters, long candidatePairs, long matchedPairs) {
+			this.clusters = clusters;
+			this.candidatePairs = candidatePairs;
+			this.matchedPairs = matchedPairs;
+		}
+
+		public List<int[]> getClusters() {
+			return clusters;
+		}
+
+		/** Pairs that shared a blocking key and were verified, counted once per pass they met in. */
+		public long getCandidatePairs() {
+			return candidatePairs;
+		}
+
+		/** Distinct matching pairs. */
+		public long getMatchedPairs() {
+			return matchedPairs;
+		}
+	}
+
+	public FuzzyDuplicateFinder(int maxNameDistance, int minMatchingFields) {
+		if (maxNameDistance < 0 || minMatchingFields < 2 || minMatchingFields > 3) {
+			throw new IllegalArgumentException("maxNameDistance >= 0 and 2 <= minMatchingFields <= 3 required");
+		}
+		this.maxNameDistance = maxNameDistance;
+		this.minMatchingFields = minMatchingFields;
+	}
+
+	public Result find(List<Employee> employees) {
+		int n = employees.size();
+		if (n > MAX_ROWS) {
+			throw new IllegalArgumentException("at most " + MAX_ROWS + " rows are supported");
+		}
+		String[] names = new String[n];
+		String[] emails = new String[n];
+		long[] phones = new long[n];
+		int maxEmailLength = 0;
+		int maxDigits = 0;
+		for (int i = 0; i < n; i++) {
+			Employee employee = employees.get(i);
+			names[i] = normalizeName(employee.getEmpName());
+			emails[i] = normalizeEmail(employee.getEmail());
+			phones[i] = Math.max(0, employee.getMobbileNumber());
+			maxEmailLength = Math.max(maxEmailLength, emails[i] == null ? 0 : emails[i].length());
+			maxDigits = Math.max(maxDigits, digits(phones[i]));
+		}
+		Rows rows = new Rows(names, emails, phones);
+		AtomicLong candidates = new AtomicLong();
+		int emailPasses = maxEmailLength;
+		List<long[]> matches = IntStream.range(0, emailPasses + maxDigits).parallel()
+				.mapToObj(pass -> pass < emailPasses ? emailPass(rows, pass, candidates)
+						: phonePass(rows, pass - emailPasses, candidates))
+				.collect(Collectors.toList());
+
+		// the same pair can meet in several passes
+		long[] pairs = matches.stream().flatMapToLong(Arrays::stream).sorted().distinct().toArray();
+		int[] parent = new int[n];
+		Arrays.setAll(parent, i -> i);
+		for (long pair : pairs) {
+			union(parent, (int) (pair >>> 32), (int) pair);
+		}
+		return new Result(clusters(parent), candidates.get(), pairs.length);
+	}
+
+	private long[] emailPass(Rows rows, int position, AtomicLong candidates) {
+		String[] emails = rows.emails;
+		long[] entries = new long[2 * emails.length];
+		int size = 0;
+		for (int row = 0; row < emails.length; row++) {
+			String email = emails[row];
+			if (email == null) {
+				continue;
+			}
+			entries[size++] = (rows.emailHashes[row] & ~ROW_MASK) | ORIGINAL | row;
+			if (position < email.length()) {
+				entries[size++] = (hash(email, position) & ~(ROW_MASK | ORIGINAL)) | row;
+			}
+		}
+		return compareBlocks(rows, entries, size, candidates, (a, b) -> {
+			boolean bothOriginal = (a & b & ORIGINAL) != 0;
+			// equal emails meet as is in pass 0 only, and as deletions in every pass
+			return bothOriginal ? position == 0
+					: !rows.emails[(int) (a & ROW_MASK)].equals(rows.emails[(int) (b & ROW_MASK)]);
+		});
+	}
+
+	private long[] phonePass(Rows rows, int digit, AtomicLong candidates) {
+		long[] phones = rows.phones;
+		long[] entries = new long[phones.length];
+		long scale = 1;
+		for (int i = 0; i < digit; i++) {
+			scale *= 10;
+		}
+		int size = 0;
+		for (int row = 0; row < phones.length; row++) {
+			long phone = phones[row];
+			if (phone == 0) {
+				continue;
+			}
+			long masked = phone - (phone / scale % 10) * scale;
+			entries[size++] = (Hashing.fmix64(masked) & ~ROW_MASK) | row;
+		}
+		return compareBlocks(rows, entries, size, candidates, (a, b) -> digit == 0
+				|| rows.phones[(int) (a & ROW_MASK)] != rows.phones[(int) (b & ROW_MASK)]);
+	}
+
+	private interface PairFilter {
+		boolean accept(long a, long b);
+	}
+
+	/** Sorts the entries and verifies the pairs within each run of equal key hashes. */
+	private long[] compareBlocks(Rows rows, long[] entries, int size, AtomicLong candidates, PairFilter filter) {
+		entries = sortByKey(entries, size);
+		long[] pairs = new long[16];
+		int found = 0;
+		long compared = 0;
+		// the ORIGINAL bit is part of the entry but not of the key
+		long keyMask = ~(ROW_MASK | ORIGINAL);
+		for (int start = 0; start < size;) {
+			int end = start + 1;
+			while (end < size && (entries[end] & keyMask) == (entries[start] & keyMask)) {
+				end++;
+			}
+			for (int i = start; i < end; i++) {
+				for (int j = i + 1; j < end && j <= i + WINDOW; j++) {
+					int a = (int) (entries[i] & ROW_MASK);
+					int b = (int) (entries[j] & ROW_MASK);
+					if (a == b || !filter.accept(entries[i], entries[j])) {
+						continue;
+					}
+					compared++;
+					if (rows.matches(a, b, maxNameDistance, minMatchingFields)) {
+						if (found == pairs.length) {
+							pairs = Arrays.copyOf(pairs, found * 2);
+						}
+						pairs[found++] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+					}
+				}
+			}
+			start = end;
+		}
+		candidates.addAndGet(compared);
+		return Arrays.copyOf(pairs, found);
+	}
+
+	/**
+	 * Sorted copy of entries[0, size): scattered by the top 16 bits first, then
+	 * each bucket (a few dozen entries) is sorted on its own, which is several
+	 * times faster than one large sort of random keys.
+	 */
+	static long[] sortByKey(long[] entries, int size) {
+		int[] starts = new int[(1 << 16) + 1];
+		for (int i = 0; i < size; i++) {
+			starts[(int) (entries[i] >>> 48) + 1]++;
+		}
+		for (int b = 0; b < 1 << 16; b++) {
+			starts[b + 1] += starts[b];
+		}
+		long[] sorted = new long[size];
+		int[] next = Arrays.copyOf(starts, 1 << 16);
+		for (int i = 0; i < size; i++) {
+			sorted[next[(int) (entries[i] >>> 48)]++] = entries[i];
+		}
+		for (int b = 0; b < 1 << 16; b++) {
+			if (starts[b + 1] - starts[b] > 1) {
+				Arrays.sort(sorted, starts[b], starts[b + 1]);
+			}
+		}
+		return sorted;
+	}
+
+	/** Normalized fields of all rows, shared read-only by the passes. */
+	private static final class Rows {
+
+		final String[] names;
+		final String[] emails;
+		final long[] phones;
+		// hash of each email as is, the same in every email pass
+		final long[] emailHashes;
+
+		Rows(String[] names, String[] emails, long[] phones) {
+			this.names = names;
+			this.emails = emails;
+			this.phones = phones;
+			this.emailHashes = new long[emails.length];
+			for (int row = 0; row < emails.length; row++) {
+				emailHashes[row] = emails[row] == null ? 0 : hash(emails[row], -1);
+			}
+		}
+
+		boolean matches(int a, int b, int maxNameDistance, int minMatchingFields) {
+			int agreeing = 0;
+			if (emails[a] != null && emails[b] != null && EditDistance.bounded(emails[a], emails[b], 1) <= 1) {
+				agreeing++;
+			}
+			if (phones[a] != 0 && phones[b] != 0 && differingDigits(phones[a], phones[b]) <= 1) {
+				agreeing++;
+			}
+			if (agreeing + 1 < minMatchingFields) {
+				return false;
+			}
+			if (agreeing >= minMatchingFields) {
+				return true;
+			}
+			String x = names[a];
+			String y = names[b];
+			if (x == null || y == null) {
+				return false;
+			}
+			int allowed = Math.min(maxNameDistance, Math.min(x.length(), y.length()) / 4);
+			return EditDistance.bounded(x, y, allowed) <= allowed;
+		}
+	}
+
+	/** Lower case letters and digits, words separated by single spaces; null when nothing is left. */
+	static String normalizeName(String name) {
+		if (name == null) {
+			return null;
+		}
+		StringBuilder normalized = new StringBuilder(name.length());
+		boolean space = false;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				if (space && normalized.length() > 0) {
+					normalized.append(' ');
+				}
+				normalized.append(Character.toLowerCase(c));
+				space = false;
+			} else {
+				space = true;
+			}
+		}
+		return normalized.length() == 0 ? null : normalized.toString();
+	}
+
+	static String normalizeEmail(String email) {
+		if (email == null || email.isBlank()) {
+			return null;
+		}
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static int digits(long phone) {
+		int digits = 0;
+		for (long rest = phone; rest > 0; rest /= 10) {
+			digits++;
+		}
+		return digits;
+	}
+
+	/** Positions at which the decimal digits differ; numbers of different length never match. */
+	static int differingDigits(long a, long b) {
+		if (digits(a) != digits(b)) {
+			return Integer.MAX_VALUE;
+		}
+		int differing = 0;
+		for (; a > 0; a /= 10, b /= 10) {
+			if (a % 10 != b % 10) {
+				differing++;
+			}
+		}
+		return differing;
+	}
+
+	/** Hash of s with the character at skip left out (none when skip is -1). */
+	private static long hash(String s, int skip) {
+		long h = s.length() - (skip < 0 ? 0 : 1);
+		for (int i = 0; i < s.length(); i++) {
+			if (i != skip) {
+				h = h * 0x100000001B3L + s.charAt(i);
+			}
+		}
+		// the key part of an entry is the high 40 bits
+		return Hashing.fmix64(h);
+	}
+
+	private static void union(int[] parent, int a, int b) {
+		int rootA = find(parent, a);
+		int rootB = find(parent, b);
+		// the lower row becomes the root
+		parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+	}
+
+	private static int find(int[] parent, int row) {
+		while (parent[row] != row) {
+			parent[row] = parent[parent[row]];
+			row = parent[row];
+		}
+		return row;
+	}
+
+	private static List<int[]> clusters(int[] parent) {
+		int n = parent.length;
+		int[] roots = new int[n];
+		int[] sizes = new int[n];
+		for (int row = 0; row < n; row++) {
+			roots[row] = find(parent, row);
+			sizes[roots[row]]++;
+		}
+		int[][] members = new int[n][];
+		int[] filled = new int[n];
+		List<int[]> clusters = new ArrayList<>();
+		for (int row = 0; row < n; row++) {
+			int root = roots[row];
+			if (sizes[root] < 2) {
+				continue;
+			}
+			if (members[root] == null) {
+				members[root] = new int[sizes[root]];
+				clusters.add(members[root]);
+			}
+			members[root][filled[root]++] = row;
+		}
+		clusters.sort((a, b) -> a.length != b.length ? Integer.compare(b.length, a.length) : Integer.compare(a[0], b[0]));
+		return clusters;
+	}
+}
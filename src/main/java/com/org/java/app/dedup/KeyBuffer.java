@@ -0,0 +1,74 @@
+package com.org.java.app.dedup;
+
+import java.util.Arrays;
+
+import com.org.java.app.util.Hashing;
+
+/** Growable byte buffer a row's key is encoded into; reused for every row. */
+final class KeyBuffer {
+
+	private byte[] bytes = new byte[64];
+	private int length;
+
+	void clear() {
+		length = 0;
+	}
+
+	byte[] bytes() {
+		return bytes;
+	}
+
+	int length() {
+		return length;
+	}
+
+	void writeByte(int value) {
+		ensure(1);
+		bytes[length++] = (byte) value;
+	}
+
+	void writeChar(char value) {
+		ensure(2);
+		bytes[length++] = (byte) (value >>> 8);
+		bytes[length++] = (byte) value;
+	}
+
+	void writeVarint(int value) {
+		while ((value & ~0x7F) != 0) {
+			writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		writeByte(value);
+	}
+
+	void writeLong(long value) {
+		ensure(Long.BYTES);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			bytes[length++] = (byte) (value >>> shift);
+		}
+	}
+
+	static long readLong(byte[] bytes, int position) {
+		long value = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			value = (value << 8) | (bytes[position + i] & 0xFF);
+		}
+		return value;
+	}
+
+	/** 64-bit hash of bytes[offset, offset + length). */
+	static long hash(byte[] bytes, int offset, int length) {
+		long h = 0xCBF29CE484222325L ^ length;
+		for (int i = offset; i < offset + length; i++) {
+			h = (h ^ (bytes[i] & 0xFF)) * 0x100000001B3L;
+		}
+		// mixed so the high bits used for partitioning are as good as the low ones
+		return Hashing.fmix64(h);
+	}
+
+	private void ensure(int extra) {
+		if (length + extra > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+		}
+	}
+}
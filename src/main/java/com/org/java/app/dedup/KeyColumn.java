@@ -0,0 +1,141 @@
+package com.org.java.app.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+
+/**
+ * The Employee columns a duplicate key can be built from, and their binary
+ * encoding in a key: text as a presence byte, a varint length and UTF-16
+ * units, numbers as eight bytes. The encoding is self-delimiting, so equal
+ * bytes mean equal values for any combination of columns.
+ */
+public enum KeyColumn {
+
+	EMP_NAME("empName", Employee::getEmpName),
+	AGE("age", Kind.INT, Employee::getAge),
+	SALARY("salary", Kind.DOUBLE, employee -> doubleBits(employee.getSalary())),
+	DESIGNATION("designation", Employee::getDesignation),
+	PLATEFORM("plateform", Employee::getPlateform),
+	SECTOR("sector", Employee::getSector),
+	MOBBILE_NUMBER("mobbileNumber", Kind.LONG, Employee::getMobbileNumber),
+	EMAIL("email", Employee::getEmail),
+	DEPARTMENT_ID("departmentId", Kind.INT, Employee::getDepartmentId),
+	DEPT_NAME("deptName", Employee::getDeptName);
+
+	private enum Kind {
+		TEXT, INT, LONG, DOUBLE
+	}
+
+	private final String fieldName;
+	private final Kind kind;
+	private final Function<Employee, String> text;
+	private final ToLongFunction<Employee> number;
+
+	KeyColumn(String fieldName, Function<Employee, String> text) {
+		this.fieldName = fieldName;
+		this.kind = Kind.TEXT;
+		this.text = text;
+		this.number = null;
+	}
+
+	KeyColumn(String fieldName, Kind kind, ToLongFunction<Employee> number) {
+		this.fieldName = fieldName;
+		this.kind = kind;
+		this.text = null;
+		this.number = number;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * Parses a comma separated list of field names, e.g. "deptName,salary";
+	 * throws InvalidInputException for unknown, repeated or missing names.
+	 */
+	public static List<KeyColumn> parse(String fieldNames) {
+		if (fieldNames == null || fieldNames.isBlank()) {
+			throw new InvalidInputException("columns is required");
+		}
+		List<KeyColumn> columns = new ArrayList<>();
+		for (String name : fieldNames.split(",")) {
+			KeyColumn column = forFieldName(name.trim());
+			if (columns.contains(column)) {
+				throw new InvalidInputException("column listed twice::" + name.trim());
+			}
+			columns.add(column);
+		}
+		return columns;
+	}
+
+	private static KeyColumn forFieldName(String name) {
+		for (KeyColumn column : values()) {
+			if (column.fieldName.equals(name)) {
+				return column;
+			}
+		}
+		throw new InvalidInputException("columns must be taken from "
+				+ Arrays.stream(values()).map(KeyColumn::getFieldName).toList() + " but was::" + name);
+	}
+
+	void encode(Employee employee, KeyBuffer key) {
+		if (kind != Kind.TEXT) {
+			key.writeLong(number.applyAsLong(employee));
+			return;
+		}
+		String value = text.apply(employee);
+		if (value == null) {
+			key.writeByte(0);
+			return;
+		}
+		key.writeByte(1);
+		key.writeVarint(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			key.writeChar(value.charAt(i));
+		}
+	}
+
+	/** Reads back the value encoded at key[position]; returns the position after it. */
+	int decode(byte[] key, int position, Object[] values, int index) {
+		if (kind != Kind.TEXT) {
+			long bits = KeyBuffer.readLong(key, position);
+			if (kind == Kind.INT) {
+				values[index] = (int) bits;
+			} else if (kind == Kind.DOUBLE) {
+				values[index] = Double.longBitsToDouble(bits);
+			} else {
+				values[index] = bits;
+			}
+			return position + Long.BYTES;
+		}
+		if (key[position++] == 0) {
+			values[index] = null;
+			return position;
+		}
+		int length = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = key[position++];
+			length |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				break;
+			}
+		}
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++, position += 2) {
+			chars[i] = (char) (((key[position] & 0xFF) << 8) | (key[position + 1] & 0xFF));
+		}
+		values[index] = new String(chars);
+		return position;
+	}
+
+	// 0.0 and -0.0 compare equal, as do all NaNs
+	private static long doubleBits(double value) {
+		return value == 0.0 ? 0L : Double.doubleToLongBits(value);
+	}
+}
@@ -0,0 +1,129 @@
+package com.org.java.app.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from an encoded key to its row count and the
+ * first {@link #SAMPLE_IDS} empIds seen with it. Keys are copied into one
+ * byte arena and everything else lives in parallel primitive arrays, so a
+ * key costs no objects however many rows carry it.
+ */
+final class KeyTable {
+
+	static final int SAMPLE_IDS = 5;
+
+	// per slot: entry index + 1, 0 when free
+	private int[] slots = new int[1024];
+	private long[] hashes = new long[512];
+	private int[] keyOffsets = new int[512];
+	private int[] keyLengths = new int[512];
+	private long[] counts = new long[512];
+	private int[] samples = new int[512 * SAMPLE_IDS];
+	private byte[] arena = new byte[1 << 14];
+	private int arenaLength;
+	private int size;
+
+	int size() {
+		return size;
+	}
+
+	/** Heap used by the arrays, the measure compared with the memory budget. */
+	long memoryBytes() {
+		return (long) slots.length * Integer.BYTES + (long) hashes.length * (Long.BYTES * 2 + Integer.BYTES * 2)
+				+ (long) samples.length * Integer.BYTES + arena.length;
+	}
+
+	/**
+	 * Adds count rows with this key. ids holds the first empIds of those rows,
+	 * min(count, SAMPLE_IDS) of them starting at idsOffset; they are kept
+	 * while the key has fewer than SAMPLE_IDS.
+	 */
+	void add(byte[] key, int offset, int length, long hash, long count, int[] ids, int idsOffset) {
+		int mask = slots.length - 1;
+		int slot = (int) hash & mask;
+		while (slots[slot] != 0) {
+			int entry = slots[slot] - 1;
+			if (hashes[entry] == hash && keyEquals(entry, key, offset, length)) {
+				int kept = (int) Math.min(counts[entry], SAMPLE_IDS);
+				int added = (int) Math.min(count, SAMPLE_IDS - kept);
+				System.arraycopy(ids, idsOffset, samples, entry * SAMPLE_IDS + kept, Math.max(0, added));
+				counts[entry] += count;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		int entry = size++;
+		if (entry == hashes.length) {
+			growEntries();
+		}
+		if (arenaLength + length > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + length));
+		}
+		System.arraycopy(key, offset, arena, arenaLength, length);
+		hashes[entry] = hash;
+		keyOffsets[entry] = arenaLength;
+		keyLengths[entry] = length;
+		counts[entry] = count;
+		System.arraycopy(ids, idsOffset, samples, entry * SAMPLE_IDS, (int) Math.min(count, SAMPLE_IDS));
+		arenaLength += length;
+		slots[slot] = entry + 1;
+		// load factor at most 1/2
+		if (size * 2 > slots.length) {
+			rehash();
+		}
+	}
+
+	long hash(int entry) {
+		return hashes[entry];
+	}
+
+	long count(int entry) {
+		return counts[entry];
+	}
+
+	byte[] arena() {
+		return arena;
+	}
+
+	int keyOffset(int entry) {
+		return keyOffsets[entry];
+	}
+
+	int keyLength(int entry) {
+		return keyLengths[entry];
+	}
+
+	int[] samples() {
+		return samples;
+	}
+
+	int sampleCount(int entry) {
+		return (int) Math.min(counts[entry], SAMPLE_IDS);
+	}
+
+	private boolean keyEquals(int entry, byte[] key, int offset, int length) {
+		return keyLengths[entry] == length && Arrays.equals(arena, keyOffsets[entry], keyOffsets[entry] + length, key,
+				offset, offset + length);
+	}
+
+	private void growEntries() {
+		int capacity = hashes.length * 2;
+		hashes = Arrays.copyOf(hashes, capacity);
+		keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+		keyLengths = Arrays.copyOf(keyLengths, capacity);
+		counts = Arrays.copyOf(counts, capacity);
+		samples = Arrays.copyOf(samples, capacity * SAMPLE_IDS);
+	}
+
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for (int entry = 0; entry < size; entry++) {
+			int slot = (int) hashes[entry] & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = entry + 1;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResultDto {
+
+	// distinct ids asked for, or found in the department
+	private long requested;
+	private long deleted;
+	private int chunks;
+	private long millis;
+
+}
@@ -0,0 +1,16 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkSaveResultDto {
+
+	private long rows;
+	private long millis;
+	private double rowsPerSecond;
+
+}
@@ -0,0 +1,16 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateResultDto {
+
+	private long updated;
+	private int chunks;
+	private long millis;
+
+}
@@ -0,0 +1,21 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Hit/miss counters of one Hibernate cache region since startup. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDto {
+
+	private String region;
+	private long hitCount;
+	private long missCount;
+	private long putCount;
+	private double hitRatio;
+	// entries currently held, -1 when the provider does not report it
+	private long elementCountInMemory;
+
+}
@@ -0,0 +1,21 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentSummaryDto {
+
+	private String deptName;
+	private long headcount;
+	private double salarySum;
+	private Double salaryMin;
+	private Double salaryMax;
+	private double salaryAvg;
+	// population standard deviation
+	private double salaryStdDev;
+
+}
@@ -0,0 +1,22 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DistinctCountDto {
+
+	private String field;
+	// null for employees without a department, and for the count over all selected departments
+	private String deptName;
+	private long estimate;
+	// relative standard error of the estimate plus the share of rows that may have changed or left since the
+	// last rebuild (their values are still counted); about 95% of estimates are within twice this
+	private double relativeError;
+	// size of the sketch the estimate came from
+	private int memoryBytes;
+
+}
@@ -0,0 +1,18 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateClusterDto {
+
+	private int size;
+	// ordered by empId
+	private List<EmployeeDto> employees;
+
+}
@@ -0,0 +1,19 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one message of a bulk send. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailDeliveryDto {
+
+	private String recipient;
+	private boolean sent;
+	// time spent handing this message to the SMTP server
+	private long latencyMicros;
+	private String error;
+
+}
@@ -0,0 +1,27 @@
+package com.org.java.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a partial update. Fields are boxed so that "not sent" (null) can be
+ * told apart from a real value; null fields leave the column unchanged.
+ */
+@Data
+@NoArgsConstructor
+public class EmployeePatchDto {
+
+	private String empName;
+	private Integer age;
+	private Double salary;
+	private String designation;
+	private String plateform;
+	private String sector;
+	private Long mobbileNumber;
+	private String email;
+	private Integer departmentId;
+	private String deptName;
+	// version the client last read, required; the update fails with 409 if the row changed since
+	private Long version;
+
+}
@@ -0,0 +1,21 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExactDuplicateGroupDto {
+
+	// column name -> value shared by the rows, in the requested column order
+	private Map<String, Object> key;
+	private long count;
+	// the lowest empIds carrying the key, at most five
+	private List<Integer> sampleEmpIds;
+
+}
@@ -0,0 +1,26 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExactDuplicateReportDto {
+
+	private List<String> columns;
+	private long rows;
+	private long distinctKeys;
+	// keys carried by more than one row, and the rows carrying them
+	private long duplicateKeys;
+	private long duplicateRows;
+	// non-zero when the key table outgrew the memory budget
+	private int spillFiles;
+	private long spilledBytes;
+	private long elapsedMillis;
+	private List<ExactDuplicateGroupDto> groups;
+
+}
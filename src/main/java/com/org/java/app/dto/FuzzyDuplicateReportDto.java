@@ -0,0 +1,25 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FuzzyDuplicateReportDto {
+
+	private int rows;
+	// pairs that shared a blocking key and were compared field by field
+	private long candidatePairs;
+	private long matchedPairs;
+	private int clusters;
+	// rows that belong to some cluster
+	private long duplicateRows;
+	private long elapsedMillis;
+	// the largest clusters, at most limit of them
+	private List<DuplicateClusterDto> topClusters;
+
+}
@@ -0,0 +1,19 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistogramBucketDto {
+
+	// inclusive; null for the open bucket below the first boundary
+	private Double lower;
+	// exclusive; null for the open bucket above the last boundary
+	private Double upper;
+	private long count;
+	private double sum;
+
+}
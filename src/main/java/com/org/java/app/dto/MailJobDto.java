@@ -0,0 +1,35 @@
+package com.org.java.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery state of a queued report email. Worker threads update the mutable
+ * fields while HTTP threads read them, so they are volatile.
+ */
+@Data
+@NoArgsConstructor
+public class MailJobDto {
+
+	public enum Status {
+		QUEUED, SENDING, RETRYING, SENT, FAILED
+	}
+
+	private String trackingId;
+	private List<String> recipients;
+	// recipients that already got the report; retries only go to the others
+	private final Set<String> delivered = ConcurrentHashMap.newKeySet();
+	private String subject;
+	private LocalDateTime submittedAt;
+	private volatile Status status;
+	private volatile int attempts;
+	private volatile LocalDateTime nextAttemptAt;
+	private volatile LocalDateTime finishedAt;
+	private volatile String error;
+
+}
@@ -0,0 +1,19 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NameIndexStatsDto {
+
+	private int names;
+	// changed names not yet merged into the front-coded dictionary
+	private int pendingChanges;
+	private int merges;
+	private long memoryBytes;
+	private long encodedNameBytes;
+
+}
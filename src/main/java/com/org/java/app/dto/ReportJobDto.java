@@ -0,0 +1,31 @@
+package com.org.java.app.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of an asynchronous report export. The worker thread updates the
+ * mutable fields while HTTP threads read them, so they are volatile.
+ */
+@Data
+@NoArgsConstructor
+public class ReportJobDto {
+
+	public enum Status {
+		QUEUED, RUNNING, DONE, FAILED
+	}
+
+	private String jobId;
+	private String format;
+	private String deptName;
+	private long dataVersion;
+	private LocalDateTime submittedAt;
+	private volatile Status status;
+	private volatile LocalDateTime finishedAt;
+	private volatile long sizeBytes;
+	private volatile boolean cached;
+	private volatile String error;
+
+}
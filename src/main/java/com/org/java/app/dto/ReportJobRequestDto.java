@@ -0,0 +1,13 @@
+package com.org.java.app.dto;
+
+import lombok.Data;
+
+@Data
+public class ReportJobRequestDto {
+
+	// "pdf" or "excel"
+	private String format;
+	// optional filter, all departments when empty
+	private String deptName;
+
+}
@@ -0,0 +1,23 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a salary aggregate computed by the database. {@code groupKey} is
+ * the value of the grouping column, or "ALL" when the aggregate is not grouped.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryAggregateDto {
+
+	private String groupKey;
+	private Long count;
+	private Double sum;
+	private Double min;
+	private Double max;
+	private Double avg;
+
+}
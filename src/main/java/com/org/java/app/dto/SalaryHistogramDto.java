@@ -0,0 +1,21 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryHistogramDto {
+
+	// null for the histogram over all employees, and for employees without a department
+	private String deptName;
+	private long count;
+	private double sum;
+	// non-empty buckets only, ascending
+	private List<HistogramBucketDto> buckets;
+
+}
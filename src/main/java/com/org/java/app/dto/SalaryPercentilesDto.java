@@ -0,0 +1,28 @@
+package com.org.java.app.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryPercentilesDto {
+
+	// null for employees without a department, and for a merged result
+	private String deptName;
+	// salaries in the sketch, including those of rows changed or deleted since the department's last rebuild
+	private long count;
+	private double min;
+	private double max;
+	// requested quantile (e.g. "0.9") -> estimated salary
+	private Map<String, Double> percentiles;
+	// each estimate's rank is within this fraction of count of the requested rank, with 99% confidence;
+	// the KLL error plus the share of stale salaries a department holds before it is rebuilt
+	private double rankError;
+	// values the sketch holds, 8 bytes each
+	private int retainedItems;
+
+}
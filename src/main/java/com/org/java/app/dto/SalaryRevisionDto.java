@@ -0,0 +1,26 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bulk salary change. Give either {@code percent} or {@code amount}; the
+ * filter fields are optional and combine with AND, an empty filter matches
+ * every employee.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRevisionDto {
+
+	private String deptName;
+	private String designation;
+	private Double minSalary;
+	private Double maxSalary;
+	// e.g. 5 for a 5% raise, -2.5 for a cut
+	private Double percent;
+	// added to the salary, may be negative
+	private Double amount;
+
+}
@@ -0,0 +1,16 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitDto {
+
+	// BM25F relevance, only comparable within one query
+	private double score;
+	private EmployeeDto employee;
+
+}
@@ -0,0 +1,19 @@
+package com.org.java.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchIndexStatsDto {
+
+	private int documents;
+	// replaced or removed rows not yet compacted away
+	private int deletedDocuments;
+	private int terms;
+	private long postingBytes;
+	private long skipBytes;
+
+}
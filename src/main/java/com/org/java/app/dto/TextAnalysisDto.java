@@ -0,0 +1,27 @@
+package com.org.java.app.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Character statistics of one employee field value; see CharacterAnalytics. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TextAnalysisDto {
+
+	private int empId;
+	private String field;
+	private String text;
+	// code points
+	private int length;
+	private Map<String, Integer> frequencies;
+	private String firstUnique;
+	private String firstRepeated;
+	private List<String> duplicates;
+	private List<String> uniques;
+
+}
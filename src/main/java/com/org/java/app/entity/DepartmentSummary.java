@@ -0,0 +1,31 @@
+package com.org.java.app.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary figures of one department, kept up to date by the employee write
+ * paths (see DepartmentSummaryServiceImpl) so department dashboards read one
+ * row per department instead of scanning the employee table.
+ */
+@Entity
+@Table(name = "department_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSummary {
+
+	@Id
+	private String deptName;
+	private long headcount;
+	private double salarySum;
+	// with salarySum and headcount gives the variance without another scan
+	private double salarySumOfSquares;
+	private Double salaryMin;
+	private Double salaryMax;
+
+}
@@ -1,8 +1,20 @@
 package com.org.java.app.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -10,6 +22,13 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
+@DynamicUpdate
+@Table(indexes = {
+		@Index(name = "idx_employee_salary", columnList = "salary"),
+		@Index(name = "idx_employee_dept_salary", columnList = "deptName, salary"),
+		@Index(name = "idx_employee_name", columnList = "empName") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +37,11 @@ import lombok.ToString;
 public class Employee {
 
 	
+	// same table and block size Hibernate picked for the former bare @GeneratedValue,
+	// so one round trip hands out 50 ids
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+	@SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
 	private int empId;
 	private String empName;
 	private int age;
@@ -32,6 +54,19 @@ public class Employee {
 	private String email;
 	private int departmentId;
 	private String deptName;
+	// optimistic lock; rows that existed before the column was added start at 0.
+	// Null on new rows and on request bodies that did not send one.
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
+
+	public Employee(int empId, String empName, int age, double salary, String designation, String plateform,
+			String sector, long mobbileNumber, String email, int departmentId, String deptName) {
+		this(empId, empName, age, salary, designation, plateform, sector, mobbileNumber, email, departmentId, deptName,
+				null);
+	}
+
     public char[] getMobileNo() {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'getMobileNo'");
@@ -0,0 +1,39 @@
+package com.org.java.app.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.java.app.service.DepartmentSummaryService;
+
+/**
+ * Applies employee changes to the department summaries. Runs just before the
+ * commit of the transaction that published the event, so the summary and the
+ * employee rows are committed (or rolled back) together while the summary
+ * rows stay locked only briefly.
+ */
+@Component
+public class DepartmentSummaryUpdater {
+
+	@Autowired
+	private DepartmentSummaryService departmentSummaryService;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		departmentSummaryService.applyChanges(event.getPrevious(), event.getCurrent());
+	}
+
+	// the table starts empty when it is first created next to existing employees
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (departmentSummaryService.findDepartmentSummaries().isEmpty()) {
+			departmentSummaryService.rebuildDepartmentSummaries();
+		}
+	}
+}
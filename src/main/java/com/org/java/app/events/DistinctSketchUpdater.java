@@ -0,0 +1,23 @@
+package com.org.java.app.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.java.app.sketch.DepartmentDistinctSketches;
+
+/** Feeds changed field values into the distinct count sketches once their transaction has committed. */
+@Component
+public class DistinctSketchUpdater {
+
+	@Autowired
+	private DepartmentDistinctSketches departmentDistinctSketches;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		departmentDistinctSketches.update(event.getPrevious(), event.getCurrent(), event.getSnapshotVersion());
+	}
+}
@@ -1,7 +1,12 @@
 package com.org.java.app.events;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.context.ApplicationEvent;
 
+import com.org.java.app.entity.Employee;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,8 +15,20 @@ import lombok.Setter;
 @Getter
 public class EmployeeEvent extends ApplicationEvent {
 	
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED
+	}
+
 	private String empId;
 	private String empName;
+	// null for the demo events of EmployeeEventService, set for real table changes
+	private ChangeType changeType;
+	// rows before the change (empty for inserts) and after it (empty for deletes)
+	private List<Employee> previous = Collections.emptyList();
+	private List<Employee> current = Collections.emptyList();
+	// version of the employee snapshot that first includes the change; set by EmployeeSnapshotUpdater
+	// before the other after-commit listeners run, 0 when unknown
+	private long snapshotVersion;
 
 	public EmployeeEvent(Object source,String empId,String empName) {
 		super(source);
@@ -20,4 +37,16 @@ public class EmployeeEvent extends ApplicationEvent {
 		
 	}
 
+	public EmployeeEvent(Object source, ChangeType changeType, List<Employee> previous, List<Employee> current) {
+		super(source);
+		this.changeType = changeType;
+		this.previous = previous;
+		this.current = current;
+		List<Employee> rows = current.isEmpty() ? previous : current;
+		if (rows.size() == 1) {
+			this.empId = String.valueOf(rows.get(0).getEmpId());
+			this.empName = rows.get(0).getEmpName();
+		}
+	}
+
 }
@@ -0,0 +1,31 @@
+package com.org.java.app.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+/**
+ * Patches the employee snapshot once the transaction that published the
+ * event has committed, so a rolled back write never shows up in it. Runs
+ * before the other after-commit listeners, which read the snapshot, and
+ * records on the event the snapshot version that includes the change.
+ */
+@Component
+public class EmployeeSnapshotUpdater {
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		event.setSnapshotVersion(employeeSnapshotStore.apply(event.getPrevious(), event.getCurrent()));
+	}
+}
@@ -0,0 +1,38 @@
+package com.org.java.app.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears the result caches of ResultCacheConfig when employees change. Runs
+ * after the commit when the event is published inside a transaction, so a
+ * reader cannot re-cache the old data between the clear and the commit.
+ */
+@Component
+public class ResultCacheInvalidator {
+
+	Logger logger = LoggerFactory.getLogger(ResultCacheInvalidator.class);
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		for (String name : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache != null) {
+				cache.clear();
+			}
+		}
+		logger.debug("result caches cleared after " + event.getChangeType() + " of " + event.getCurrent().size()
+				+ "/" + event.getPrevious().size() + " rows");
+	}
+}
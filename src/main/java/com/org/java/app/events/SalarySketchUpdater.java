@@ -0,0 +1,23 @@
+package com.org.java.app.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.java.app.sketch.DepartmentSalarySketches;
+
+/** Feeds changed salaries into the department salary sketches once their transaction has committed. */
+@Component
+public class SalarySketchUpdater {
+
+	@Autowired
+	private DepartmentSalarySketches departmentSalarySketches;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		departmentSalarySketches.update(event.getPrevious(), event.getCurrent(), event.getSnapshotVersion());
+	}
+}
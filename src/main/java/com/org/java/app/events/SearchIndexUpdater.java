@@ -0,0 +1,33 @@
+package com.org.java.app.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.java.app.search.EmployeeNameIndex;
+import com.org.java.app.search.EmployeeSearchIndex;
+
+/**
+ * Re-indexes changed employees, text and names, once their transaction has
+ * committed. Runs after EmployeeSnapshotUpdater: the text index copies the
+ * patched snapshot rows, the name index only adds and subtracts counts, so
+ * neither depends on the order in which commits reach it.
+ */
+@Component
+public class SearchIndexUpdater {
+
+	@Autowired
+	private EmployeeSearchIndex employeeSearchIndex;
+
+	@Autowired
+	private EmployeeNameIndex employeeNameIndex;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeEvent(EmployeeEvent event) {
+		if (event.getChangeType() == null) {
+			return;
+		}
+		employeeSearchIndex.update(event.getPrevious(), event.getCurrent());
+		employeeNameIndex.update(event.getPrevious(), event.getCurrent());
+	}
+}
@@ -1,7 +1,9 @@
 package com.org.java.app.exception;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,6 +29,26 @@ public class ControllerAdvise  extends ResponseEntityExceptionHandler{
 		
 	}
 	
+	@ExceptionHandler(InvalidInputException.class)
+	public ResponseEntity<ErrorResponse> invalidInputExceptionHandller(InvalidInputException invalidInputException){
+		ErrorResponse invalidInput=new ErrorResponse(LocalDateTime.now(),invalidInputException.getMessage(),"Given input is not supported");
+		return new ResponseEntity<ErrorResponse>(invalidInput,HttpStatus.BAD_REQUEST);
+		
+	}
+	
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> optimisticLockingFailureExceptionHandller(OptimisticLockingFailureException optimisticLockingFailureException){
+		ErrorResponse conflict=new ErrorResponse(LocalDateTime.now(),optimisticLockingFailureException.getMessage(),"Employee was changed by another request, read it again and retry");
+		return new ResponseEntity<ErrorResponse>(conflict,HttpStatus.CONFLICT);
+		
+	}
+	
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> rejectedExecutionExceptionHandller(RejectedExecutionException rejectedExecutionException){
+		return new ResponseEntity<String>("too many jobs are waiting please try again later",HttpStatus.SERVICE_UNAVAILABLE);
+		
+	}
+	
 	@ExceptionHandler(MethodNotAllowedException.class)
 	public ResponseEntity<String> methodNotAllowedExceptionHandaller(MethodNotAllowedException  methodNotAllowedException ){
 		return new ResponseEntity<String>("please the chage the verb name as soon as possiable..",HttpStatus.BAD_REQUEST);
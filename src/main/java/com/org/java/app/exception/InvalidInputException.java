@@ -0,0 +1,10 @@
+package com.org.java.app.exception;
+
+@SuppressWarnings("serial")
+public class InvalidInputException extends RuntimeException {
+	
+	public InvalidInputException(String message) {
+        super(message);
+    }
+	
+}
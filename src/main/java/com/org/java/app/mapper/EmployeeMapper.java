@@ -1,9 +1,14 @@
 package com.org.java.app.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
 import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.EmployeePatchDto;
 import com.org.java.app.entity.Employee;
 
 @Mapper
@@ -12,6 +17,17 @@ public interface EmployeeMapper {
 	EmployeeMapper INSTANCE=Mappers.getMapper(EmployeeMapper.class);
 	
 	EmployeeDto employeeToEmployeeDto(Employee emplyee);
+
+	@Mapping(target = "version", ignore = true)
 	Employee employeeDtoToEmployee(EmployeeDto employeeDto);
+
+	/**
+	 * Copies only the non-null fields of the patch onto a managed employee, so
+	 * dirty checking sees just the columns that really changed.
+	 */
+	@BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+	@Mapping(target = "empId", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	void updateEmployeeFromPatch(EmployeePatchDto patch, @MappingTarget Employee employee);
 	
 }
@@ -0,0 +1,75 @@
+package com.org.java.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.org.java.app.entity.DepartmentSummary;
+
+/*
+ * The writes are MySQL statements on department_summary; they join the
+ * transaction of the employee change that caused them.
+ */
+@Repository
+public interface DepartmentSummaryRepository extends JpaRepository<DepartmentSummary, String> {
+
+	List<DepartmentSummary> findAllByOrderByDeptName();
+
+	/**
+	 * Adds the given deltas to a department row, creating it if needed.
+	 * minSalary/maxSalary are the extremes of the added rows, null when rows
+	 * were only removed.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "INSERT INTO department_summary"
+			+ " (dept_name, headcount, salary_sum, salary_sum_of_squares, salary_min, salary_max)"
+			+ " VALUES (:deptName, :headcount, :salarySum, :salarySumOfSquares, :minSalary, :maxSalary)"
+			+ " ON DUPLICATE KEY UPDATE headcount = headcount + VALUES(headcount),"
+			+ " salary_sum = salary_sum + VALUES(salary_sum),"
+			+ " salary_sum_of_squares = salary_sum_of_squares + VALUES(salary_sum_of_squares),"
+			+ " salary_min = COALESCE(LEAST(salary_min, VALUES(salary_min)), salary_min, VALUES(salary_min)),"
+			+ " salary_max = COALESCE(GREATEST(salary_max, VALUES(salary_max)), salary_max, VALUES(salary_max))",
+			nativeQuery = true)
+	int applyDelta(@Param("deptName") String deptName, @Param("headcount") long headcount,
+			@Param("salarySum") double salarySum, @Param("salarySumOfSquares") double salarySumOfSquares,
+			@Param("minSalary") Double minSalary, @Param("maxSalary") Double maxSalary);
+
+	/**
+	 * Min and max cannot be decremented, so after removals they are read again;
+	 * each lookup is one seek on idx_employee_dept_salary.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE department_summary d"
+			+ " SET d.salary_min = (SELECT MIN(e.salary) FROM employee e WHERE e.dept_name = d.dept_name),"
+			+ " d.salary_max = (SELECT MAX(e.salary) FROM employee e WHERE e.dept_name = d.dept_name)"
+			+ " WHERE d.dept_name IN (:deptNames)", nativeQuery = true)
+	int refreshMinMax(@Param("deptNames") Collection<String> deptNames);
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "DELETE FROM department_summary WHERE dept_name IN (:deptNames) AND headcount <= 0",
+			nativeQuery = true)
+	int deleteEmpty(@Param("deptNames") Collection<String> deptNames);
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "DELETE FROM department_summary", nativeQuery = true)
+	int deleteAllRows();
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "INSERT INTO department_summary"
+			+ " (dept_name, headcount, salary_sum, salary_sum_of_squares, salary_min, salary_max)"
+			+ " SELECT e.dept_name, COUNT(*), SUM(e.salary), SUM(e.salary * e.salary), MIN(e.salary), MAX(e.salary)"
+			+ " FROM employee e WHERE e.dept_name IS NOT NULL GROUP BY e.dept_name", nativeQuery = true)
+	int insertFromEmployees();
+
+}
@@ -1,30 +1,160 @@
 package com.org.java.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.org.java.app.dto.SalaryAggregateDto;
 import com.org.java.app.entity.Employee;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer>{
 
+	int FETCH_SIZE = 1000;
+
+	/*
+	 * The lookups marked cacheable use the query cache: it keeps the matching
+	 * ids, the rows come from the Employee entity cache. Any Hibernate write to
+	 * the table, including the bulk UPDATE/DELETE statements, invalidates the
+	 * cached results.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Employee> findByEmpId(int empId);
+
+	/**
+	 * Locks and reads the rows a bulk delete is about to remove, so its event
+	 * reports the rows as they were deleted.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT e FROM Employee e WHERE e.empId IN :empIds ORDER BY e.empId")
+	List<Employee> findByEmpIdsForUpdate(@Param("empIds") Collection<Integer> empIds);
+
+	/** Set-based delete; each call runs in its own short transaction. */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM Employee e WHERE e.empId IN :empIds")
+	int deleteByEmpIds(@Param("empIds") Collection<Integer> empIds);
+
+	@Query("SELECT MIN(e.empId) FROM Employee e")
+	Integer findMinEmpId();
+
+	@Query("SELECT MAX(e.empId) FROM Employee e")
+	Integer findMaxEmpId();
+
+	// rows of one id range that a salary revision changes; shared by the two statements below
+	String REVISED_ROWS = " WHERE e.empId >= :fromEmpId AND e.empId < :toEmpId"
+			+ " AND (:deptName IS NULL OR e.deptName = :deptName)"
+			+ " AND (:designation IS NULL OR e.designation = :designation)"
+			+ " AND (:minSalary IS NULL OR e.salary >= :minSalary)"
+			+ " AND (:maxSalary IS NULL OR e.salary <= :maxSalary)"
+			+ " AND e.salary * :factor + :amount <> e.salary";
+
+	/** The rows reviseSalaries would change, as they are now, locked until the end of the transaction. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT e FROM Employee e" + REVISED_ROWS + " ORDER BY e.empId")
+	List<Employee> findRevisedRowsForUpdate(@Param("factor") double factor, @Param("amount") double amount,
+			@Param("fromEmpId") int fromEmpId, @Param("toEmpId") int toEmpId, @Param("deptName") String deptName,
+			@Param("designation") String designation, @Param("minSalary") Double minSalary,
+			@Param("maxSalary") Double maxSalary);
+
+	/**
+	 * Set-based salary change for one id range: salary = salary * factor +
+	 * amount for the rows matching the optional (null = any) filters whose
+	 * salary really changes. The version is bumped so optimistic locking still
+	 * sees the change.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Employee e SET e.salary = e.salary * :factor + :amount, e.version = e.version + 1" + REVISED_ROWS)
+	int reviseSalaries(@Param("factor") double factor, @Param("amount") double amount,
+			@Param("fromEmpId") int fromEmpId, @Param("toEmpId") int toEmpId, @Param("deptName") String deptName,
+			@Param("designation") String designation, @Param("minSalary") Double minSalary,
+			@Param("maxSalary") Double maxSalary);
+
+	@Query("SELECT e FROM Employee e WHERE e.empId IN :empIds ORDER BY e.empId")
+	List<Employee> findByEmpIds(@Param("empIds") Collection<Integer> empIds);
+
+	/** Keyset page of the ids in a department, used to delete it chunk by chunk. */
+	@Query("SELECT e.empId FROM Employee e WHERE e.deptName = :deptName AND e.empId > :afterEmpId ORDER BY e.empId")
+	List<Integer> findEmpIdsByDeptName(@Param("deptName") String deptName, @Param("afterEmpId") int afterEmpId,
+			Pageable pageable);
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Employee> findByEmpName(String empName);
+
+	boolean existsByEmpName(String empName);
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Employee> findByDeptName(String deptName);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("SELECT e FROM Employee e WHERE e.empName=:empName and e.deptName=:deptName")
 	Employee findByEmpNameAndDeptName(@Param("empName") String empName,@Param("deptName") String deptName);
 	
 	@Query("SELECT e FROM Employee e WHERE e.empId=:empId and e.empName=:empName and e.deptName=:deptName")
 	Employee findByEmpIdAndEmpNameAndDeptName(@Param("empId") int empId,@Param("empName") String empName, @Param("deptName") String deptName);
 
+	/*
+	 * Forward-only cursor over the whole table. Must be consumed inside a
+	 * transaction and closed; with useCursorFetch=true on the JDBC URL MySQL
+	 * sends FETCH_SIZE rows at a time instead of the whole result.
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT e FROM Employee e ORDER BY e.empId")
+	Stream<Employee> streamAllBy();
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT e FROM Employee e WHERE e.deptName = :deptName ORDER BY e.empId")
+	Stream<Employee> streamByDeptName(@Param("deptName") String deptName);
+
+	// Salary aggregates are computed by the database; MAX/MIN are answered from idx_employee_salary
+	Optional<Employee> findFirstByOrderBySalaryDesc();
+
+	Optional<Employee> findFirstByOrderBySalaryAsc();
+
+	@Query("SELECT SUM(e.salary) FROM Employee e")
+	Double findSumSalary();
+
+	/*
+	 * Keyset page over (salary, empId). The leading "salary >= :afterSalary" lets
+	 * idx_employee_salary seek straight to the cursor (InnoDB appends the primary
+	 * key to the index), so every page costs the same as the first one.
+	 */
+	@Query("SELECT e FROM Employee e WHERE e.salary > :minSalary AND e.salary < :maxSalary"
+			+ " AND e.salary >= :afterSalary AND (e.salary > :afterSalary OR e.empId > :afterEmpId)"
+			+ " ORDER BY e.salary, e.empId")
+	List<Employee> findSalaryRangePage(@Param("minSalary") double minSalary, @Param("maxSalary") double maxSalary,
+			@Param("afterSalary") double afterSalary, @Param("afterEmpId") int afterEmpId, Pageable pageable);
+
+	@Query("SELECT new com.org.java.app.dto.SalaryAggregateDto('ALL', COUNT(e), SUM(e.salary), MIN(e.salary), MAX(e.salary), AVG(e.salary)) FROM Employee e")
+	SalaryAggregateDto findSalaryAggregate();
+
+	@Query("SELECT new com.org.java.app.dto.SalaryAggregateDto(cast(e.departmentId as String), COUNT(e), SUM(e.salary), MIN(e.salary), MAX(e.salary), AVG(e.salary)) FROM Employee e GROUP BY e.departmentId ORDER BY e.departmentId")
+	List<SalaryAggregateDto> findSalaryAggregatesByDepartmentId();
+
+	@Query("SELECT new com.org.java.app.dto.SalaryAggregateDto(e.designation, COUNT(e), SUM(e.salary), MIN(e.salary), MAX(e.salary), AVG(e.salary)) FROM Employee e GROUP BY e.designation ORDER BY e.designation")
+	List<SalaryAggregateDto> findSalaryAggregatesByDesignation();
+
+	@Query("SELECT new com.org.java.app.dto.SalaryAggregateDto(e.sector, COUNT(e), SUM(e.salary), MIN(e.salary), MAX(e.salary), AVG(e.salary)) FROM Employee e GROUP BY e.sector ORDER BY e.sector")
+	List<SalaryAggregateDto> findSalaryAggregatesBySector();
+
 	
 
 
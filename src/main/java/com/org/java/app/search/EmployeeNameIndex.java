@@ -0,0 +1,68 @@
+package com.org.java.app.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Autocomplete over employee names, counted per distinct spelling. Built from
+ * the snapshot at startup and kept current by SearchIndexUpdater.
+ */
+@Component
+public class EmployeeNameIndex {
+
+	Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	private volatile PrefixIndex index = new PrefixIndex(new HashMap<>());
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	public synchronized void rebuild() {
+		long start = System.currentTimeMillis();
+		Map<String, Integer> counts = new HashMap<>();
+		for (Employee employee : employeeSnapshotStore.current().getEmployees()) {
+			if (employee.getEmpName() != null) {
+				counts.merge(employee.getEmpName(), 1, Integer::sum);
+			}
+		}
+		PrefixIndex rebuilt = new PrefixIndex(counts);
+		index = rebuilt;
+		logger.info("name index built with " + rebuilt.names() + " names, " + rebuilt.memoryBytes() + " bytes in "
+				+ (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/** Takes the names of the previous rows out and counts those of the current ones. */
+	public synchronized void update(List<Employee> previous, List<Employee> current) {
+		PrefixIndex target = index;
+		for (Employee employee : previous) {
+			target.add(employee.getEmpName(), -1);
+		}
+		for (Employee employee : current) {
+			target.add(employee.getEmpName(), 1);
+		}
+	}
+
+	public List<PrefixIndex.Completion> complete(String prefix, int limit) {
+		return index.complete(prefix, limit);
+	}
+
+	public PrefixIndex getIndex() {
+		return index;
+	}
+}
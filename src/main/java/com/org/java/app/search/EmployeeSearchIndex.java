@@ -0,0 +1,98 @@
+package com.org.java.app.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshot;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.EmployeeFields;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Full-text index over the text fields of every employee. Built from the
+ * snapshot at startup and kept current by SearchIndexUpdater.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+	Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+	// BM25F field weights: a match in the name counts three times one in the email
+	static final String[] FIELDS = { "empName", "designation", "deptName", "sector", "plateform", "email" };
+	static final double[] FIELD_WEIGHTS = { 3.0, 2.0, 1.5, 1.0, 1.0, 1.0 };
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@SuppressWarnings("unchecked")
+	private final Function<Employee, String>[] accessors = new Function[FIELDS.length];
+
+	private volatile InvertedIndex index = new InvertedIndex(FIELD_WEIGHTS, 16);
+
+	public EmployeeSearchIndex() {
+		for (int f = 0; f < FIELDS.length; f++) {
+			accessors[f] = EmployeeFields.textField(FIELDS[f]);
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	/** Re-indexes the current snapshot, e.g. after the snapshot itself was reloaded. */
+	public synchronized void rebuild() {
+		long start = System.currentTimeMillis();
+		List<Employee> employees = employeeSnapshotStore.current().getEmployees();
+		InvertedIndex rebuilt = new InvertedIndex(FIELD_WEIGHTS, employees.size());
+		for (Employee employee : employees) {
+			rebuilt.put(employee.getEmpId(), fieldValues(employee));
+		}
+		rebuilt.trim();
+		index = rebuilt;
+		logger.info("search index built with " + rebuilt.documents() + " employees and " + rebuilt.terms()
+				+ " terms in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Re-indexes every employee of the change as the snapshot now holds it.
+	 * The snapshot is patched first and keeps the newest version of each row,
+	 * so changes that arrive out of commit order cannot index an older row.
+	 */
+	public synchronized void update(List<Employee> previous, List<Employee> current) {
+		InvertedIndex target = index;
+		EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+		Set<Integer> empIds = new HashSet<>();
+		previous.forEach(employee -> empIds.add(employee.getEmpId()));
+		current.forEach(employee -> empIds.add(employee.getEmpId()));
+		for (int empId : empIds) {
+			target.remove(empId);
+			snapshot.findById(empId).ifPresent(employee -> target.put(empId, fieldValues(employee)));
+		}
+	}
+
+	public List<InvertedIndex.Hit> search(String query, int limit) {
+		return index.search(query, limit);
+	}
+
+	public InvertedIndex getIndex() {
+		return index;
+	}
+
+	private String[] fieldValues(Employee employee) {
+		String[] values = new String[FIELDS.length];
+		for (int f = 0; f < FIELDS.length; f++) {
+			values[f] = accessors[f].apply(employee);
+		}
+		return values;
+	}
+}
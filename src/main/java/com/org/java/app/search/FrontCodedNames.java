@@ -0,0 +1,230 @@
+package com.org.java.app.search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Immutable sorted dictionary of names with a count per name. Names are
+ * front coded in blocks of {@link #BLOCK_SIZE}: the first name of a block is
+ * stored whole, each following one as the length of the prefix it shares
+ * with its predecessor plus the remaining UTF-8 bytes. Sorted names share
+ * long prefixes, so this is a fraction of the String objects' size.
+ *
+ * Names are ordered case-insensitively ({@link #ORDER}) so that a
+ * lower-cased prefix selects one contiguous ordinal range. A sparse table of
+ * the highest count per block answers "most frequent name in a range"
+ * without touching the name bytes.
+ */
+final class FrontCodedNames {
+
+	static final int BLOCK_SIZE = 16;
+
+	/** Case-insensitive order, ties broken by the exact spelling. */
+	static final Comparator<String> ORDER = Comparator.comparing((String name) -> name.toLowerCase(Locale.ROOT))
+			.thenComparing(Comparator.naturalOrder());
+
+	private final byte[] bytes;
+	private final int[] blockOffsets;
+	private final int[] counts;
+	private final int size;
+	// sparse[level][b] = ordinal with the highest count in blocks b .. b + 2^level - 1
+	private final int[][] sparse;
+
+	/** names must be distinct and sorted by ORDER. */
+	FrontCodedNames(String[] names, int[] counts, int size) {
+		this.size = size;
+		this.counts = Arrays.copyOf(counts, size);
+		int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		this.blockOffsets = new int[blocks];
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] previous = new byte[0];
+		for (int i = 0; i < size; i++) {
+			byte[] current = names[i].getBytes(StandardCharsets.UTF_8);
+			int shared = 0;
+			if (i % BLOCK_SIZE == 0) {
+				blockOffsets[i / BLOCK_SIZE] = out.size();
+			} else {
+				int max = Math.min(previous.length, current.length);
+				while (shared < max && previous[shared] == current[shared]) {
+					shared++;
+				}
+				writeVarint(out, shared);
+			}
+			writeVarint(out, current.length - shared);
+			out.write(current, shared, current.length - shared);
+			previous = current;
+		}
+		this.bytes = out.toByteArray();
+		this.sparse = buildSparseTable(blocks);
+	}
+
+	int size() {
+		return size;
+	}
+
+	int count(int ordinal) {
+		return counts[ordinal];
+	}
+
+	/** Decodes one name; costs at most BLOCK_SIZE entries of its block. */
+	String name(int ordinal) {
+		BlockReader reader = new BlockReader(ordinal / BLOCK_SIZE);
+		String name = null;
+		for (int i = ordinal - ordinal % BLOCK_SIZE; i <= ordinal; i++) {
+			name = reader.next();
+		}
+		return name;
+	}
+
+	/** First ordinal whose name is not ORDER-less than key, or size. */
+	int lowerBound(String key) {
+		return lowerBound(name -> ORDER.compare(name, key) < 0);
+	}
+
+	/**
+	 * First ordinal whose lower-cased name is not less than folded, which must
+	 * itself be lower case. Unlike {@link #lowerBound(String)} this also lands
+	 * before "Ab" for "ab", which prefix ranges need.
+	 */
+	int lowerBoundIgnoringCase(String folded) {
+		return lowerBound(name -> name.toLowerCase(Locale.ROOT).compareTo(folded) < 0);
+	}
+
+	private int lowerBound(Predicate<String> before) {
+		// binary search over the first names of the blocks, then scan one block
+		int low = 0;
+		int high = blockOffsets.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (before.test(new BlockReader(mid).next())) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (low == 0) {
+			return 0;
+		}
+		int block = low - 1;
+		BlockReader reader = new BlockReader(block);
+		int ordinal = block * BLOCK_SIZE;
+		int end = Math.min(size, ordinal + BLOCK_SIZE);
+		while (ordinal < end && before.test(reader.next())) {
+			ordinal++;
+		}
+		return ordinal;
+	}
+
+	/** Ordinal of exactly this name, or -1. */
+	int indexOf(String name) {
+		int ordinal = lowerBound(name);
+		return ordinal < size && name(ordinal).equals(name) ? ordinal : -1;
+	}
+
+	/** Ordinal with the highest count in [from, to], the lowest ordinal on ties. */
+	int maxCount(int from, int to) {
+		int firstBlock = from / BLOCK_SIZE;
+		int lastBlock = to / BLOCK_SIZE;
+		if (lastBlock - firstBlock < 2) {
+			return scan(from, to, -1);
+		}
+		int best = scan(from, (firstBlock + 1) * BLOCK_SIZE - 1, -1);
+		int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock - 1);
+		best = better(best, sparse[level][firstBlock + 1]);
+		best = better(best, sparse[level][lastBlock - (1 << level)]);
+		return scan(lastBlock * BLOCK_SIZE, to, best);
+	}
+
+	private int scan(int from, int to, int best) {
+		for (int i = from; i <= to; i++) {
+			best = better(best, i);
+		}
+		return best;
+	}
+
+	private int better(int a, int b) {
+		if (a < 0) {
+			return b;
+		}
+		return counts[b] > counts[a] || (counts[b] == counts[a] && b < a) ? b : a;
+	}
+
+	private int[][] buildSparseTable(int blocks) {
+		int levels = blocks == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(blocks);
+		int[][] table = new int[levels][];
+		table[0] = new int[blocks];
+		for (int b = 0; b < blocks; b++) {
+			table[0][b] = scan(b * BLOCK_SIZE, Math.min(size, (b + 1) * BLOCK_SIZE) - 1, -1);
+		}
+		for (int level = 1; level < levels; level++) {
+			int span = 1 << level;
+			table[level] = new int[blocks - span + 1];
+			for (int b = 0; b + span <= blocks; b++) {
+				table[level][b] = better(table[level - 1][b], table[level - 1][b + span / 2]);
+			}
+		}
+		return table;
+	}
+
+	/** Heap bytes of the encoded names, offsets, counts and sparse table. */
+	long memoryBytes() {
+		long total = bytes.length + (long) blockOffsets.length * Integer.BYTES + (long) counts.length * Integer.BYTES;
+		for (int[] level : sparse) {
+			total += (long) level.length * Integer.BYTES;
+		}
+		return total;
+	}
+
+	long encodedNameBytes() {
+		return bytes.length;
+	}
+
+	/** Sequential decoder of the names of one block. */
+	private final class BlockReader {
+
+		private byte[] buffer = new byte[64];
+		private int length;
+		private int position;
+		private boolean first = true;
+
+		BlockReader(int block) {
+			position = blockOffsets[block];
+		}
+
+		String next() {
+			int shared = first ? 0 : readVarint();
+			first = false;
+			int suffix = readVarint();
+			if (shared + suffix > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, shared + suffix));
+			}
+			System.arraycopy(bytes, position, buffer, shared, suffix);
+			position += suffix;
+			length = shared + suffix;
+			return new String(buffer, 0, length, StandardCharsets.UTF_8);
+		}
+
+		private int readVarint() {
+			int value = 0;
+			for (int shift = 0;; shift += 7) {
+				byte b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+		}
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+}
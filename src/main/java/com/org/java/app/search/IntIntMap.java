@@ -0,0 +1,105 @@
+package com.org.java.app.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to non-negative int map with linear probing, so that a
+ * million empId to document entries take two int arrays instead of a million
+ * boxed map entries.
+ */
+final class IntIntMap {
+
+	private static final int FREE = -1;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+	private int mask;
+
+	IntIntMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+		keys = new int[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, FREE);
+		mask = capacity - 1;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/** The value of key, or -1. */
+	int get(int key) {
+		for (int i = slot(key);; i = (i + 1) & mask) {
+			if (values[i] == FREE) {
+				return -1;
+			}
+			if (keys[i] == key) {
+				return values[i];
+			}
+		}
+	}
+
+	void put(int key, int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("values must not be negative");
+		}
+		if ((size + 1) * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		int i = slot(key);
+		while (values[i] != FREE && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (values[i] == FREE) {
+			size++;
+		}
+		keys[i] = key;
+		values[i] = value;
+	}
+
+	/** Removes key and returns its value, or -1 when it was absent. */
+	int remove(int key) {
+		int i = slot(key);
+		while (values[i] != FREE && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		int removed = values[i];
+		if (removed == FREE) {
+			return -1;
+		}
+		// backward-shift deletion keeps every probe sequence unbroken without tombstones
+		int gap = i;
+		for (int j = (gap + 1) & mask; values[j] != FREE; j = (j + 1) & mask) {
+			int home = slot(keys[j]);
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				values[gap] = values[j];
+				gap = j;
+			}
+		}
+		values[gap] = FREE;
+		size--;
+		return removed;
+	}
+
+	private int slot(int key) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, FREE);
+		mask = capacity - 1;
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != FREE) {
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+}
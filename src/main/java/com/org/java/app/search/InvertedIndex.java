@@ -0,0 +1,532 @@
+package com.org.java.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory multi-field inverted index with BM25F ranking.
+ *
+ * Text is split into lower-cased runs of letters and digits, so
+ * "john.doe@mail.com" yields john, doe, mail and com. Every document gets an
+ * ordinal in insertion order; replacing or removing a document only marks
+ * its ordinal deleted, and the postings are compacted once deleted ordinals
+ * outnumber live ones.
+ *
+ * Queries are disjunctive. They walk the postings document at a time with
+ * MaxScore (terms whose combined best score cannot enter the current top-k
+ * are only probed for candidates found in the other terms) and skip whole
+ * posting blocks whose score bound is too low, so frequent terms such as an
+ * email domain do not force a full scan.
+ *
+ * Thread safe: searches share a read lock, changes take the write lock.
+ */
+public final class InvertedIndex {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+	private final double[] fieldWeights;
+	private final int fields;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, PostingList> postings = new HashMap<>();
+	private final IntIntMap docById;
+	private int[] idByDoc;
+	// token count per document and field, capped at 255
+	private byte[] lengths;
+	private int docs;
+	private BitSet deleted = new BitSet();
+	private int deletedCount;
+	private final long[] liveLengthSum;
+
+	public InvertedIndex(double[] fieldWeights, int expectedDocs) {
+		this.fieldWeights = fieldWeights.clone();
+		this.fields = fieldWeights.length;
+		if (fields > 8) {
+			throw new IllegalArgumentException("at most 8 fields fit the packed term frequencies");
+		}
+		this.docById = new IntIntMap(expectedDocs);
+		this.idByDoc = new int[Math.max(16, expectedDocs)];
+		this.lengths = new byte[idByDoc.length * fields];
+		this.liveLengthSum = new long[fields];
+	}
+
+	/** One search result: the document id and its BM25F score. */
+	public static final class Hit {
+
+		private final int id;
+		private final double score;
+
+		Hit(int id, double score) {
+			this.id = id;
+			this.score = score;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public double getScore() {
+			return score;
+		}
+	}
+
+	/** Adds a document, replacing an earlier one with the same id. fieldValues may contain nulls. */
+	public void put(int id, String[] fieldValues) {
+		lock.writeLock().lock();
+		try {
+			markDeleted(id);
+			addDocument(id, fieldValues);
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Removes the document with the given id; returns false if there was none. */
+	public boolean remove(int id) {
+		lock.writeLock().lock();
+		try {
+			boolean removed = markDeleted(id);
+			compactIfNeeded();
+			return removed;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void addDocument(int id, String[] fieldValues) {
+		int doc = docs;
+		if (doc == idByDoc.length) {
+			idByDoc = Arrays.copyOf(idByDoc, doc * 2);
+			lengths = Arrays.copyOf(lengths, doc * 2 * fields);
+		}
+		// term -> term frequencies packed 4 bits per field
+		Map<String, Integer> terms = new HashMap<>();
+		for (int f = 0; f < fields; f++) {
+			int shift = 4 * f;
+			int count = 0;
+			for (String token : tokenize(fieldValues[f])) {
+				count++;
+				terms.merge(token, 1 << shift, (old, one) -> ((old >>> shift) & PostingList.MAX_TF) == PostingList.MAX_TF
+						? old : old + one);
+			}
+			int length = Math.min(count, 255);
+			lengths[doc * fields + f] = (byte) length;
+			liveLengthSum[f] += length;
+		}
+		for (Map.Entry<String, Integer> term : terms.entrySet()) {
+			postings.computeIfAbsent(term.getKey(), k -> new PostingList(fields))
+					.add(doc, term.getValue(), lengths, doc * fields);
+		}
+		idByDoc[doc] = id;
+		docById.put(id, doc);
+		docs++;
+	}
+
+	private boolean markDeleted(int id) {
+		int doc = docById.remove(id);
+		if (doc < 0) {
+			return false;
+		}
+		deleted.set(doc);
+		deletedCount++;
+		for (int f = 0; f < fields; f++) {
+			liveLengthSum[f] -= lengths[doc * fields + f] & 0xFF;
+		}
+		return true;
+	}
+
+	private void compactIfNeeded() {
+		if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount * 2 > docs) {
+			compact();
+		}
+	}
+
+	/** Rewrites all postings without the deleted documents and renumbers the live ones. */
+	private void compact() {
+		int[] newDoc = new int[docs];
+		int live = 0;
+		for (int doc = 0; doc < docs; doc++) {
+			newDoc[doc] = deleted.get(doc) ? -1 : live++;
+		}
+		int[] newIdByDoc = new int[Math.max(16, live * 2)];
+		byte[] newLengths = new byte[newIdByDoc.length * fields];
+		for (int doc = 0; doc < docs; doc++) {
+			if (newDoc[doc] >= 0) {
+				newIdByDoc[newDoc[doc]] = idByDoc[doc];
+				System.arraycopy(lengths, doc * fields, newLengths, newDoc[doc] * fields, fields);
+				docById.put(idByDoc[doc], newDoc[doc]);
+			}
+		}
+		postings.replaceAll((term, list) -> {
+			PostingList compacted = new PostingList(fields);
+			PostingList.Cursor cursor = list.cursor();
+			for (int doc = cursor.next(); doc != PostingList.NO_MORE_DOCS; doc = cursor.next()) {
+				if (newDoc[doc] >= 0) {
+					compacted.add(newDoc[doc], cursor.packedTf(), newLengths, newDoc[doc] * fields);
+				}
+			}
+			compacted.trim();
+			return compacted;
+		});
+		postings.values().removeIf(list -> list.docFreq() == 0);
+		idByDoc = newIdByDoc;
+		lengths = newLengths;
+		docs = live;
+		deleted = new BitSet();
+		deletedCount = 0;
+	}
+
+	/** Releases spare capacity, e.g. after the initial bulk load. */
+	public void trim() {
+		lock.writeLock().lock();
+		try {
+			postings.values().forEach(PostingList::trim);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** The best {@code limit} documents for the query terms, highest score first. */
+	public List<Hit> search(String query, int limit) {
+		Set<String> terms = new LinkedHashSet<>(tokenize(query));
+		if (terms.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		lock.readLock().lock();
+		try {
+			return searchLocked(terms, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<Hit> searchLocked(Set<String> terms, int limit) {
+		int liveDocs = docs - deletedCount;
+		if (liveDocs == 0) {
+			return Collections.emptyList();
+		}
+		double[] averageLength = new double[fields];
+		for (int f = 0; f < fields; f++) {
+			averageLength[f] = Math.max(1.0, (double) liveLengthSum[f] / liveDocs);
+		}
+		List<Term> found = new ArrayList<>();
+		for (String term : terms) {
+			PostingList list = postings.get(term);
+			if (list != null) {
+				// document frequencies still count deleted documents until the next compaction
+				int df = Math.min(list.docFreq(), liveDocs);
+				double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+				found.add(new Term(list, idf, averageLength));
+			}
+		}
+		if (found.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// ascending by best possible score; prefix[i] = best possible score of terms 0..i together
+		found.sort((a, b) -> Double.compare(a.maxScore, b.maxScore));
+		Term[] query = found.toArray(new Term[0]);
+		int m = query.length;
+		double[] prefix = new double[m];
+		for (int i = 0; i < m; i++) {
+			prefix[i] = query[i].maxScore + (i == 0 ? 0 : prefix[i - 1]);
+			query[i].cursor.next();
+		}
+
+		TopDocs top = new TopDocs(limit);
+		// terms below firstEssential cannot reach the top-k on their own
+		int firstEssential = 0;
+		while (true) {
+			int doc = PostingList.NO_MORE_DOCS;
+			for (int i = firstEssential; i < m; i++) {
+				doc = Math.min(doc, query[i].cursor.doc());
+			}
+			if (doc == PostingList.NO_MORE_DOCS) {
+				break;
+			}
+			double nonEssential = firstEssential == 0 ? 0 : prefix[firstEssential - 1];
+			if (top.isFull()) {
+				// no document before the end of the nearest block can beat the threshold: skip the blocks
+				double bound = nonEssential;
+				int blockEnd = PostingList.NO_MORE_DOCS;
+				for (int i = firstEssential; i < m; i++) {
+					PostingList.Cursor cursor = query[i].cursor;
+					if (cursor.doc() != PostingList.NO_MORE_DOCS) {
+						bound += query[i].blockMaxScore(cursor.block());
+						blockEnd = Math.min(blockEnd, cursor.blockLastDoc());
+					}
+				}
+				if (bound <= top.threshold()) {
+					int target = blockEnd == PostingList.NO_MORE_DOCS ? blockEnd : blockEnd + 1;
+					for (int i = firstEssential; i < m; i++) {
+						query[i].cursor.advance(target);
+					}
+					continue;
+				}
+			}
+			if (!deleted.get(doc)) {
+				double score = 0;
+				for (int i = firstEssential; i < m; i++) {
+					if (query[i].cursor.doc() == doc) {
+						score += query[i].score(query[i].cursor.packedTf(), doc);
+					}
+				}
+				for (int i = firstEssential - 1; i >= 0; i--) {
+					if (top.isFull() && score + prefix[i] <= top.threshold()) {
+						break;
+					}
+					PostingList.Cursor cursor = query[i].cursor;
+					if (cursor.advance(doc) == doc) {
+						score += query[i].score(cursor.packedTf(), doc);
+					}
+				}
+				if (top.offer(doc, score)) {
+					while (firstEssential < m && prefix[firstEssential] <= top.threshold()) {
+						firstEssential++;
+					}
+				}
+			}
+			for (int i = firstEssential; i < m; i++) {
+				if (query[i].cursor.doc() == doc) {
+					query[i].cursor.next();
+				}
+			}
+		}
+		return top.hits(idByDoc);
+	}
+
+	/** A query term: its postings, BM25 inverse document frequency and score bound. */
+	private final class Term {
+
+		final PostingList list;
+		final PostingList.Cursor cursor;
+		final double idf;
+		final double[] averageLength;
+		// best score of any document; the block bounds are much tighter than idf * (k1 + 1)
+		final double maxScore;
+
+		Term(PostingList list, double idf, double[] averageLength) {
+			this.list = list;
+			this.cursor = list.cursor();
+			this.idf = idf;
+			this.averageLength = averageLength;
+			double max = 0;
+			for (int block = 0; block < list.blocks(); block++) {
+				max = Math.max(max, blockMaxScore(block));
+			}
+			this.maxScore = max;
+		}
+
+		double score(int packedTf, int doc) {
+			double tf = 0;
+			for (int f = 0; f < fields; f++) {
+				int fieldTf = (packedTf >>> (4 * f)) & PostingList.MAX_TF;
+				if (fieldTf > 0) {
+					tf += fieldWeights[f] * fieldTf / norm(f, lengths[doc * fields + f] & 0xFF);
+				}
+			}
+			return saturate(tf);
+		}
+
+		/** Highest term frequency at the shortest length of the block bounds every score in it. */
+		double blockMaxScore(int block) {
+			double tf = 0;
+			for (int f = 0; f < fields; f++) {
+				int fieldTf = list.blockMaxTf(block, f);
+				if (fieldTf > 0) {
+					tf += fieldWeights[f] * fieldTf / norm(f, list.blockMinLength(block, f));
+				}
+			}
+			return saturate(tf);
+		}
+
+		private double norm(int field, int length) {
+			return 1 - B + B * length / averageLength[field];
+		}
+
+		// tf / (tf + k1) grows with tf, so a larger tf never gives a smaller score
+		private double saturate(double tf) {
+			return idf * tf * (K1 + 1) / (tf + K1);
+		}
+	}
+
+	/** Min-heap of the best documents so far on primitive arrays. */
+	private static final class TopDocs {
+
+		private final double[] scores;
+		private final int[] docs;
+		private int size;
+
+		TopDocs(int capacity) {
+			scores = new double[capacity];
+			docs = new int[capacity];
+		}
+
+		boolean isFull() {
+			return size == scores.length;
+		}
+
+		double threshold() {
+			return isFull() ? scores[0] : 0;
+		}
+
+		/** Keeps the document if it beats the weakest one; returns true when the threshold may have changed. */
+		boolean offer(int doc, double score) {
+			if (size < scores.length) {
+				int i = size++;
+				scores[i] = score;
+				docs[i] = doc;
+				siftUp(i);
+				return size == scores.length;
+			}
+			// ties keep the earlier document
+			if (score <= scores[0]) {
+				return false;
+			}
+			scores[0] = score;
+			docs[0] = doc;
+			siftDown(0);
+			return true;
+		}
+
+		private boolean less(int a, int b) {
+			return scores[a] < scores[b] || (scores[a] == scores[b] && docs[a] > docs[b]);
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (!less(i, parent)) {
+					return;
+				}
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			while (true) {
+				int smallest = i;
+				int left = 2 * i + 1;
+				int right = left + 1;
+				if (left < size && less(left, smallest)) {
+					smallest = left;
+				}
+				if (right < size && less(right, smallest)) {
+					smallest = right;
+				}
+				if (smallest == i) {
+					return;
+				}
+				swap(i, smallest);
+				i = smallest;
+			}
+		}
+
+		private void swap(int a, int b) {
+			double score = scores[a];
+			scores[a] = scores[b];
+			scores[b] = score;
+			int doc = docs[a];
+			docs[a] = docs[b];
+			docs[b] = doc;
+		}
+
+		List<Hit> hits(int[] idByDoc) {
+			Hit[] hits = new Hit[size];
+			// pop the weakest first and fill from the back
+			while (size > 0) {
+				hits[size - 1] = new Hit(idByDoc[docs[0]], scores[0]);
+				size--;
+				if (size > 0) {
+					scores[0] = scores[size];
+					docs[0] = docs[size];
+					siftDown(0);
+				}
+			}
+			return Arrays.asList(hits);
+		}
+	}
+
+	public int documents() {
+		lock.readLock().lock();
+		try {
+			return docs - deletedCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int deletedDocuments() {
+		lock.readLock().lock();
+		try {
+			return deletedCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int terms() {
+		lock.readLock().lock();
+		try {
+			return postings.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Bytes of the encoded postings. */
+	public long postingBytes() {
+		lock.readLock().lock();
+		try {
+			return postings.values().stream().mapToLong(PostingList::byteSize).sum();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Bytes of the per-block skip entries and score bounds. */
+	public long skipBytes() {
+		lock.readLock().lock();
+		try {
+			return postings.values().stream().mapToLong(PostingList::skipBytes).sum();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Lower-cased runs of letters and digits. */
+	static List<String> tokenize(String text) {
+		if (text == null || text.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i < text.length();) {
+			int codePoint = text.codePointAt(i);
+			boolean wordChar = Character.isLetterOrDigit(codePoint);
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+			i += Character.charCount(codePoint);
+		}
+		if (start >= 0) {
+			tokens.add(text.substring(start).toLowerCase(Locale.ROOT));
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,227 @@
+package com.org.java.app.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed postings of one term. Each posting is the gap to the previous
+ * document as a varint followed by the per-field term frequencies packed
+ * four bits per field, also as a varint; a typical posting takes 2-3 bytes.
+ *
+ * Documents are only ever appended with increasing ordinals. Every
+ * {@link #BLOCK_SIZE} postings form a block with a skip entry (last document
+ * and byte offset) and, per field, the highest term frequency and the
+ * shortest field length in the block. Those give an upper bound of the score
+ * of any document in the block, which lets a query skip whole blocks that
+ * cannot reach the current top-k.
+ */
+final class PostingList {
+
+	static final int BLOCK_SIZE = 128;
+	static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+	static final int MAX_TF = 15;
+
+	private final int fields;
+
+	private byte[] bytes = new byte[4];
+	private int length;
+	private int docFreq;
+	private int lastDoc = -1;
+
+	private int blocks;
+	private int[] blockLastDoc = new int[1];
+	private int[] blockOffset = new int[1];
+	// document before the first posting of the block, the base of its first gap
+	private int[] blockBaseDoc = new int[1];
+	private byte[] blockMaxTf;
+	private byte[] blockMinLength;
+
+	PostingList(int fields) {
+		this.fields = fields;
+		this.blockMaxTf = new byte[fields];
+		this.blockMinLength = new byte[fields];
+	}
+
+	int docFreq() {
+		return docFreq;
+	}
+
+	int blocks() {
+		return blocks;
+	}
+
+	int blockMaxTf(int block, int field) {
+		return blockMaxTf[block * fields + field];
+	}
+
+	int blockMinLength(int block, int field) {
+		return blockMinLength[block * fields + field] & 0xFF;
+	}
+
+	int byteSize() {
+		return length;
+	}
+
+	int skipBytes() {
+		return blocks * (3 * Integer.BYTES + 2 * fields);
+	}
+
+	/**
+	 * Appends a posting. packedTf holds 4 bits of term frequency per field;
+	 * lengths[lengthOffset + f] is the token count of field f of the document.
+	 */
+	void add(int doc, int packedTf, byte[] lengths, int lengthOffset) {
+		if (doc <= lastDoc) {
+			throw new IllegalArgumentException("documents must be added in increasing order");
+		}
+		if (docFreq % BLOCK_SIZE == 0) {
+			startBlock();
+		}
+		writeVarint(doc - lastDoc);
+		writeVarint(packedTf);
+		int block = blocks - 1;
+		int statOffset = block * fields;
+		for (int f = 0; f < fields; f++) {
+			int tf = (packedTf >>> (4 * f)) & MAX_TF;
+			if (tf > 0) {
+				blockMaxTf[statOffset + f] = (byte) Math.max(blockMaxTf[statOffset + f], tf);
+				int fieldLength = lengths[lengthOffset + f] & 0xFF;
+				if (fieldLength < (blockMinLength[statOffset + f] & 0xFF)) {
+					blockMinLength[statOffset + f] = (byte) fieldLength;
+				}
+			}
+		}
+		blockLastDoc[block] = doc;
+		lastDoc = doc;
+		docFreq++;
+	}
+
+	private void startBlock() {
+		if (blocks == blockLastDoc.length) {
+			int capacity = blocks * 2;
+			blockLastDoc = Arrays.copyOf(blockLastDoc, capacity);
+			blockOffset = Arrays.copyOf(blockOffset, capacity);
+			blockBaseDoc = Arrays.copyOf(blockBaseDoc, capacity);
+			blockMaxTf = Arrays.copyOf(blockMaxTf, capacity * fields);
+			blockMinLength = Arrays.copyOf(blockMinLength, capacity * fields);
+		}
+		blockOffset[blocks] = length;
+		blockBaseDoc[blocks] = lastDoc;
+		Arrays.fill(blockMinLength, blocks * fields, (blocks + 1) * fields, (byte) 0xFF);
+		blocks++;
+	}
+
+	private void writeVarint(int value) {
+		if (length + 5 > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+		}
+		while ((value & ~0x7F) != 0) {
+			bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[length++] = (byte) value;
+	}
+
+	/** Drops the spare capacity once a bulk build is done. */
+	void trim() {
+		bytes = Arrays.copyOf(bytes, length);
+		blockLastDoc = Arrays.copyOf(blockLastDoc, blocks);
+		blockOffset = Arrays.copyOf(blockOffset, blocks);
+		blockBaseDoc = Arrays.copyOf(blockBaseDoc, blocks);
+		blockMaxTf = Arrays.copyOf(blockMaxTf, blocks * fields);
+		blockMinLength = Arrays.copyOf(blockMinLength, blocks * fields);
+	}
+
+	Cursor cursor() {
+		return new Cursor();
+	}
+
+	/** Forward-only reader; not thread safe, create one per query. */
+	final class Cursor {
+
+		private int doc = -1;
+		private int packedTf;
+		private int position;
+		private int index;
+		private int block = -1;
+
+		int doc() {
+			return doc;
+		}
+
+		int packedTf() {
+			return packedTf;
+		}
+
+		/** Moves to the next posting and returns its document, or NO_MORE_DOCS. */
+		int next() {
+			if (index == docFreq) {
+				packedTf = 0;
+				return doc = NO_MORE_DOCS;
+			}
+			if (index % BLOCK_SIZE == 0) {
+				block++;
+			}
+			doc += readVarint();
+			packedTf = readVarint();
+			index++;
+			return doc;
+		}
+
+		/** Moves to the first posting with a document >= target and returns it, or NO_MORE_DOCS. */
+		int advance(int target) {
+			if (doc >= target) {
+				return doc;
+			}
+			if (block < 0 || target > blockLastDoc[block]) {
+				// binary search for the first block that can hold target
+				int low = Math.max(block, 0);
+				int high = blocks;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if (blockLastDoc[mid] < target) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				int b = low;
+				if (b == blocks) {
+					index = docFreq;
+					packedTf = 0;
+					return doc = NO_MORE_DOCS;
+				}
+				if (b != block) {
+					// jump to the start of block b
+					position = blockOffset[b];
+					doc = blockBaseDoc[b];
+					index = b * BLOCK_SIZE;
+					block = b - 1;
+				}
+			}
+			while (next() < target) {
+				// decode within the block
+			}
+			return doc;
+		}
+
+		/** Last document of the current block; only valid while positioned on a posting. */
+		int blockLastDoc() {
+			return blockLastDoc[block];
+		}
+
+		int block() {
+			return block;
+		}
+
+		private int readVarint() {
+			int value = 0;
+			for (int shift = 0;; shift += 7) {
+				byte b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,269 @@
+package com.org.java.app.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over names: the most frequent names starting with a prefix,
+ * case-insensitively.
+ *
+ * The bulk of the names lives in an immutable {@link FrontCodedNames}. Writes
+ * go to a small sorted overlay of count changes, which queries merge in; once
+ * the overlay outgrows {@link #MIN_OVERLAY_TO_MERGE} entries (or 1/32 of the
+ * base) it is merged into a new base in one linear pass.
+ *
+ * Thread safe: queries share a read lock, changes take the write lock.
+ */
+public final class PrefixIndex {
+
+	static final int MIN_OVERLAY_TO_MERGE = 4096;
+
+	/** TreeMap entry, boxed Integer and String header on a 64-bit JVM with compressed oops. */
+	private static final int OVERLAY_ENTRY_BYTES = 40 + 16 + 40;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private FrontCodedNames base;
+	private final NavigableMap<String, Integer> overlay = new TreeMap<>(FrontCodedNames.ORDER);
+	private int merges;
+
+	/** One completion: a name and how many rows carry it. */
+	public static final class Completion {
+
+		private final String name;
+		private final int count;
+
+		Completion(String name, int count) {
+			this.name = name;
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+	}
+
+	public PrefixIndex(Map<String, Integer> counts) {
+		TreeMap<String, Integer> sorted = new TreeMap<>(FrontCodedNames.ORDER);
+		counts.forEach((name, count) -> {
+			if (name != null && count > 0) {
+				sorted.put(name, count);
+			}
+		});
+		base = build(sorted.entrySet().iterator(), sorted.size());
+	}
+
+	/** Adds delta (negative for removed rows) to the count of name. */
+	public void add(String name, int delta) {
+		if (name == null || delta == 0) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			overlay.merge(name, delta, (a, b) -> a + b == 0 ? null : a + b);
+			if (overlay.size() > Math.max(MIN_OVERLAY_TO_MERGE, base.size() / 32)) {
+				mergeOverlay();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Up to limit names starting with prefix (ignoring case), most frequent first, then by name. */
+	public List<Completion> complete(String prefix, int limit) {
+		if (prefix == null || limit <= 0) {
+			return Collections.emptyList();
+		}
+		String from = prefix.toLowerCase(Locale.ROOT);
+		// sorts after every name that starts with the prefix
+		String to = from + Character.MAX_VALUE;
+		lock.readLock().lock();
+		try {
+			Map<String, Integer> changed = changedNames(from, to);
+			int low = base.lowerBoundIgnoringCase(from);
+			int high = base.lowerBoundIgnoringCase(to);
+			// a changed name may push an unchanged one out of the top, so take that many extra
+			Map<String, Integer> candidates = new HashMap<>();
+			for (int ordinal : topByCount(low, high, limit + changed.size())) {
+				candidates.put(base.name(ordinal), base.count(ordinal));
+			}
+			for (Map.Entry<String, Integer> entry : changed.entrySet()) {
+				Integer baseCount = candidates.get(entry.getKey());
+				if (baseCount == null) {
+					int ordinal = base.indexOf(entry.getKey());
+					baseCount = ordinal < 0 ? 0 : base.count(ordinal);
+				}
+				candidates.put(entry.getKey(), baseCount + entry.getValue());
+			}
+			List<Completion> completions = new ArrayList<>();
+			candidates.forEach((name, count) -> {
+				if (count > 0) {
+					completions.add(new Completion(name, count));
+				}
+			});
+			completions.sort((a, b) -> a.count != b.count ? Integer.compare(b.count, a.count)
+					: FrontCodedNames.ORDER.compare(a.name, b.name));
+			return completions.size() > limit ? new ArrayList<>(completions.subList(0, limit)) : completions;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Overlay entries whose lower-cased name lies in [from, to). The ORDER
+	 * range from "ab" misses "Ab", so those are picked up walking backwards.
+	 */
+	private Map<String, Integer> changedNames(String from, String to) {
+		Map<String, Integer> changed = new HashMap<>(overlay.subMap(from, true, to, false));
+		for (Map.Entry<String, Integer> entry : overlay.headMap(from, false).descendingMap().entrySet()) {
+			if (!entry.getKey().toLowerCase(Locale.ROOT).equals(from)) {
+				break;
+			}
+			changed.put(entry.getKey(), entry.getValue());
+		}
+		return changed;
+	}
+
+	/**
+	 * The k ordinals with the highest counts in [low, high): repeatedly take
+	 * the maximum of a range and split the range around it, so only k range
+	 * maximum queries are needed however many names match.
+	 */
+	private int[] topByCount(int low, int high, int k) {
+		if (low >= high || k <= 0) {
+			return new int[0];
+		}
+		// entries are {ordinal, from, to}; best count first, lower ordinal on ties
+		PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> base.count(a[0]) != base.count(b[0])
+				? Integer.compare(base.count(b[0]), base.count(a[0])) : Integer.compare(a[0], b[0]));
+		ranges.add(new int[] { base.maxCount(low, high - 1), low, high - 1 });
+		int[] top = new int[Math.min(k, high - low)];
+		for (int i = 0; i < top.length; i++) {
+			int[] range = ranges.poll();
+			top[i] = range[0];
+			if (range[1] < range[0]) {
+				ranges.add(new int[] { base.maxCount(range[1], range[0] - 1), range[1], range[0] - 1 });
+			}
+			if (range[0] < range[2]) {
+				ranges.add(new int[] { base.maxCount(range[0] + 1, range[2]), range[0] + 1, range[2] });
+			}
+		}
+		return top;
+	}
+
+	private void mergeOverlay() {
+		List<Map.Entry<String, Integer>> merged = new ArrayList<>(base.size() + overlay.size());
+		Iterator<Map.Entry<String, Integer>> changes = overlay.entrySet().iterator();
+		Map.Entry<String, Integer> change = changes.hasNext() ? changes.next() : null;
+		for (int ordinal = 0; ordinal < base.size(); ordinal++) {
+			String name = base.name(ordinal);
+			int count = base.count(ordinal);
+			while (change != null && FrontCodedNames.ORDER.compare(change.getKey(), name) < 0) {
+				merged.add(change);
+				change = changes.hasNext() ? changes.next() : null;
+			}
+			if (change != null && change.getKey().equals(name)) {
+				count += change.getValue();
+				change = changes.hasNext() ? changes.next() : null;
+			}
+			merged.add(Map.entry(name, count));
+		}
+		while (change != null) {
+			merged.add(change);
+			change = changes.hasNext() ? changes.next() : null;
+		}
+		merged.removeIf(entry -> entry.getValue() <= 0);
+		base = build(merged.iterator(), merged.size());
+		overlay.clear();
+		merges++;
+	}
+
+	private static FrontCodedNames build(Iterator<Map.Entry<String, Integer>> sorted, int size) {
+		String[] names = new String[size];
+		int[] counts = new int[size];
+		for (int i = 0; i < size; i++) {
+			Map.Entry<String, Integer> entry = sorted.next();
+			names[i] = entry.getKey();
+			counts[i] = entry.getValue();
+		}
+		return new FrontCodedNames(names, counts, size);
+	}
+
+	/** Distinct names with a positive count, pending changes included. */
+	public int names() {
+		lock.readLock().lock();
+		try {
+			int names = base.size();
+			for (Map.Entry<String, Integer> change : overlay.entrySet()) {
+				int ordinal = base.indexOf(change.getKey());
+				int before = ordinal < 0 ? 0 : base.count(ordinal);
+				if (before <= 0 && before + change.getValue() > 0) {
+					names++;
+				} else if (before > 0 && before + change.getValue() <= 0) {
+					names--;
+				}
+			}
+			return names;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Changed names not yet merged into the front-coded base. */
+	public int pendingChanges() {
+		lock.readLock().lock();
+		try {
+			return overlay.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int merges() {
+		lock.readLock().lock();
+		try {
+			return merges;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Approximate heap used: the exact size of the base arrays plus an estimate
+	 * of {@link #OVERLAY_ENTRY_BYTES} per overlay entry and its string.
+	 */
+	public long memoryBytes() {
+		lock.readLock().lock();
+		try {
+			long total = base.memoryBytes();
+			for (String name : overlay.keySet()) {
+				total += OVERLAY_ENTRY_BYTES + 2L * name.length();
+			}
+			return total;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Bytes of front-coded name data in the base, for comparing with the raw names. */
+	public long encodedNameBytes() {
+		lock.readLock().lock();
+		try {
+			return base.encodedNameBytes();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
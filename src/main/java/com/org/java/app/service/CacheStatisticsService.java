@@ -0,0 +1,18 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.CacheStatsDto;
+
+@Service
+public interface CacheStatisticsService {
+
+	/** Counters of the Employee entity region, the query result region and the totals. */
+	List<CacheStatsDto> findCacheStatistics();
+
+	/** Counters of the Spring result caches of the aggregate endpoints, one entry per cache. */
+	List<CacheStatsDto> findResultCacheStatistics();
+
+}
@@ -0,0 +1,21 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.DepartmentSummaryDto;
+import com.org.java.app.entity.Employee;
+
+@Service
+public interface DepartmentSummaryService {
+
+	List<DepartmentSummaryDto> findDepartmentSummaries();
+
+	/** Moves the summaries from the previous rows to the current ones. */
+	void applyChanges(List<Employee> previous, List<Employee> current);
+
+	/** Recomputes every summary from the employee table, e.g. after out-of-band changes. */
+	List<DepartmentSummaryDto> rebuildDepartmentSummaries();
+
+}
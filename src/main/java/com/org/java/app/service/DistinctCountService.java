@@ -0,0 +1,19 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.DistinctCountDto;
+
+@Service
+public interface DistinctCountService {
+
+	/**
+	 * Estimated number of distinct non-null values of a text field (see
+	 * EmployeeFields) across the given departments (all when null), or one
+	 * estimate per department with byDepartment.
+	 */
+	List<DistinctCountDto> findDistinctCounts(String field, List<String> deptNames, boolean byDepartment);
+
+}
@@ -0,0 +1,25 @@
+package com.org.java.app.service;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.ExactDuplicateReportDto;
+import com.org.java.app.dto.FuzzyDuplicateReportDto;
+
+@Service
+public interface DuplicateDetectionService {
+
+	/**
+	 * Clusters of employees that agree, up to typos, on at least
+	 * minMatchingFields of name, email and mobile number (see
+	 * FuzzyDuplicateFinder). Runs over the current snapshot.
+	 */
+	FuzzyDuplicateReportDto findFuzzyDuplicates(int maxNameDistance, int minMatchingFields, int limit);
+
+	/**
+	 * Distinct and duplicated values of the given comma separated columns,
+	 * e.g. "deptName,salary", counted over a database cursor. Reports the limit
+	 * most frequent duplicated keys.
+	 */
+	ExactDuplicateReportDto findExactDuplicates(String columns, int limit);
+
+}
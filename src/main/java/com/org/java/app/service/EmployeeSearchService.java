@@ -0,0 +1,25 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.NameCompletionDto;
+import com.org.java.app.dto.NameIndexStatsDto;
+import com.org.java.app.dto.SearchHitDto;
+import com.org.java.app.dto.SearchIndexStatsDto;
+
+@Service
+public interface EmployeeSearchService {
+
+	/** Employees ranked by BM25F over name, designation, department, sector, platform and email. */
+	List<SearchHitDto> searchEmployees(String query, int limit);
+
+	SearchIndexStatsDto findSearchIndexStatistics();
+
+	/** The most common employee names starting with prefix, ignoring case. */
+	List<NameCompletionDto> completeEmployeeNames(String prefix, int limit);
+
+	NameIndexStatsDto findNameIndexStatistics();
+
+}
@@ -1,28 +1,76 @@
 package com.org.java.app.service;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import com.org.java.app.dto.BulkDeleteResultDto;
+import com.org.java.app.dto.BulkSaveResultDto;
+import com.org.java.app.dto.BulkUpdateResultDto;
 import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.EmployeePatchDto;
+import com.org.java.app.dto.SalaryAggregateDto;
+import com.org.java.app.dto.SalaryHistogramDto;
+import com.org.java.app.dto.SalaryRevisionDto;
+import com.org.java.app.dto.TextAnalysisDto;
 import com.org.java.app.entity.Employee;
 
 
 @Service
 public interface EmployeeService {
 	
+	/** Inserts a new row; an empId in the input is ignored. */
 	public Employee saveEmployeeDetails(EmployeeDto employeeDto);
 	
+	/**
+	 * Replaces the row with the given one. The version the client last read is
+	 * required; the update fails with 409 if the row changed since.
+	 */
 	public Employee updateEmployeeDetails(Employee employee);
 
+	/**
+	 * Applies only the non-null fields of the patch. As for a full update, the
+	 * version the client last read is required; see EmployeePatchDto#version.
+	 */
+	public Employee patchEmployeeDetails(int empId, EmployeePatchDto patch);
+
+	/**
+	 * Applies a percentage or absolute salary change to all matching employees
+	 * with set-based UPDATEs, one id range at a time.
+	 */
+	public BulkUpdateResultDto reviseSalaries(SalaryRevisionDto revision);
+
 	public Employee deleteEmployeeDetails(Employee employee);
+
+	/** Deletes the given ids with set-based statements in chunks and reports how many rows went. */
+	public BulkDeleteResultDto deleteEmployeesByIds(List<Integer> empIds);
+
+	public BulkDeleteResultDto deleteEmployeesByDeptName(String deptName);
 	
 	public List<EmployeeDto> findAllEmployeeDetails();
 
+	/**
+	 * Hands the consumer a forward-only cursor over all employees, ordered by
+	 * empId. The stream is only valid inside the call.
+	 */
+	public void streamAllEmployeeDetails(Consumer<Stream<Employee>> consumer);
+
+	/**
+	 * Inserts all employees read from the iterator as new rows; ids in the input
+	 * are ignored. Rows are committed in chunks, so the chunks before a failing
+	 * record stay saved.
+	 */
+	public BulkSaveResultDto saveAllEmployeeDetails(Iterator<EmployeeDto> employees);
+
+	public void streamEmployeeDetailsByDeptName(String deptName, Consumer<Stream<Employee>> consumer);
+
 	public Employee findByIdEmployeeDetails(int empId);
 	
 	public List<Employee> findByName(String empName);
@@ -45,6 +93,15 @@ public interface EmployeeService {
 
 	double findByCountSalaryDeatails();
 
+	List<SalaryAggregateDto> findSalaryAggregatesDeatails(String groupBy);
+
+	/**
+	 * Salary counts and sums per bucket, either of the given width or between
+	 * the given comma separated boundaries (exactly one of the two). With
+	 * byDepartment there is one histogram per deptName instead of one overall.
+	 */
+	List<SalaryHistogramDto> findSalaryHistogramDeatails(Double width, String boundaries, boolean byDepartment);
+
 	List<Employee> findParticularRecordsDeatails();
 	
 	List<Employee> findParticularRecordFileter();
@@ -61,7 +118,7 @@ public interface EmployeeService {
 	
 	List<String> mapNamesToUppercaseDeatails();
 
-	Map<Character, Integer> findStringOccurenceDeatails();
+	Map<String, Integer> findStringOccurenceDeatails(String empName);
 
 	Map<Object, List<Employee>> groupBySalaryDeatails();
 
@@ -71,13 +128,16 @@ public interface EmployeeService {
 
 	Employee findByEmpIdAndNameAndDeptNameDeatails(int empId, String empName, String deptName);
 
-	String firstnonRepeactedCharacterInStringDeatails();
+	String firstnonRepeactedCharacterInStringDeatails(String empName);
+
+	String firstRepeactedCharacterInStringDeatails(String empName);
 
-	String firstRepeactedCharacterInStringDeatails();
+	List<String> printDublicatesInStringDeatails(String empName);
 
-	List<String> printDublicatesInStringDeatails();
+	List<String> uniquerecordsInStringDeatails(String empName);
 
-	List<String> uniquerecordsInStringDeatails();
+	/** Character statistics of one text field (see EmployeeFields) of one employee. */
+	TextAnalysisDto analyzeEmployeeTextDeatails(int empId, String field);
 
 	String longestStringDeatails();
 
@@ -115,7 +175,8 @@ public interface EmployeeService {
 
 	String rightRotationStringDeatails();
 
-	List<EmployeeDto> findByEmployeeBetweenSalaryDeatails();
+	List<EmployeeDto> findByEmployeeBetweenSalaryDeatails(double minSalary, double maxSalary, int size,
+			Double afterSalary, Integer afterEmpId);
 
 	Map<String, Long> findBygroupCountDeatails();
 
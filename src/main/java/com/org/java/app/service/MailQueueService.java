@@ -0,0 +1,17 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.MailJobDto;
+
+@Service
+public interface MailQueueService {
+
+	/** Queues the employees report for the recipients and returns the tracking id right away. */
+	String queueReportEmail(List<String> recipients);
+
+	MailJobDto findMailJob(String trackingId);
+
+}
@@ -0,0 +1,19 @@
+package com.org.java.app.service;
+
+import java.nio.file.Path;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.ReportJobDto;
+
+@Service
+public interface ReportJobService {
+
+	ReportJobDto submitReportJob(String format, String deptName);
+
+	ReportJobDto findReportJob(String jobId);
+
+	/** File of a finished job; throws NoDataAvailableException while the job is not done. */
+	Path findReportArtifact(String jobId);
+
+}
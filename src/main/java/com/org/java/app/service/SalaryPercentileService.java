@@ -0,0 +1,19 @@
+package com.org.java.app.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.org.java.app.dto.SalaryPercentilesDto;
+
+@Service
+public interface SalaryPercentileService {
+
+	/**
+	 * Estimated salary quantiles per department from the KLL sketches, or one
+	 * result over the merged sketches of the selected departments. deptNames
+	 * null means all departments.
+	 */
+	List<SalaryPercentilesDto> findSalaryPercentiles(List<String> deptNames, List<Double> quantiles, boolean merge);
+
+}
@@ -0,0 +1,77 @@
+package com.org.java.app.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.CacheStatsDto;
+import com.org.java.app.service.CacheStatisticsService;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+
+@Component
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+	private static final String EMPLOYEE_REGION = "employee";
+
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Override
+	public List<CacheStatsDto> findCacheStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		return Arrays.asList(
+				region(EMPLOYEE_REGION, statistics.getDomainDataRegionStatistics(EMPLOYEE_REGION)),
+				region(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+						statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)),
+				stats("second-level-total", statistics.getSecondLevelCacheHitCount(),
+						statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+	}
+
+	@Override
+	public List<CacheStatsDto> findResultCacheStatistics() {
+		List<CacheStatsDto> result = new ArrayList<>();
+		for (String name : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache instanceof CaffeineCache) {
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache)
+						.getNativeCache();
+				CacheStats cacheStats = nativeCache.stats();
+				// @Cacheable stores values with put, which Caffeine does not count
+				result.add(stats(name, cacheStats.hitCount(), cacheStats.missCount(), -1,
+						nativeCache.estimatedSize()));
+			}
+		}
+		return result;
+	}
+
+	private static CacheStatsDto region(String name, CacheRegionStatistics region) {
+		// a region shows up only after its first use
+		if (region == null) {
+			return stats(name, 0, 0, 0, 0);
+		}
+		return stats(name, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+				region.getElementCountInMemory());
+	}
+
+	private static CacheStatsDto stats(String name, long hits, long misses, long puts, long elements) {
+		long lookups = hits + misses;
+		return new CacheStatsDto(name, hits, misses, puts, lookups == 0 ? 0.0 : (double) hits / lookups, elements);
+	}
+}
@@ -0,0 +1,123 @@
+package com.org.java.app.serviceimpl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.org.java.app.configuration.ResultCacheConfig;
+import com.org.java.app.dto.DepartmentSummaryDto;
+import com.org.java.app.entity.DepartmentSummary;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.DepartmentSummaryRepository;
+import com.org.java.app.service.DepartmentSummaryService;
+
+@Component
+public class DepartmentSummaryServiceImpl implements DepartmentSummaryService {
+
+	Logger logger = LoggerFactory.getLogger(DepartmentSummaryServiceImpl.class);
+
+	@Autowired
+	private DepartmentSummaryRepository departmentSummaryRepository;
+
+	@Override
+	public List<DepartmentSummaryDto> findDepartmentSummaries() {
+		return departmentSummaryRepository.findAllByOrderByDeptName().stream()
+				.map(DepartmentSummaryServiceImpl::toDto)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional
+	public void applyChanges(List<Employee> previous, List<Employee> current) {
+		Map<Integer, Employee> previousById = new HashMap<>();
+		for (Employee employee : previous) {
+			previousById.put(employee.getEmpId(), employee);
+		}
+		// sorted so concurrent writers lock the department rows in the same order
+		Map<String, Delta> deltas = new TreeMap<>();
+		Set<String> removedFrom = new TreeSet<>();
+		for (Employee employee : current) {
+			Employee before = previousById.get(employee.getEmpId());
+			if (before != null && Objects.equals(before.getDeptName(), employee.getDeptName())
+					&& before.getSalary() == employee.getSalary()) {
+				// e.g. a changed email: nothing to do for the summary
+				previousById.remove(employee.getEmpId());
+				continue;
+			}
+			if (employee.getDeptName() != null) {
+				deltas.computeIfAbsent(employee.getDeptName(), k -> new Delta()).add(employee.getSalary());
+			}
+		}
+		for (Employee employee : previousById.values()) {
+			if (employee.getDeptName() != null) {
+				deltas.computeIfAbsent(employee.getDeptName(), k -> new Delta()).remove(employee.getSalary());
+				removedFrom.add(employee.getDeptName());
+			}
+		}
+		if (deltas.isEmpty()) {
+			return;
+		}
+		deltas.forEach((deptName, delta) -> departmentSummaryRepository.applyDelta(deptName, delta.headcount,
+				delta.salarySum, delta.salarySumOfSquares, delta.minSalary, delta.maxSalary));
+		if (!removedFrom.isEmpty()) {
+			departmentSummaryRepository.refreshMinMax(removedFrom);
+			departmentSummaryRepository.deleteEmpty(removedFrom);
+		}
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = { ResultCacheConfig.GROUP_COUNT, ResultCacheConfig.SALARY_AGGREGATES }, allEntries = true)
+	public List<DepartmentSummaryDto> rebuildDepartmentSummaries() {
+		long start = System.currentTimeMillis();
+		departmentSummaryRepository.deleteAllRows();
+		int departments = departmentSummaryRepository.insertFromEmployees();
+		logger.info("department summaries rebuilt for " + departments + " departments in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return findDepartmentSummaries();
+	}
+
+	private static DepartmentSummaryDto toDto(DepartmentSummary summary) {
+		long n = summary.getHeadcount();
+		double avg = n == 0 ? 0 : summary.getSalarySum() / n;
+		// rounding can push the variance slightly below zero
+		double variance = n == 0 ? 0 : Math.max(0, summary.getSalarySumOfSquares() / n - avg * avg);
+		return new DepartmentSummaryDto(summary.getDeptName(), n, summary.getSalarySum(), summary.getSalaryMin(),
+				summary.getSalaryMax(), avg, Math.sqrt(variance));
+	}
+
+	/** Net change of one department. */
+	private static class Delta {
+		long headcount;
+		double salarySum;
+		double salarySumOfSquares;
+		Double minSalary;
+		Double maxSalary;
+
+		void add(double salary) {
+			headcount++;
+			salarySum += salary;
+			salarySumOfSquares += salary * salary;
+			minSalary = minSalary == null ? salary : Math.min(minSalary, salary);
+			maxSalary = maxSalary == null ? salary : Math.max(maxSalary, salary);
+		}
+
+		void remove(double salary) {
+			headcount--;
+			salarySum -= salary;
+			salarySumOfSquares -= salary * salary;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.org.java.app.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.DistinctCountDto;
+import com.org.java.app.exception.NoDataAvailableException;
+import com.org.java.app.service.DistinctCountService;
+import com.org.java.app.sketch.DepartmentDistinctSketches;
+import com.org.java.app.sketch.HyperLogLog;
+
+@Component
+public class DistinctCountServiceImpl implements DistinctCountService {
+
+	@Autowired
+	private DepartmentDistinctSketches departmentDistinctSketches;
+
+	@Override
+	public List<DistinctCountDto> findDistinctCounts(String field, List<String> deptNames, boolean byDepartment) {
+		Map<String, HyperLogLog> sketches = departmentDistinctSketches.sketches(field,
+				deptNames == null ? null : new HashSet<>(deptNames));
+		if (sketches.isEmpty()) {
+			throw new NoDataAvailableException("No Data available for departments " + deptNames);
+		}
+		List<DistinctCountDto> results = new ArrayList<>();
+		if (byDepartment) {
+			sketches.forEach((deptName, sketch) -> results.add(count(field, deptName, sketch)));
+		} else {
+			HyperLogLog union = new HyperLogLog();
+			sketches.values().forEach(union::merge);
+			results.add(count(field, null, union));
+		}
+		return results;
+	}
+
+	private static DistinctCountDto count(String field, String deptName, HyperLogLog sketch) {
+		// a sketch may still count values of rows that changed or left until its department is rebuilt
+		return new DistinctCountDto(field, deptName, sketch.estimate(),
+				HyperLogLog.relativeError(sketch.getPrecision()) + DepartmentDistinctSketches.MAX_STALE_FRACTION,
+				sketch.memoryBytes());
+	}
+}
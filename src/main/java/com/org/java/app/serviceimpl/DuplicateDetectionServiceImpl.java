@@ -0,0 +1,130 @@
+package com.org.java.app.serviceimpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dedup.ExactDuplicateFinder;
+import com.org.java.app.dedup.FuzzyDuplicateFinder;
+import com.org.java.app.dedup.KeyColumn;
+import com.org.java.app.dto.DuplicateClusterDto;
+import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.ExactDuplicateGroupDto;
+import com.org.java.app.dto.ExactDuplicateReportDto;
+import com.org.java.app.dto.FuzzyDuplicateReportDto;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.mapper.EmployeeMapper;
+import com.org.java.app.service.DuplicateDetectionService;
+import com.org.java.app.service.EmployeeService;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@Component
+public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
+
+	private static final int MAX_NAME_DISTANCE = 3;
+	private static final int MAX_CLUSTERS = 1000;
+
+	Logger logger = LoggerFactory.getLogger(DuplicateDetectionServiceImpl.class);
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Value("${duplicates.memory-budget-bytes:67108864}")
+	private long memoryBudgetBytes;
+
+	@Value("${duplicates.spill-dir:${java.io.tmpdir}/employee-duplicates}")
+	private String spillDirectory;
+
+	@Override
+	public FuzzyDuplicateReportDto findFuzzyDuplicates(int maxNameDistance, int minMatchingFields, int limit) {
+		if (maxNameDistance < 0 || maxNameDistance > MAX_NAME_DISTANCE) {
+			throw new InvalidInputException("maxNameDistance must be between 0 and " + MAX_NAME_DISTANCE);
+		}
+		if (minMatchingFields < 2 || minMatchingFields > 3) {
+			throw new InvalidInputException("minMatchingFields must be 2 or 3");
+		}
+		if (limit < 1 || limit > MAX_CLUSTERS) {
+			throw new InvalidInputException("limit must be between 1 and " + MAX_CLUSTERS);
+		}
+		long start = System.currentTimeMillis();
+		List<Employee> employees = employeeSnapshotStore.current().getEmployees();
+		FuzzyDuplicateFinder.Result result = new FuzzyDuplicateFinder(maxNameDistance, minMatchingFields)
+				.find(employees);
+		long duplicateRows = 0;
+		List<DuplicateClusterDto> topClusters = new ArrayList<>();
+		for (int[] cluster : result.getClusters()) {
+			duplicateRows += cluster.length;
+			if (topClusters.size() < limit) {
+				List<EmployeeDto> members = new ArrayList<>(cluster.length);
+				for (int row : cluster) {
+					members.add(EmployeeMapper.INSTANCE.employeeToEmployeeDto(employees.get(row)));
+				}
+				topClusters.add(new DuplicateClusterDto(cluster.length, members));
+			}
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		logger.info("fuzzy duplicate scan of " + employees.size() + " employees found " + result.getClusters().size()
+				+ " clusters in " + elapsed + " ms");
+		return new FuzzyDuplicateReportDto(employees.size(), result.getCandidatePairs(), result.getMatchedPairs(),
+				result.getClusters().size(), duplicateRows, elapsed, topClusters);
+	}
+
+	@Override
+	public ExactDuplicateReportDto findExactDuplicates(String columns, int limit) {
+		List<KeyColumn> keyColumns = KeyColumn.parse(columns);
+		if (limit < 1 || limit > MAX_CLUSTERS) {
+			throw new InvalidInputException("limit must be between 1 and " + MAX_CLUSTERS);
+		}
+		long start = System.currentTimeMillis();
+		ExactDuplicateFinder.Result result;
+		try {
+			Path parent = Paths.get(spillDirectory);
+			Files.createDirectories(parent);
+			// one directory per scan, so concurrent scans never share spill files; the
+			// finder creates it only when it spills and removes it again on close
+			Path scanDirectory = parent.resolve("scan-" + UUID.randomUUID());
+			try (ExactDuplicateFinder finder = new ExactDuplicateFinder(keyColumns, memoryBudgetBytes, scanDirectory)) {
+				employeeService.streamAllEmployeeDetails(employees -> employees.forEach(finder::add));
+				result = finder.finish(limit);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		List<String> names = keyColumns.stream().map(KeyColumn::getFieldName).collect(Collectors.toList());
+		List<ExactDuplicateGroupDto> groups = new ArrayList<>();
+		for (ExactDuplicateFinder.Group group : result.getGroups()) {
+			Map<String, Object> key = new LinkedHashMap<>();
+			for (int i = 0; i < names.size(); i++) {
+				key.put(names.get(i), group.getValues()[i]);
+			}
+			groups.add(new ExactDuplicateGroupDto(key, group.getCount(),
+					Arrays.stream(group.getSampleIds()).boxed().collect(Collectors.toList())));
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		logger.info("exact duplicate scan on " + names + " read " + result.getRows() + " rows, found "
+				+ result.getDuplicateKeys() + " duplicated keys, spilled " + result.getSpilledBytes() + " bytes in "
+				+ elapsed + " ms");
+		return new ExactDuplicateReportDto(names, result.getRows(), result.getDistinctKeys(),
+				result.getDuplicateKeys(), result.getDuplicateRows(), result.getSpillFiles(), result.getSpilledBytes(),
+				elapsed, groups);
+	}
+}
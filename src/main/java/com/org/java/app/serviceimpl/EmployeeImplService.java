@@ -1,60 +1,332 @@
 package com.org.java.app.serviceimpl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.org.java.app.configuration.ResultCacheConfig;
+import com.org.java.app.dto.BulkDeleteResultDto;
+import com.org.java.app.dto.BulkSaveResultDto;
+import com.org.java.app.dto.BulkUpdateResultDto;
+import com.org.java.app.dto.DepartmentSummaryDto;
 import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.EmployeePatchDto;
+import com.org.java.app.dto.HistogramBucketDto;
+import com.org.java.app.dto.SalaryAggregateDto;
+import com.org.java.app.dto.SalaryHistogramDto;
+import com.org.java.app.dto.SalaryRevisionDto;
+import com.org.java.app.dto.TextAnalysisDto;
 import com.org.java.app.entity.Employee;
+import com.org.java.app.events.EmployeeEvent;
+import com.org.java.app.exception.InvalidInputException;
 import com.org.java.app.exception.NoDataAvailableException;
 import com.org.java.app.mapper.EmployeeMapper;
 import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.service.DepartmentSummaryService;
 import com.org.java.app.service.EmployeeService;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.CharacterAnalytics;
+import com.org.java.app.util.EmployeeFields;
+import com.org.java.app.util.HistogramBuckets;
+import com.org.java.app.util.TopKSelector;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Component
 public class EmployeeImplService implements EmployeeService {
 
+	Logger logger = LoggerFactory.getLogger(EmployeeImplService.class);
+
+	private static final int MAX_PAGE_SIZE = 1000;
+	// ids per DELETE statement (and transaction) of the bulk deletes
+	private static final int DELETE_CHUNK_SIZE = 1000;
+	// width of the empId range touched by one UPDATE (and transaction) of reviseSalaries
+	private static final int UPDATE_CHUNK_IDS = 5000;
+	// rows committed per transaction by saveAllEmployeeDetails
+	private static final int BULK_TRANSACTION_ROWS = 10_000;
+	// keeps a salaryHistogram response in the kilobytes even with a tiny width
+	private static final int MAX_HISTOGRAM_BUCKETS = 1000;
+
 	@Autowired
 	private EmployeeRepository employeeRepository;
 
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Autowired
+	private DepartmentSummaryService departmentSummaryService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	// flush/clear interval of the bulk insert; matches the JDBC batch size
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+	private int jdbcBatchSize;
+
 	@Override
+	@Transactional
 	public Employee saveEmployeeDetails(EmployeeDto employeeDto) {
 		Employee emp = EmployeeMapper.INSTANCE.employeeDtoToEmployee(employeeDto);
-		return employeeRepository.save(emp);
+		emp.setEmpId(0); // always a new row; changing an existing one goes through /update with its version
+		Employee saved = employeeRepository.save(emp);
+		publish(EmployeeEvent.ChangeType.CREATED, Collections.emptyList(), Collections.singletonList(saved));
+		return saved;
+	}
+
+	@Override
+	public BulkSaveResultDto saveAllEmployeeDetails(Iterator<EmployeeDto> employees) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		long start = System.nanoTime();
+		long rows = 0;
+		List<Employee> chunk = new ArrayList<>(BULK_TRANSACTION_ROWS);
+		while (true) {
+			chunk.clear();
+			while (chunk.size() < BULK_TRANSACTION_ROWS) {
+				EmployeeDto employeeDto;
+				try {
+					if (!employees.hasNext()) {
+						break;
+					}
+					employeeDto = employees.next();
+				} catch (RuntimeException ex) {
+					// malformed input surfaces while iterating
+					throw new InvalidInputException("employee record #" + (rows + chunk.size() + 1)
+							+ " could not be read, the first " + rows + " rows were saved: " + ex.getMessage());
+				}
+				Employee emp = EmployeeMapper.INSTANCE.employeeDtoToEmployee(employeeDto);
+				emp.setEmpId(0); // always a new row, the id comes from employee_seq
+				chunk.add(emp);
+			}
+			if (chunk.isEmpty()) {
+				break;
+			}
+			transaction.executeWithoutResult(status -> {
+				for (int i = 0; i < chunk.size(); i++) {
+					entityManager.persist(chunk.get(i));
+					// send the pending batch and drop the managed rows so the context stays small
+					if ((i + 1) % jdbcBatchSize == 0) {
+						entityManager.flush();
+						entityManager.clear();
+					}
+				}
+				entityManager.flush();
+				entityManager.clear();
+				// inside the transaction so listeners like DepartmentSummaryUpdater commit with the rows
+				publish(EmployeeEvent.ChangeType.CREATED, Collections.emptyList(), new ArrayList<>(chunk));
+			});
+			rows += chunk.size();
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		double rowsPerSecond = millis == 0 ? rows : rows * 1000.0 / millis;
+		logger.info("bulk insert of " + rows + " employees took " + millis + " ms (" + (long) rowsPerSecond
+				+ " rows/s)");
+		return new BulkSaveResultDto(rows, millis, rowsPerSecond);
 	}
 
 	@Override
+	@Transactional
 	public Employee updateEmployeeDetails(Employee employee) {
-		return employeeRepository.save(employee);
+		if (employee.getVersion() == null) {
+			throw new InvalidInputException("version is required, read employee " + employee.getEmpId()
+					+ " first and send the version it returned");
+		}
+		Employee existing = employeeRepository.findById(employee.getEmpId())
+				.orElseThrow(() -> new NoDataAvailableException("No data prasent given id::" + employee.getEmpId()));
+		if (!employee.getVersion().equals(existing.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getEmpId());
+		}
+		// copied before save() merges the body into the managed row
+		Employee previous = EmployeeSnapshotStore.copyOf(existing);
+		Employee updated = employeeRepository.save(employee);
+		publish(EmployeeEvent.ChangeType.UPDATED, Collections.singletonList(previous), Collections.singletonList(updated));
+		return updated;
 	}
 
 	@Override
+	@Transactional
+	public Employee patchEmployeeDetails(int empId, EmployeePatchDto patch) {
+		if (patch.getVersion() == null) {
+			throw new InvalidInputException("version is required, read employee " + empId
+					+ " first and send the version it returned");
+		}
+		Employee employee = employeeRepository.findById(empId)
+				.orElseThrow(() -> new NoDataAvailableException("No data prasent given id::" + empId));
+		if (!patch.getVersion().equals(employee.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(Employee.class, empId);
+		}
+		Employee previous = EmployeeSnapshotStore.copyOf(employee);
+		EmployeeMapper.INSTANCE.updateEmployeeFromPatch(patch, employee);
+		// flush now so a concurrent change fails here; @DynamicUpdate writes only the changed columns
+		Employee patched = employeeRepository.saveAndFlush(employee);
+		publish(EmployeeEvent.ChangeType.UPDATED, Collections.singletonList(previous), Collections.singletonList(patched));
+		return patched;
+	}
+
+	@Override
+	public BulkUpdateResultDto reviseSalaries(SalaryRevisionDto revision) {
+		if ((revision.getPercent() == null) == (revision.getAmount() == null)) {
+			throw new InvalidInputException("give either percent or amount");
+		}
+		if (revision.getPercent() != null && revision.getPercent() <= -100) {
+			throw new InvalidInputException("percent must be greater than -100");
+		}
+		if (revision.getMinSalary() != null && revision.getMaxSalary() != null
+				&& revision.getMinSalary() > revision.getMaxSalary()) {
+			throw new InvalidInputException("minSalary must not be greater than maxSalary");
+		}
+		double factor = revision.getPercent() == null ? 1.0 : 1.0 + revision.getPercent() / 100.0;
+		double amount = revision.getAmount() == null ? 0.0 : revision.getAmount();
+		String deptName = blankToNull(revision.getDeptName());
+		String designation = blankToNull(revision.getDesignation());
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		long start = System.nanoTime();
+		long updated = 0;
+		int chunks = 0;
+		Integer minEmpId = employeeRepository.findMinEmpId();
+		Integer maxEmpId = employeeRepository.findMaxEmpId();
+		if (minEmpId != null) {
+			// each UPDATE locks at most one primary key range, so other writers wait briefly
+			for (long from = minEmpId; from <= maxEmpId; from += UPDATE_CHUNK_IDS) {
+				int fromEmpId = (int) from;
+				int toEmpId = (int) Math.min(from + UPDATE_CHUNK_IDS, (long) maxEmpId + 1);
+				Integer changed = transaction.execute(status -> {
+					// only the rows whose salary changes, locked and read as they are before the UPDATE
+					List<Employee> previous = employeeRepository.findRevisedRowsForUpdate(factor, amount, fromEmpId,
+							toEmpId, deptName, designation, revision.getMinSalary(), revision.getMaxSalary());
+					if (previous.isEmpty()) {
+						return 0;
+					}
+					int rows = employeeRepository.reviseSalaries(factor, amount, fromEmpId, toEmpId, deptName,
+							designation, revision.getMinSalary(), revision.getMaxSalary());
+					List<Employee> current = employeeRepository.findByEmpIds(
+							previous.stream().map(Employee::getEmpId).collect(Collectors.toList()));
+					publish(EmployeeEvent.ChangeType.UPDATED, previous, current);
+					return rows;
+				});
+				chunks++;
+				updated += changed == null ? 0 : changed;
+			}
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		logger.info("salary revision " + revision + " updated " + updated + " rows in " + chunks + " chunks, " + millis
+				+ " ms");
+		return new BulkUpdateResultDto(updated, chunks, millis);
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value;
+	}
+
+	@Override
+	@Transactional
 	public Employee deleteEmployeeDetails(Employee employee) {
-		// TODO Auto-generated method stub
-		List<Employee> list = employeeRepository.findAll();
-		List<Integer> empIds = list.stream().map(s1 -> s1.getEmpId()).collect(Collectors.toList());
-		if (!empIds.contains(employee.getEmpId())) {
-			throw new NoDataAvailableException("No Data available"+empIds);
+		// only the id of the body counts: deleting the loaded row uses its current version, not the client's
+		Employee existing = employeeRepository.findById(employee.getEmpId())
+				.orElseThrow(() -> new NoDataAvailableException("No Data available given id::" + employee.getEmpId()));
+		employeeRepository.delete(existing);
+		publish(EmployeeEvent.ChangeType.DELETED, Collections.singletonList(existing), Collections.emptyList());
+		return existing;
+	}
+
+	@Override
+	public BulkDeleteResultDto deleteEmployeesByIds(List<Integer> empIds) {
+		if (empIds == null || empIds.isEmpty()) {
+			throw new InvalidInputException("at least one empId is required");
 		}
-		employeeRepository.delete(employee);
-		return employee;
+		long start = System.nanoTime();
+		List<Integer> ids = empIds.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+		long deleted = 0;
+		int chunks = 0;
+		for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+			List<Integer> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+			deleted += deleteChunk(chunk);
+			chunks++;
+		}
+		return new BulkDeleteResultDto(ids.size(), deleted, chunks,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@Override
+	public BulkDeleteResultDto deleteEmployeesByDeptName(String deptName) {
+		if (deptName == null || deptName.isBlank()) {
+			throw new InvalidInputException("deptName is required");
+		}
+		long start = System.nanoTime();
+		long requested = 0;
+		long deleted = 0;
+		int chunks = 0;
+		int afterEmpId = Integer.MIN_VALUE;
+		List<Integer> chunk;
+		// walk the department by empId so every page is an index range, not an offset
+		while (!(chunk = employeeRepository.findEmpIdsByDeptName(deptName, afterEmpId,
+				PageRequest.of(0, DELETE_CHUNK_SIZE))).isEmpty()) {
+			requested += chunk.size();
+			deleted += deleteChunk(chunk);
+			chunks++;
+			afterEmpId = chunk.get(chunk.size() - 1);
+		}
+		return new BulkDeleteResultDto(requested, deleted, chunks,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private int deleteChunk(List<Integer> empIds) {
+		Integer deleted = new TransactionTemplate(transactionManager).execute(status -> {
+			List<Employee> previous = employeeRepository.findByEmpIdsForUpdate(empIds);
+			int rows = employeeRepository.deleteByEmpIds(empIds);
+			publish(EmployeeEvent.ChangeType.DELETED, previous, Collections.emptyList());
+			return rows;
+		});
+		return deleted == null ? 0 : deleted;
+	}
+
+	/**
+	 * Tells listeners such as EmployeeSnapshotUpdater and ResultCacheInvalidator
+	 * which rows changed. previous must hold the rows as this transaction found
+	 * them in the database, never rows from the snapshot, which only catches up
+	 * after the commit.
+	 */
+	private void publish(EmployeeEvent.ChangeType changeType, List<Employee> previous, List<Employee> current) {
+		applicationEventPublisher.publishEvent(new EmployeeEvent(this, changeType, previous, current));
 	}
 
-	
 	@Override
 	public Employee findByIdEmployeeDetails(int empId) {
 		Employee findIds = employeeRepository.findByEmpId(empId)
@@ -63,10 +335,26 @@ public class EmployeeImplService implements EmployeeService {
 	}
 	
 
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAllEmployeeDetails(Consumer<Stream<Employee>> consumer) {
+		try (Stream<Employee> employees = employeeRepository.streamAllBy()) {
+			// detach each row so the persistence context does not grow with the table
+			consumer.accept(employees.peek(entityManager::detach));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamEmployeeDetailsByDeptName(String deptName, Consumer<Stream<Employee>> consumer) {
+		try (Stream<Employee> employees = employeeRepository.streamByDeptName(deptName)) {
+			consumer.accept(employees.peek(entityManager::detach));
+		}
+	}
+
 	@Override
 	public List<EmployeeDto> findAllEmployeeDetails() {
-		List<Employee> list = employeeRepository.findAll();
-		System.out.println(list);
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		return list.stream().map((user) -> EmployeeMapper.INSTANCE.employeeToEmployeeDto(user))
 				.collect(Collectors.toList());
 	}
@@ -88,7 +376,7 @@ public class EmployeeImplService implements EmployeeService {
 	
 	@Override
 	public List<Employee> findByEmployeeSalaryAscDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		if (list.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + list);
 		}
@@ -105,7 +393,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public List<Employee> findByEmployeeSalaryDscDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		if (list.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + list);
 		}
@@ -123,7 +411,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public List<Employee> findByEmployeeIdEvenDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Employee> evenIds = list.stream().filter(s1 -> s1.getEmpId() % 2 == 0).collect(Collectors.toList());
 		if (evenIds.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + list);
@@ -133,7 +421,7 @@ public class EmployeeImplService implements EmployeeService {
 	
 	@Override
 	public List<Employee> findByEmployeeIdOddDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Employee> oddIds = list.stream().filter(s1 -> s1.getEmpId() % 2 != 0).collect(Collectors.toList());
 		if (oddIds.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + oddIds);
@@ -142,42 +430,120 @@ public class EmployeeImplService implements EmployeeService {
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.MAX_SALARY, sync = true)
 	public Employee findByMaxSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		Employee maxSalary11 = list.stream()
-				.max((s1, s2) -> s1.getSalary() < s2.getSalary() ? -1 : s1.getSalary() < s2.getSalary() ? 1 : 0).get();
-		Employee maxSalaryEmployee = list.stream().max(Comparator.comparingDouble(s1 -> s1.getSalary())).get();
-		return maxSalaryEmployee;
-		// return maxSalary;
+		return employeeRepository.findFirstByOrderBySalaryDesc()
+				.orElseThrow(() -> new NoDataAvailableException("No Data available for max salary"));
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.MIN_SALARY, sync = true)
 	public Employee findByMinSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		// Employee
-		// minSalary=list.stream().min((s1,s2)->s2.getSalary()>s1.getSalary()?-1:s1.getSalary()>s2.getSalary()?1:0).get();
-		Employee minSalaryEmployee = list.stream().min(Comparator.comparingDouble(s1 -> s1.getSalary())).get();
-		return minSalaryEmployee;
-		// return minSalary;
+		return employeeRepository.findFirstByOrderBySalaryAsc()
+				.orElseThrow(() -> new NoDataAvailableException("No Data available for min salary"));
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.SUM_SALARY, sync = true)
 	public double findBySumSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		double sumSalary = list.stream().mapToDouble(s1 -> s1.getSalary()).summaryStatistics().getSum();
-		return sumSalary;
+		Double sumSalary = employeeRepository.findSumSalary();
+		return sumSalary == null ? 0 : sumSalary;
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.COUNT_SALARY, sync = true)
 	public double findByCountSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		double countSalary = list.stream().mapToDouble(s1 -> s1.getSalary()).summaryStatistics().getCount();
-		return countSalary;
+		return employeeRepository.count();
+	}
+
+	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.SALARY_AGGREGATES, sync = true)
+	public List<SalaryAggregateDto> findSalaryAggregatesDeatails(String groupBy) {
+		if (groupBy == null || groupBy.isBlank()) {
+			return Collections.singletonList(employeeRepository.findSalaryAggregate());
+		}
+		return switch (groupBy) {
+		case "deptName" -> departmentSummaryService.findDepartmentSummaries().stream()
+				.map(d -> new SalaryAggregateDto(d.getDeptName(), d.getHeadcount(), d.getSalarySum(), d.getSalaryMin(),
+						d.getSalaryMax(), d.getSalaryAvg()))
+				.collect(Collectors.toList());
+		case "departmentId" -> employeeRepository.findSalaryAggregatesByDepartmentId();
+		case "designation" -> employeeRepository.findSalaryAggregatesByDesignation();
+		case "sector" -> employeeRepository.findSalaryAggregatesBySector();
+		default -> throw new InvalidInputException(
+				"groupBy must be one of deptName, departmentId, designation, sector but was::" + groupBy);
+		};
+	}
+
+	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.SALARY_HISTOGRAM, sync = true)
+	public List<SalaryHistogramDto> findSalaryHistogramDeatails(Double width, String boundaries, boolean byDepartment) {
+		if ((width == null) == (boundaries == null || boundaries.isBlank())) {
+			throw new InvalidInputException("exactly one of width and boundaries is required");
+		}
+		List<Employee> employees = employeeSnapshotStore.current().getEmployees();
+		HistogramBuckets buckets;
+		if (width != null) {
+			double min = employees.stream().mapToDouble(Employee::getSalary).min().orElse(0);
+			double max = employees.stream().mapToDouble(Employee::getSalary).max().orElse(0);
+			buckets = HistogramBuckets.ofWidth(width, min, max, MAX_HISTOGRAM_BUCKETS);
+		} else {
+			buckets = HistogramBuckets.ofBoundaries(parseBoundaries(boundaries));
+		}
+		// one row of counters per department (or a single row), departments in name order with null last
+		List<String> groups = new ArrayList<>();
+		if (byDepartment) {
+			employees.stream().map(Employee::getDeptName).distinct()
+					.sorted(Comparator.nullsLast(Comparator.naturalOrder())).forEach(groups::add);
+		} else {
+			groups.add(null);
+		}
+		Map<String, Integer> groupIndex = new HashMap<>();
+		for (int g = 0; g < groups.size(); g++) {
+			groupIndex.put(groups.get(g), g);
+		}
+		long[][] counts = new long[groups.size()][buckets.size()];
+		double[][] sums = new double[groups.size()][buckets.size()];
+		for (Employee employee : employees) {
+			int g = byDepartment ? groupIndex.get(employee.getDeptName()) : 0;
+			int bucket = buckets.bucketOf(employee.getSalary());
+			counts[g][bucket]++;
+			sums[g][bucket] += employee.getSalary();
+		}
+		List<SalaryHistogramDto> histograms = new ArrayList<>(groups.size());
+		for (int g = 0; g < groups.size(); g++) {
+			List<HistogramBucketDto> bucketDtos = new ArrayList<>();
+			long count = 0;
+			double sum = 0;
+			for (int bucket = 0; bucket < buckets.size(); bucket++) {
+				if (counts[g][bucket] > 0) {
+					bucketDtos.add(new HistogramBucketDto(buckets.lower(bucket), buckets.upper(bucket),
+							counts[g][bucket], sums[g][bucket]));
+					count += counts[g][bucket];
+					sum += sums[g][bucket];
+				}
+			}
+			histograms.add(new SalaryHistogramDto(groups.get(g), count, sum, bucketDtos));
+		}
+		return histograms;
+	}
+
+	private static double[] parseBoundaries(String boundaries) {
+		String[] parts = boundaries.split(",");
+		double[] values = new double[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			try {
+				values[i] = Double.parseDouble(parts[i].trim());
+			} catch (NumberFormatException e) {
+				throw new InvalidInputException("boundaries must be comma separated numbers but were::" + boundaries);
+			}
+		}
+		return values;
 	}
 
 	@Override
 	public List<Employee> findParticularRecordsDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Employee> records = list.stream().skip(2).limit(5).collect(Collectors.toList());
 		if (records.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + records);
@@ -187,7 +553,7 @@ public class EmployeeImplService implements EmployeeService {
 	@Override
 	public Set<Employee> printDublicateRecordsDeatails() {
 		Set<Double> set = new HashSet<Double>();
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Set<Employee> dublicates = list.stream().filter(s1 -> !set.add(s1.getSalary())).collect(Collectors.toSet());
 		if (dublicates.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + dublicates);
@@ -197,7 +563,7 @@ public class EmployeeImplService implements EmployeeService {
 	@Override
 	public Set<Employee> printWithoutDublicateRecordsDeatails() {
 		Set<Double> set = new HashSet<Double>();
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Set<Employee> withoutdublicates = list.stream().filter(s1 -> set.add(s1.getSalary()))
 				.collect(Collectors.toSet());
 		if (withoutdublicates.isEmpty()) {
@@ -208,28 +574,25 @@ public class EmployeeImplService implements EmployeeService {
 	
 	@Override
 	public List<Employee> findParticularRecordsAscsDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		if (list.isEmpty()) {
 			throw new NoDataAvailableException("No Data available" + list);
 		}
-		List<Employee> ascrecords = list.stream()
-				.sorted((s1, s2) -> s1.getSalary() < s2.getSalary() ? -1 : s2.getSalary() < s1.getSalary() ? 1 : 0)
-				.skip(1).limit(4).collect(Collectors.toList());
+		List<Employee> ascrecords = list.stream().collect(TopKSelector.lowest(Employee::getSalary, 1, 4));
 		return ascrecords;
 	}
 
 	@Override
 	public List<Employee> findParticularRecordsDscDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		List<Employee> dscrecords = list.stream()
-				.sorted((s1, s2) -> s2.getSalary() < s1.getSalary() ? -1 : s1.getSalary() < s2.getSalary() ? 1 : 0)
-				.skip(1).limit(4).collect(Collectors.toList());
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
+		List<Employee> dscrecords = list.stream().collect(TopKSelector.highest(Employee::getSalary, 1, 4));
 		return dscrecords;
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.MAP_NAMES, sync = true)
 	public List<String> mapNamesDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted(Comparator.reverseOrder())
 				.collect(Collectors.toList());
 		return names;
@@ -242,39 +605,15 @@ public class EmployeeImplService implements EmployeeService {
 	}
 
 	@Override
-	public Map<Character, Integer> findStringOccurenceDeatails() {
-		String str = null;
-		List<Employee> list = employeeRepository.findAll();
-		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted().collect(Collectors.toList());
-		System.out.println(names);
-		for (String string : names) {
-			if (string.equals("naveenkumar")) {
-				str = "naveenkumar";
-				break;
-			}
-		}
-		if (str == null) {
-			return new HashMap<>();
-		}
-		Map<String, Long> map = Arrays.stream(str.split(""))
-				.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-		System.out.println(map);
-		char[] ch = str.toCharArray();
-		Map<Character, Integer> map1 = new HashMap<Character, Integer>();
-		for (Character char1 : ch) {
-			if (map1.containsKey(char1)) {
-				map1.put(char1, map1.get(char1) + 1);
-			} else {
-				map1.put(char1, +1);
-			}
-		}
-		System.out.println(map);
-		return map1;
+	public Map<String, Integer> findStringOccurenceDeatails(String empName) {
+		CharacterAnalytics analytics = analyzeEmpName(empName);
+		return analytics == null ? new HashMap<>() : analytics.frequencies();
 	}
 	
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.GROUP_BY_SALARY, sync = true)
 	public Map<Object, List<Employee>> groupBySalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Map<Object, List<Employee>> groupSalaries = list.stream()
 				.collect(Collectors.groupingBy(s1 -> s1.getSalary(), TreeMap::new, Collectors.toList()));
 		return groupSalaries;
@@ -282,7 +621,7 @@ public class EmployeeImplService implements EmployeeService {
 	
 	@Override
 	public Map<Object, List<Employee>> groupByNamesDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Map<Object, List<Employee>> groupNames = list.stream()
 				.collect(Collectors.groupingBy(s1 -> s1.getEmpName(), TreeMap::new, Collectors.toList()));
 		return groupNames;
@@ -306,93 +645,50 @@ public class EmployeeImplService implements EmployeeService {
 	}
 
 	@Override
-	public String firstnonRepeactedCharacterInStringDeatails() {
-		String str = null;
-		List<Employee> list = employeeRepository.findAll();
-		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted().collect(Collectors.toList());
-		for (String string : names) {
-			if (string.equals("suresh")) {
-				str = "suresh";
-				break;
-			}
-
-		}
-		if (str == null) {
-			return null;
-		}
-		String firstnonRepeated = Arrays.stream(str.split(""))
-				.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()))
-				.entrySet().stream().filter(s1 -> s1.getValue() == 1).findFirst().get().getKey();
-		return firstnonRepeated;
+	public String firstnonRepeactedCharacterInStringDeatails(String empName) {
+		CharacterAnalytics analytics = analyzeEmpName(empName);
+		return analytics == null ? null : analytics.firstUnique();
 	}
 
 	@Override
-	public String firstRepeactedCharacterInStringDeatails() {
-		String str = null;
-		List<Employee> list = employeeRepository.findAll();
-		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted().collect(Collectors.toList());
-		for (String string : names) {
-			if (string.equals("suresh")) {
-				str = "suresh";
-				break;
-			}
-		}
-		if (str == null) {
-			return null;
-		}
-		String firstRepeatedCharcater = Arrays.stream(str.split(""))
-				.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()))
-				.entrySet().stream().filter(s1 -> s1.getValue() > 1).findFirst().get().getKey();
-		return firstRepeatedCharcater;
+	public String firstRepeactedCharacterInStringDeatails(String empName) {
+		CharacterAnalytics analytics = analyzeEmpName(empName);
+		return analytics == null ? null : analytics.firstRepeated();
 	}
 
 	@Override
-	public List<String> printDublicatesInStringDeatails() {
-		String str = null;
-		List<Employee> list = employeeRepository.findAll();
-		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted().collect(Collectors.toList());
-		for (String string : names) {
-			if (string.equals("suresh")) {
-				str = "suresh";
-				break;
-			}
+	public List<String> printDublicatesInStringDeatails(String empName) {
+		CharacterAnalytics analytics = analyzeEmpName(empName);
+		return analytics == null ? Collections.emptyList() : analytics.duplicates();
+	}
 
-		}
-		if (str == null) {
-			return Collections.emptyList();
-		}
-		List<String> dublicates = Arrays.stream(str.split(""))
-				.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()))
-				.entrySet().stream().filter(s1 -> s1.getValue() > 1).map(Map.Entry::getKey)
-				.collect(Collectors.toList());
-		return dublicates;
+	@Override
+	public List<String> uniquerecordsInStringDeatails(String empName) {
+		CharacterAnalytics analytics = analyzeEmpName(empName);
+		return analytics == null ? Collections.emptyList() : analytics.uniques();
 	}
 
 	@Override
-	public List<String> uniquerecordsInStringDeatails() {
-		String str = null;
-		List<Employee> list = employeeRepository.findAll();
-		List<String> names = list.stream().map(s1 -> s1.getEmpName()).sorted().collect(Collectors.toList());
-		for (String string : names) {
-			if (string.equals("suresh")) {
-				str = "suresh";
-				break;
-			}
+	public TextAnalysisDto analyzeEmployeeTextDeatails(int empId, String field) {
+		Function<Employee, String> accessor = EmployeeFields.textField(field);
+		Employee employee = employeeRepository.findByEmpId(empId)
+				.orElseThrow(() -> new NoDataAvailableException("No data prasent given id::" + empId));
+		CharacterAnalytics analytics = CharacterAnalytics.of(accessor.apply(employee));
+		return new TextAnalysisDto(empId, field, analytics.getText(), analytics.getLength(), analytics.frequencies(),
+				analytics.firstUnique(), analytics.firstRepeated(), analytics.duplicates(), analytics.uniques());
+	}
 
+	/** Analytics of the name if an employee has it, else null; checks one indexed row only. */
+	private CharacterAnalytics analyzeEmpName(String empName) {
+		if (empName == null || empName.isEmpty() || !employeeRepository.existsByEmpName(empName)) {
+			return null;
 		}
-		if (str == null) {
-			return Collections.emptyList();
-		}
-		List<String> uniq = Arrays.stream(str.split(""))
-				.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()))
-				.entrySet().stream().filter(s1 -> s1.getValue() == 1).map(Map.Entry::getKey)
-				.collect(Collectors.toList());
-		return uniq;
+		return CharacterAnalytics.of(empName);
 	}
 
 	@Override
 	public String longestStringDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<String> stringnames = list.stream().map(s1 -> s1.getEmpName()).collect(Collectors.toList());
 		String longestString = stringnames.stream()
 				.reduce((word1, word2) -> word1.length() > word2.length() ? word1 : word2).get();
@@ -402,7 +698,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public String smallestStringDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<String> stringnames = list.stream().map(s1 -> s1.getEmpName()).collect(Collectors.toList());
 		String smallestString = stringnames.stream()
 				.reduce((word1, word2) -> word2.length() > word1.length() ? word1 : word2).get();
@@ -411,7 +707,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public List<String> filterDepartmentIdsDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Integer> deptIds = list.stream().map(s1 -> s1.getDepartmentId()).collect(Collectors.toList());
 		List<String> depts = deptIds.stream().map(s1 -> s1 + "").filter(s2 -> s2.startsWith("2"))
 				.collect(Collectors.toList());
@@ -428,44 +724,48 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public Employee secondHigestSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		Employee secondHigestSalary = list.stream().sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
-				.skip(1).findFirst().get();
-		return secondHigestSalary;
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
+		List<Employee> secondHigestSalary = list.stream().collect(TopKSelector.highest(Employee::getSalary, 1, 1));
+		if (secondHigestSalary.isEmpty()) {
+			throw new NoDataAvailableException("No Data available for second highest salary");
+		}
+		return secondHigestSalary.get(0);
 	}
 
 	@Override
 	public Employee secondListSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		Employee secondListSalary = list.stream().sorted(Comparator.comparingDouble(Employee::getSalary)).skip(1)
-				.findFirst().get();
-		return secondListSalary;
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
+		List<Employee> secondListSalary = list.stream().collect(TopKSelector.lowest(Employee::getSalary, 1, 1));
+		if (secondListSalary.isEmpty()) {
+			throw new NoDataAvailableException("No Data available for second lowest salary");
+		}
+		return secondListSalary.get(0);
 	}
 
 	@Override
 	public List<Employee> indexRangesDeatails(int fromIndex, int toIndex) {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Employee> ranges = list.subList(fromIndex, toIndex);
 		return ranges;
 	}
 
 	@Override
 	public String joiningNamesDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		String joinNames = list.stream().map(s1 -> s1.getEmpName()).collect(Collectors.joining(","));
 		return joinNames;
 	}
 
 	@Override
 	public Set<Employee> listToSetCoversion() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Set<Employee> set = list.stream().collect(Collectors.toSet());
 		return set;
 	}
 
 	@Override
 	public Map<Integer, Employee> listToMapCoversion() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Map<Integer, Employee> listToMapConversion = list.stream()
 				.collect(Collectors.toMap(Employee::getEmpId, Function.identity()));
 		return listToMapConversion;
@@ -473,7 +773,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public List<Employee> setToListConversion() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Set<Employee> set = list.stream().collect(Collectors.toSet());
 		List<Employee> setToList = set.stream().collect(Collectors.toList());
 		return setToList;
@@ -481,7 +781,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public Map<Integer, Employee> setToMapConversionDetails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Set<Employee> set = list.stream().collect(Collectors.toSet());
 		Map<Integer, Employee> setToMap = set.stream()
 				.collect(Collectors.toMap(Employee::getEmpId, Function.identity()));
@@ -490,7 +790,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public List<Entry<Integer, Employee>> mapToListConversionDetails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Map<Integer, Employee> listToMapConversion = list.stream()
 				.collect(Collectors.toMap(Employee::getEmpId, Function.identity()));
 		List<Entry<Integer, Employee>> mapToList = listToMapConversion.entrySet().stream().collect(Collectors.toList());
@@ -499,7 +799,7 @@ public class EmployeeImplService implements EmployeeService {
 
 	@Override
 	public Set<Entry<Integer, Employee>> mapToSetConversionDetails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		Map<Integer, Employee> listToMapConversion = list.stream()
 				.collect(Collectors.toMap(Employee::getEmpId, Function.identity()));
 		Set<Entry<Integer, Employee>> mapToSet = listToMapConversion.entrySet().stream().collect(Collectors.toSet());
@@ -538,36 +838,49 @@ public class EmployeeImplService implements EmployeeService {
 	}
 
 	@Override
-	public List<EmployeeDto> findByEmployeeBetweenSalaryDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		List<Employee> empList = list.stream().filter(s1 -> s1.getSalary() > 65000 & s1.getSalary() < 90000)
-				.collect(Collectors.toList());
-		List<EmployeeDto> empDtoList = empList.stream().map(s1 -> EmployeeMapper.INSTANCE.employeeToEmployeeDto(s1))
+	public List<EmployeeDto> findByEmployeeBetweenSalaryDeatails(double minSalary, double maxSalary, int size,
+			Double afterSalary, Integer afterEmpId) {
+		if (minSalary >= maxSalary) {
+			throw new InvalidInputException("minSalary must be lower than maxSalary");
+		}
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new InvalidInputException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		if ((afterSalary == null) != (afterEmpId == null)) {
+			throw new InvalidInputException("afterSalary and afterEmpId must be given together");
+		}
+		// without a cursor start just below the range: every row has salary > minSalary
+		double cursorSalary = afterSalary == null ? minSalary : afterSalary;
+		int cursorEmpId = afterEmpId == null ? Integer.MIN_VALUE : afterEmpId;
+		List<Employee> page = employeeRepository.findSalaryRangePage(minSalary, maxSalary, cursorSalary, cursorEmpId,
+				PageRequest.of(0, size));
+		List<EmployeeDto> empDtoList = page.stream().map(s1 -> EmployeeMapper.INSTANCE.employeeToEmployeeDto(s1))
 				.collect(Collectors.toList());
 		return empDtoList;
 	}
 
 	@Override
+	@Cacheable(cacheNames = ResultCacheConfig.GROUP_COUNT, sync = true)
 	public Map<String, Long> findBygroupCountDeatails() {
-		List<Employee> list = employeeRepository.findAll();
-		List<EmployeeDto> dtoList = list.stream().map(s1 -> EmployeeMapper.INSTANCE.employeeToEmployeeDto(s1))
-				.collect(Collectors.toList());
-		Map<String, Long> deptDeatils = dtoList.stream()
-				.collect(Collectors.groupingBy(EmployeeDto::getDeptName, Collectors.counting()));
+		// one summary row per department instead of mapping every employee
+		Map<String, Long> deptDeatils = new LinkedHashMap<>();
+		for (DepartmentSummaryDto summary : departmentSummaryService.findDepartmentSummaries()) {
+			deptDeatils.put(summary.getDeptName(), summary.getHeadcount());
+		}
 		return deptDeatils;
 
 	}
 
 	@Override
 	public List<Employee> findParticularRecordFileter() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<Employee> particularDetails = list.stream().filter(s1 -> s1.getEmpId() > 3).collect(Collectors.toList());
 		return particularDetails;
 	}
 
 	@Override
 	public List<String> mapNamesToUppercaseDeatails() {
-		List<Employee> list = employeeRepository.findAll();
+		List<Employee> list = employeeSnapshotStore.current().getEmployees();
 		List<String> Names = list.stream().map(s1 -> s1.getEmpName()).collect(Collectors.toList());
 		List<String> namesList = Names.stream().map(s1 -> s1.toUpperCase()).collect(Collectors.toList());
 		return namesList;
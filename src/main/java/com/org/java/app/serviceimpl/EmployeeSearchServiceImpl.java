@@ -0,0 +1,83 @@
+package com.org.java.app.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.NameCompletionDto;
+import com.org.java.app.dto.NameIndexStatsDto;
+import com.org.java.app.dto.SearchHitDto;
+import com.org.java.app.dto.SearchIndexStatsDto;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.mapper.EmployeeMapper;
+import com.org.java.app.search.EmployeeNameIndex;
+import com.org.java.app.search.EmployeeSearchIndex;
+import com.org.java.app.search.InvertedIndex;
+import com.org.java.app.search.PrefixIndex;
+import com.org.java.app.service.EmployeeSearchService;
+import com.org.java.app.snapshot.EmployeeSnapshot;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@Component
+public class EmployeeSearchServiceImpl implements EmployeeSearchService {
+
+	private static final int MAX_LIMIT = 100;
+
+	@Autowired
+	private EmployeeSearchIndex employeeSearchIndex;
+
+	@Autowired
+	private EmployeeNameIndex employeeNameIndex;
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Override
+	public List<SearchHitDto> searchEmployees(String query, int limit) {
+		if (query == null || query.isBlank()) {
+			throw new InvalidInputException("q is required");
+		}
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new InvalidInputException("limit must be between 1 and " + MAX_LIMIT);
+		}
+		EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+		List<SearchHitDto> hits = new ArrayList<>();
+		for (InvertedIndex.Hit hit : employeeSearchIndex.search(query, limit)) {
+			// the index is updated after commit, so a row may already be gone from the snapshot
+			snapshot.findById(hit.getId()).ifPresent(employee -> hits
+					.add(new SearchHitDto(hit.getScore(), EmployeeMapper.INSTANCE.employeeToEmployeeDto(employee))));
+		}
+		return hits;
+	}
+
+	@Override
+	public SearchIndexStatsDto findSearchIndexStatistics() {
+		InvertedIndex index = employeeSearchIndex.getIndex();
+		return new SearchIndexStatsDto(index.documents(), index.deletedDocuments(), index.terms(),
+				index.postingBytes(), index.skipBytes());
+	}
+
+	@Override
+	public List<NameCompletionDto> completeEmployeeNames(String prefix, int limit) {
+		if (prefix == null || prefix.isEmpty()) {
+			throw new InvalidInputException("prefix is required");
+		}
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new InvalidInputException("limit must be between 1 and " + MAX_LIMIT);
+		}
+		List<NameCompletionDto> completions = new ArrayList<>();
+		for (PrefixIndex.Completion completion : employeeNameIndex.complete(prefix, limit)) {
+			completions.add(new NameCompletionDto(completion.getName(), completion.getCount()));
+		}
+		return completions;
+	}
+
+	@Override
+	public NameIndexStatsDto findNameIndexStatistics() {
+		PrefixIndex index = employeeNameIndex.getIndex();
+		return new NameIndexStatsDto(index.names(), index.pendingChanges(), index.merges(), index.memoryBytes(),
+				index.encodedNameBytes());
+	}
+}
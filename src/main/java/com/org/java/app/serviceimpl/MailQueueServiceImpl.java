@@ -0,0 +1,292 @@
+package com.org.java.app.serviceimpl;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.EmailDeliveryDto;
+import com.org.java.app.dto.MailJobDto;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.exception.NoDataAvailableException;
+import com.org.java.app.service.EmployeeService;
+import com.org.java.app.service.MailQueueService;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.EmailSender;
+import com.org.java.app.util.PdfGenerator;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+
+/**
+ * Outbound mail queue for the employees report. Requests only enqueue a job;
+ * worker threads drain the queue in batches, render the report once per
+ * snapshot version for every recipient in the batch and hand the batch to
+ * {@link EmailSender#sendPdfToAll}, which uses one pooled SMTP connection.
+ * Failed messages are retried with exponential backoff.
+ */
+@Component
+public class MailQueueServiceImpl implements MailQueueService {
+
+	Logger logger = LoggerFactory.getLogger(MailQueueServiceImpl.class);
+
+	private static final String SUBJECT = "Employees Report";
+	private static final String BODY = "<p>Please find attached the latest employees report.</p>";
+	private static final String FILENAME = "employees.pdf";
+	private static final long JOB_RETENTION_MINUTES = 60;
+
+	@Autowired
+	private EmailSender emailSender;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Value("${mail.queue.workers:2}")
+	private int workers;
+
+	@Value("${mail.queue.capacity:1000}")
+	private int capacity;
+
+	@Value("${mail.queue.batch-size:50}")
+	private int batchSize;
+
+	@Value("${mail.queue.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${mail.queue.initial-backoff-ms:1000}")
+	private long initialBackoffMs;
+
+	@Value("${mail.queue.max-backoff-ms:60000}")
+	private long maxBackoffMs;
+
+	private BlockingQueue<MailJobDto> pending;
+	private ExecutorService workerPool;
+	private ScheduledExecutorService retryScheduler;
+	private final Map<String, MailJobDto> jobs = new ConcurrentHashMap<>();
+
+	// last rendered report; all batches of the same snapshot version share it
+	private long attachmentVersion = -1;
+	private byte[] attachment;
+
+	@PostConstruct
+	public void init() {
+		pending = new LinkedBlockingQueue<>(capacity);
+		workerPool = Executors.newFixedThreadPool(workers, daemonThreads("mail-worker-"));
+		retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("mail-retry-"));
+		for (int i = 0; i < workers; i++) {
+			workerPool.execute(this::drainLoop);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		retryScheduler.shutdownNow();
+		workerPool.shutdownNow();
+	}
+
+	@Override
+	public String queueReportEmail(List<String> recipients) {
+		if (recipients == null || recipients.isEmpty()) {
+			throw new InvalidInputException("at least one recipient is required");
+		}
+		for (String recipient : recipients) {
+			try {
+				new InternetAddress(recipient, true);
+			} catch (AddressException ex) {
+				throw new InvalidInputException("invalid email address::" + recipient);
+			}
+		}
+		evictExpiredJobs();
+
+		MailJobDto job = new MailJobDto();
+		job.setTrackingId(UUID.randomUUID().toString());
+		job.setRecipients(List.copyOf(recipients));
+		job.setSubject(SUBJECT);
+		job.setSubmittedAt(LocalDateTime.now());
+		job.setStatus(MailJobDto.Status.QUEUED);
+		jobs.put(job.getTrackingId(), job);
+		if (!pending.offer(job)) {
+			jobs.remove(job.getTrackingId());
+			throw new RejectedExecutionException("mail queue is full");
+		}
+		return job.getTrackingId();
+	}
+
+	@Override
+	public MailJobDto findMailJob(String trackingId) {
+		MailJobDto job = jobs.get(trackingId);
+		if (job == null) {
+			throw new NoDataAvailableException("No mail job present given tracking id::" + trackingId);
+		}
+		return job;
+	}
+
+	private void drainLoop() {
+		List<MailJobDto> batch = new ArrayList<>(batchSize);
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				batch.add(pending.take());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			pending.drainTo(batch, batchSize - 1);
+			try {
+				sendBatch(batch);
+			} catch (RuntimeException ex) {
+				logger.error("mail batch failed", ex);
+				batch.forEach(job -> retryOrFail(job, ex.getMessage()));
+			}
+			batch.clear();
+		}
+	}
+
+	private void sendBatch(List<MailJobDto> batch) {
+		for (MailJobDto job : batch) {
+			job.setStatus(MailJobDto.Status.SENDING);
+			job.setAttempts(job.getAttempts() + 1);
+		}
+		byte[] pdf = reportAttachment();
+
+		// one message per outstanding recipient; the batch shares one encoded attachment and connection
+		List<MailJobDto> owners = new ArrayList<>();
+		List<String> recipients = new ArrayList<>();
+		for (MailJobDto job : batch) {
+			for (String recipient : job.getRecipients()) {
+				if (!job.getDelivered().contains(recipient)) {
+					owners.add(job);
+					recipients.add(recipient);
+				}
+			}
+		}
+		List<EmailDeliveryDto> results;
+		try {
+			results = emailSender.sendPdfToAll(recipients, SUBJECT, BODY, pdf, FILENAME);
+		} catch (MessagingException ex) {
+			// the message itself could not be built, sending it again would not help
+			batch.forEach(job -> fail(job, ex.getMessage()));
+			return;
+		}
+
+		// DTO equality depends on mutable fields, so key the jobs by identity
+		Map<MailJobDto, String> errors = new IdentityHashMap<>();
+		long totalMicros = 0;
+		long maxMicros = 0;
+		for (int i = 0; i < results.size(); i++) {
+			EmailDeliveryDto result = results.get(i);
+			if (result.isSent()) {
+				owners.get(i).getDelivered().add(result.getRecipient());
+			} else {
+				errors.put(owners.get(i), result.getError());
+			}
+			totalMicros += result.getLatencyMicros();
+			maxMicros = Math.max(maxMicros, result.getLatencyMicros());
+		}
+		for (MailJobDto job : batch) {
+			if (errors.containsKey(job)) {
+				retryOrFail(job, errors.get(job));
+			} else {
+				markSent(job);
+			}
+		}
+		if (!results.isEmpty()) {
+			logger.info("mail batch of " + results.size() + " messages, " + errors.size() + " jobs to retry, avg "
+					+ totalMicros / results.size() + " us, max " + maxMicros + " us per message");
+		}
+	}
+
+	/** Renders the report once per snapshot version. */
+	private synchronized byte[] reportAttachment() {
+		long version = employeeSnapshotStore.current().getVersion();
+		if (attachment == null || attachmentVersion != version) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			PdfGenerator.writeEmployeesPdf(employeeService::streamAllEmployeeDetails, out);
+			attachment = out.toByteArray();
+			attachmentVersion = version;
+		}
+		return attachment;
+	}
+
+	private void markSent(MailJobDto job) {
+		job.setError(null);
+		job.setNextAttemptAt(null);
+		job.setFinishedAt(LocalDateTime.now());
+		job.setStatus(MailJobDto.Status.SENT);
+	}
+
+	private void fail(MailJobDto job, String error) {
+		logger.error("mail job " + job.getTrackingId() + " failed after " + job.getAttempts() + " attempts: " + error);
+		job.setError(error);
+		job.setNextAttemptAt(null);
+		job.setFinishedAt(LocalDateTime.now());
+		job.setStatus(MailJobDto.Status.FAILED);
+	}
+
+	private void retryOrFail(MailJobDto job, String error) {
+		if (job.getAttempts() >= maxAttempts) {
+			fail(job, error);
+			return;
+		}
+		// 1x, 2x, 4x ... the initial backoff, capped
+		long delay = Math.min(maxBackoffMs, initialBackoffMs << Math.min(job.getAttempts() - 1, 30));
+		logger.warn("mail job " + job.getTrackingId() + " attempt " + job.getAttempts() + " failed, retrying in "
+				+ delay + " ms: " + error);
+		job.setError(error);
+		job.setNextAttemptAt(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(delay)));
+		job.setStatus(MailJobDto.Status.RETRYING);
+		scheduleRetry(job, delay);
+	}
+
+	private void scheduleRetry(MailJobDto job, long delay) {
+		try {
+			retryScheduler.schedule(() -> {
+				if (!pending.offer(job)) {
+					// queue is full of new work, try again after the same delay
+					scheduleRetry(job, delay);
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException ex) {
+			// shutting down
+			fail(job, "mail queue is shutting down");
+		}
+	}
+
+	private void evictExpiredJobs() {
+		LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_RETENTION_MINUTES);
+		jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger threadCount = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
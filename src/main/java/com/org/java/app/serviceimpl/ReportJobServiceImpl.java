@@ -0,0 +1,276 @@
+package com.org.java.app.serviceimpl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.ReportJobDto;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.exception.NoDataAvailableException;
+import com.org.java.app.service.EmployeeService;
+import com.org.java.app.service.ReportJobService;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.ExcelGenerator;
+import com.org.java.app.util.PdfGenerator;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs PDF/Excel exports on a small bounded pool instead of the Tomcat request
+ * threads. Finished files are stored under {@code report.storage-dir} and keyed
+ * by format, department filter and the employee snapshot version, so asking
+ * again for unchanged data reuses the file without rendering it again. Files of
+ * older versions are deleted once the jobs that served them have expired.
+ */
+@Component
+public class ReportJobServiceImpl implements ReportJobService {
+
+	Logger logger = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+	private static final long JOB_RETENTION_MINUTES = 60;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Value("${report.storage-dir:${java.io.tmpdir}/employee-reports}")
+	private String storageDirectory;
+
+	@Value("${report.executor.threads:2}")
+	private int threads;
+
+	@Value("${report.executor.queue-capacity:10}")
+	private int queueCapacity;
+
+	private Path storageDir;
+	private ThreadPoolExecutor executor;
+	private final Map<String, ReportJobDto> jobs = new ConcurrentHashMap<>();
+	// artifact name -> job currently rendering it, so identical requests share one render
+	private final Map<String, ReportJobDto> inFlight = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() throws IOException {
+		storageDir = Paths.get(storageDirectory);
+		Files.createDirectories(storageDir);
+		// snapshot versions restart with the application, so files from an earlier run are stale
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDir, "employees-*")) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "report-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public ReportJobDto submitReportJob(String format, String deptName) {
+		String extension = extension(format);
+		String dept = deptName == null || deptName.isBlank() ? null : deptName;
+		long version = employeeSnapshotStore.current().getVersion();
+		String artifactName = artifactName(dept, version, extension);
+		evictExpiredJobs();
+
+		ReportJobDto job = new ReportJobDto();
+		job.setJobId(UUID.randomUUID().toString());
+		job.setFormat(format.toLowerCase());
+		job.setDeptName(dept);
+		job.setDataVersion(version);
+		job.setSubmittedAt(LocalDateTime.now());
+
+		job.setStatus(ReportJobDto.Status.QUEUED);
+		// registered first, so deleteUnusedArtifacts keeps the file from here on
+		jobs.put(job.getJobId(), job);
+		Path artifact = storageDir.resolve(artifactName);
+		if (Files.exists(artifact)) {
+			finish(job, artifact, true);
+			return job;
+		}
+		ReportJobDto running = inFlight.putIfAbsent(artifactName, job);
+		if (running != null) {
+			jobs.remove(job.getJobId());
+			return running;
+		}
+		try {
+			executor.execute(() -> render(job, artifactName));
+		} catch (RuntimeException ex) {
+			// queue full: nothing was started, let the caller retry later
+			inFlight.remove(artifactName);
+			jobs.remove(job.getJobId());
+			throw ex;
+		}
+		return job;
+	}
+
+	@Override
+	public ReportJobDto findReportJob(String jobId) {
+		ReportJobDto job = jobs.get(jobId);
+		if (job == null) {
+			throw new NoDataAvailableException("No report job present given id::" + jobId);
+		}
+		return job;
+	}
+
+	@Override
+	public Path findReportArtifact(String jobId) {
+		ReportJobDto job = findReportJob(jobId);
+		if (job.getStatus() != ReportJobDto.Status.DONE) {
+			throw new NoDataAvailableException("Report job " + jobId + " is " + job.getStatus());
+		}
+		Path artifact = artifactPath(job);
+		if (!Files.exists(artifact)) {
+			throw new NoDataAvailableException("Report file of job " + jobId + " is no longer available");
+		}
+		return artifact;
+	}
+
+	private void render(ReportJobDto job, String artifactName) {
+		job.setStatus(ReportJobDto.Status.RUNNING);
+		Path part = null;
+		try {
+			part = Files.createTempFile(storageDir, "part-", ".tmp");
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+				Consumer<Consumer<Stream<Employee>>> rows = job.getDeptName() == null
+						? employeeService::streamAllEmployeeDetails
+						: consumer -> employeeService.streamEmployeeDetailsByDeptName(job.getDeptName(), consumer);
+				if ("pdf".equals(job.getFormat())) {
+					PdfGenerator.writeEmployeesPdf(rows, out);
+				} else {
+					ExcelGenerator.writeEmployeesExcel(rows, out);
+				}
+			}
+			// only cache the file under the version if no write committed while it was rendered. The
+			// snapshot version moves after the commit (EmployeeSnapshotUpdater), so rows streamed under
+			// an unchanged version were committed at that version
+			boolean cacheable = employeeSnapshotStore.current().getVersion() == job.getDataVersion();
+			Path artifact = cacheable ? storageDir.resolve(artifactName) : storageDir.resolve("job-" + job.getJobId());
+			Files.move(part, artifact, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			finish(job, artifact, cacheable);
+		} catch (IOException | RuntimeException ex) {
+			logger.error("report job " + job.getJobId() + " failed", ex);
+			job.setError(ex.getMessage());
+			job.setFinishedAt(LocalDateTime.now());
+			job.setStatus(ReportJobDto.Status.FAILED);
+			deleteQuietly(part);
+		} finally {
+			inFlight.remove(artifactName);
+		}
+	}
+
+	private void finish(ReportJobDto job, Path artifact, boolean cached) {
+		try {
+			job.setSizeBytes(Files.size(artifact));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		job.setCached(cached);
+		job.setFinishedAt(LocalDateTime.now());
+		job.setStatus(ReportJobDto.Status.DONE);
+	}
+
+	private Path artifactPath(ReportJobDto job) {
+		return job.isCached()
+				? storageDir.resolve(artifactName(job.getDeptName(), job.getDataVersion(), extension(job.getFormat())))
+				: storageDir.resolve("job-" + job.getJobId());
+	}
+
+	private void evictExpiredJobs() {
+		LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_RETENTION_MINUTES);
+		jobs.values().removeIf(job -> {
+			boolean expired = job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+			if (expired && !job.isCached()) {
+				deleteQuietly(storageDir.resolve("job-" + job.getJobId()));
+			}
+			return expired;
+		});
+		deleteUnusedArtifacts();
+	}
+
+	/**
+	 * Deletes cached files of older versions once no retained job refers to
+	 * them: a job that was handed one may still be sending it to a client.
+	 */
+	private void deleteUnusedArtifacts() {
+		String current = "-v" + employeeSnapshotStore.current().getVersion() + ".";
+		Set<String> referenced = jobs.values().stream()
+				.map(job -> artifactName(job.getDeptName(), job.getDataVersion(), extension(job.getFormat())))
+				.collect(Collectors.toSet());
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDir, "employees-*")) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				if (!name.contains(current) && !referenced.contains(name)) {
+					deleteQuietly(file);
+				}
+			}
+		} catch (IOException ex) {
+			logger.warn("could not clean up old reports", ex);
+		}
+	}
+
+	private static String artifactName(String deptName, long version, String extension) {
+		// hex keeps arbitrary department names file-system safe and unambiguous
+		String filter = deptName == null ? "all"
+				: "dept-" + HexFormat.of().formatHex(deptName.getBytes(StandardCharsets.UTF_8));
+		return "employees-" + filter + "-v" + version + "." + extension;
+	}
+
+	private static String extension(String format) {
+		if ("pdf".equalsIgnoreCase(format)) {
+			return "pdf";
+		}
+		if ("excel".equalsIgnoreCase(format)) {
+			return "xlsx";
+		}
+		throw new InvalidInputException("format must be pdf or excel but was::" + format);
+	}
+
+	private void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ex) {
+			logger.warn("could not delete " + file, ex);
+		}
+	}
+}
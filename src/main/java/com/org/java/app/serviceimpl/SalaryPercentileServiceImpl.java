@@ -0,0 +1,63 @@
+package com.org.java.app.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.dto.SalaryPercentilesDto;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.exception.NoDataAvailableException;
+import com.org.java.app.service.SalaryPercentileService;
+import com.org.java.app.sketch.DepartmentSalarySketches;
+import com.org.java.app.sketch.KllSketch;
+
+@Component
+public class SalaryPercentileServiceImpl implements SalaryPercentileService {
+
+	private static final int MAX_QUANTILES = 20;
+
+	@Autowired
+	private DepartmentSalarySketches departmentSalarySketches;
+
+	@Override
+	public List<SalaryPercentilesDto> findSalaryPercentiles(List<String> deptNames, List<Double> quantiles,
+			boolean merge) {
+		if (quantiles == null || quantiles.isEmpty() || quantiles.size() > MAX_QUANTILES) {
+			throw new InvalidInputException("between 1 and " + MAX_QUANTILES + " quantiles are required");
+		}
+		for (Double q : quantiles) {
+			if (q == null || !(q >= 0 && q <= 1)) {
+				throw new InvalidInputException("quantiles must be between 0 and 1 but were::" + quantiles);
+			}
+		}
+		Map<String, KllSketch> sketches = departmentSalarySketches
+				.sketches(deptNames == null ? null : new HashSet<>(deptNames));
+		if (sketches.isEmpty()) {
+			throw new NoDataAvailableException("No Data available for departments " + deptNames);
+		}
+		List<SalaryPercentilesDto> results = new ArrayList<>();
+		if (merge) {
+			KllSketch merged = new KllSketch();
+			sketches.values().forEach(merged::merge);
+			results.add(percentiles(null, merged, quantiles));
+		} else {
+			sketches.forEach((deptName, sketch) -> results.add(percentiles(deptName, sketch, quantiles)));
+		}
+		return results;
+	}
+
+	private static SalaryPercentilesDto percentiles(String deptName, KllSketch sketch, List<Double> quantiles) {
+		Map<String, Double> values = new LinkedHashMap<>();
+		for (double q : quantiles) {
+			values.put(String.valueOf(q), sketch.quantile(q));
+		}
+		// a sketch may still hold salaries of rows that changed or left until its department is rebuilt
+		return new SalaryPercentilesDto(deptName, sketch.getN(), sketch.getMin(), sketch.getMax(), values,
+				KllSketch.DEFAULT_RANK_ERROR + DepartmentSalarySketches.MAX_STALE_FRACTION, sketch.getRetained());
+	}
+}
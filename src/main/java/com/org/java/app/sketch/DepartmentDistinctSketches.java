@@ -0,0 +1,104 @@
+package com.org.java.app.sketch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.EmployeeFields;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * One HyperLogLog per text field (see EmployeeFields) and deptName (null
+ * included), a few KB each. Built from the snapshot at startup and kept
+ * current by DistinctSketchUpdater: a new or changed row adds its values in
+ * O(1). HyperLogLog registers cannot forget a value, so the values of rows
+ * that changed or left are still counted until DepartmentSketches rebuilds
+ * the department in the background, once more than MAX_STALE_FRACTION of its
+ * rows are stale. Until then an estimate can be high by that share.
+ */
+@Component
+public class DepartmentDistinctSketches {
+
+	Logger logger = LoggerFactory.getLogger(DepartmentDistinctSketches.class);
+
+	public static final double MAX_STALE_FRACTION = DepartmentSketches.MAX_STALE_FRACTION;
+
+	private static final List<String> FIELDS = new ArrayList<>(EmployeeFields.textFieldNames());
+
+	private static final List<Function<Employee, String>> ACCESSORS = FIELDS.stream().map(EmployeeFields::textField)
+			.collect(Collectors.toList());
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	private final DepartmentSketches<HyperLogLog[]> sketches = new DepartmentSketches<>("distinct-sketches",
+			DepartmentDistinctSketches::newSketches, DepartmentDistinctSketches::add,
+			DepartmentDistinctSketches::sameValues, () -> employeeSnapshotStore.current());
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sketches.shutdown();
+	}
+
+	public void rebuild() {
+		sketches.rebuild();
+		logger.info("distinct sketches built for " + sketches.departments() + " departments");
+	}
+
+	/** See EmployeeEvent#snapshotVersion. */
+	public void update(List<Employee> previous, List<Employee> current, long snapshotVersion) {
+		sketches.update(previous, current, snapshotVersion);
+	}
+
+	/**
+	 * Copies of the given field's sketches for the given departments (all when
+	 * null), by deptName with null last; departments without employees are left
+	 * out. Throws InvalidInputException for an unknown field.
+	 */
+	public Map<String, HyperLogLog> sketches(String field, Set<String> deptNames) {
+		EmployeeFields.textField(field);
+		int index = FIELDS.indexOf(field);
+		return sketches.copies(deptNames, perField -> perField[index].copy());
+	}
+
+	private static HyperLogLog[] newSketches() {
+		HyperLogLog[] perField = new HyperLogLog[FIELDS.size()];
+		for (int i = 0; i < perField.length; i++) {
+			perField[i] = new HyperLogLog();
+		}
+		return perField;
+	}
+
+	private static void add(HyperLogLog[] perField, Employee employee) {
+		for (int i = 0; i < perField.length; i++) {
+			perField[i].add(ACCESSORS.get(i).apply(employee));
+		}
+	}
+
+	private static boolean sameValues(Employee a, Employee b) {
+		for (Function<Employee, String> accessor : ACCESSORS) {
+			if (!Objects.equals(accessor.apply(a), accessor.apply(b))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
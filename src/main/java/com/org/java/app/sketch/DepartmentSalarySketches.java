@@ -0,0 +1,66 @@
+package com.org.java.app.sketch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * One KllSketch of salaries per deptName (null included). Built from the
+ * snapshot at startup and kept current by SalarySketchUpdater. A sketch cannot
+ * forget a salary: until DepartmentSketches rebuilds a department in the
+ * background, up to MAX_STALE_FRACTION of its sketched salaries may belong to
+ * rows that changed or left.
+ */
+@Component
+public class DepartmentSalarySketches {
+
+	Logger logger = LoggerFactory.getLogger(DepartmentSalarySketches.class);
+
+	public static final double MAX_STALE_FRACTION = DepartmentSketches.MAX_STALE_FRACTION;
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	private final DepartmentSketches<KllSketch> sketches = new DepartmentSketches<>("salary-sketches",
+			KllSketch::new, (sketch, employee) -> sketch.update(employee.getSalary()),
+			(a, b) -> a.getSalary() == b.getSalary(), () -> employeeSnapshotStore.current());
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sketches.shutdown();
+	}
+
+	public void rebuild() {
+		sketches.rebuild();
+		logger.info("salary sketches built for " + sketches.departments() + " departments");
+	}
+
+	/** See EmployeeEvent#snapshotVersion. */
+	public void update(List<Employee> previous, List<Employee> current, long snapshotVersion) {
+		sketches.update(previous, current, snapshotVersion);
+	}
+
+	/**
+	 * Copies of the sketches of the given departments (all when null), by
+	 * deptName with null last; departments without employees are left out.
+	 */
+	public Map<String, KllSketch> sketches(Set<String> deptNames) {
+		return sketches.copies(deptNames, KllSketch::copy);
+	}
+}
@@ -0,0 +1,300 @@
+package com.org.java.app.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.snapshot.EmployeeSnapshot;
+
+/**
+ * One sketch per deptName (null included) that can only add items, kept in
+ * step with committed employee changes in constant memory per department.
+ *
+ * A new or changed row adds its values to its department's sketch right away.
+ * Sketches cannot forget an item, so the values of a row that changed or left
+ * stay in the sketch and are only counted as stale. Once more than
+ * MAX_STALE_FRACTION of a department's values are stale, a background thread
+ * rebuilds that department from the snapshot; reads never wait for it.
+ * Changes that leave the department and the sketched values alone (e.g. a new
+ * email for a salary sketch) are skipped.
+ *
+ * Every change carries the version of the employee snapshot that first
+ * included it. A department built from snapshot version V ignores changes up
+ * to V, and a rebuild replays the changes that arrived while it read the
+ * snapshot, so neither the order in which changes arrive nor a rebuild
+ * running alongside them can count a row twice or lose it.
+ */
+final class DepartmentSketches<S> {
+
+	Logger logger = LoggerFactory.getLogger(DepartmentSketches.class);
+
+	// share of a department's sketched values that may belong to rows that changed or left
+	static final double MAX_STALE_FRACTION = 0.05;
+
+	private final String name;
+	private final Supplier<S> newSketch;
+	private final BiConsumer<S, Employee> add;
+	private final BiPredicate<Employee, Employee> sameValues;
+	private final Supplier<EmployeeSnapshot> snapshots;
+	private final ExecutorService rebuilder;
+	// one rebuild at a time, the startup build included
+	private final Object rebuildLock = new Object();
+
+	private Map<String, Department> departments = new HashMap<>();
+	// snapshot version of the last full build; departments that appear later start from it
+	private long builtFrom;
+	// changes that arrived while a rebuild reads the snapshot, null otherwise
+	private List<Change> pending;
+	private boolean rebuildScheduled;
+
+	/**
+	 * @param sameValues whether two versions of a row have the same sketched
+	 *                   values; the deptName is compared separately
+	 * @param snapshots  the snapshot that rebuilds read
+	 */
+	DepartmentSketches(String name, Supplier<S> newSketch, BiConsumer<S, Employee> add,
+			BiPredicate<Employee, Employee> sameValues, Supplier<EmployeeSnapshot> snapshots) {
+		this.name = name;
+		this.newSketch = newSketch;
+		this.add = add;
+		this.sameValues = sameValues;
+		this.snapshots = snapshots;
+		this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, name + "-rebuild");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/** Builds every department from the current snapshot, on the calling thread. */
+	void rebuild() {
+		rebuild(true);
+	}
+
+	void shutdown() {
+		rebuilder.shutdownNow();
+	}
+
+	/** Departments that have employees. */
+	synchronized int departments() {
+		return (int) departments.values().stream().filter(department -> department.rows() > 0).count();
+	}
+
+	/**
+	 * @param snapshotVersion version of the snapshot that first included the
+	 *                        change, 0 if unknown (the change is then applied)
+	 */
+	synchronized void update(List<Employee> previous, List<Employee> current, long snapshotVersion) {
+		boolean stale = apply(departments, builtFrom, previous, current, snapshotVersion);
+		if (pending != null) {
+			pending.add(new Change(previous, current, snapshotVersion));
+		}
+		if (stale) {
+			scheduleRebuild();
+		}
+	}
+
+	/**
+	 * Copies (made by the given function, which may pick part of a sketch) of
+	 * the sketches of the given departments (all when null), by deptName with
+	 * null last; departments without employees are left out.
+	 */
+	synchronized <T> Map<String, T> copies(Set<String> deptNames, Function<S, T> copy) {
+		Map<String, T> copies = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+		departments.forEach((deptName, department) -> {
+			if (department.rows() > 0 && (deptNames == null || deptNames.contains(deptName))) {
+				copies.put(deptName, copy.apply(department.sketch));
+			}
+		});
+		return copies;
+	}
+
+	/**
+	 * Applies one change to the given departments. Departments missing from the
+	 * map are created as built from missingBuiltFrom, or left alone when it is
+	 * negative. Returns whether a touched department is now too stale.
+	 */
+	private boolean apply(Map<String, Department> target, long missingBuiltFrom, List<Employee> previous,
+			List<Employee> current, long snapshotVersion) {
+		Map<Integer, Employee> before = new HashMap<>();
+		for (Employee employee : previous) {
+			before.put(employee.getEmpId(), employee);
+		}
+		Set<Department> touched = new HashSet<>();
+		for (Employee employee : current) {
+			Employee old = before.remove(employee.getEmpId());
+			if (old != null && Objects.equals(old.getDeptName(), employee.getDeptName())
+					&& sameValues.test(old, employee)) {
+				continue;
+			}
+			if (old != null) {
+				touched.add(markStale(target, missingBuiltFrom, old, snapshotVersion));
+			}
+			Department department = department(target, missingBuiltFrom, employee.getDeptName());
+			if (department != null && !department.includes(snapshotVersion)) {
+				department.add(employee);
+			}
+		}
+		for (Employee employee : before.values()) {
+			touched.add(markStale(target, missingBuiltFrom, employee, snapshotVersion));
+		}
+		return touched.stream().anyMatch(department -> department != null && department.tooStale());
+	}
+
+	private Department markStale(Map<String, Department> target, long missingBuiltFrom, Employee employee,
+			long snapshotVersion) {
+		// also when the department does not exist yet: its row may arrive after the change that removes it
+		Department department = department(target, missingBuiltFrom, employee.getDeptName());
+		if (department == null || department.includes(snapshotVersion)) {
+			return null;
+		}
+		department.stale++;
+		return department;
+	}
+
+	private Department department(Map<String, Department> target, long missingBuiltFrom, String deptName) {
+		Department department = target.get(deptName);
+		if (department == null && missingBuiltFrom >= 0) {
+			department = new Department(missingBuiltFrom);
+			target.put(deptName, department);
+		}
+		return department;
+	}
+
+	private void scheduleRebuild() {
+		if (rebuildScheduled) {
+			return;
+		}
+		rebuildScheduled = true;
+		rebuilder.execute(() -> {
+			try {
+				rebuild(false);
+			} catch (RuntimeException ex) {
+				logger.error(name + " rebuild failed", ex);
+			} finally {
+				synchronized (this) {
+					rebuildScheduled = false;
+					// rows may have changed while it ran
+					if (departments.values().stream().anyMatch(Department::tooStale)) {
+						scheduleRebuild();
+					}
+				}
+			}
+		});
+	}
+
+	/** Rebuilds all departments, or only those that are too stale. */
+	private void rebuild(boolean all) {
+		synchronized (rebuildLock) {
+			long start = System.currentTimeMillis();
+			Set<String> deptNames = null;
+			synchronized (this) {
+				if (!all) {
+					deptNames = new HashSet<>();
+					for (Map.Entry<String, Department> entry : departments.entrySet()) {
+						if (entry.getValue().tooStale()) {
+							deptNames.add(entry.getKey());
+						}
+					}
+					if (deptNames.isEmpty()) {
+						return;
+					}
+				}
+				// from here on every change the snapshot below may miss is recorded
+				pending = new ArrayList<>();
+			}
+			try {
+				EmployeeSnapshot snapshot = snapshots.get();
+				long version = snapshot.getVersion();
+				Map<String, Department> rebuilt = new HashMap<>();
+				if (deptNames != null) {
+					deptNames.forEach(deptName -> rebuilt.put(deptName, new Department(version)));
+				}
+				for (Employee employee : snapshot.getEmployees()) {
+					Department department = department(rebuilt, all ? version : -1, employee.getDeptName());
+					if (department != null) {
+						department.add(employee);
+					}
+				}
+				synchronized (this) {
+					for (Change change : pending) {
+						apply(rebuilt, all ? version : -1, change.previous, change.current, change.snapshotVersion);
+					}
+					if (all) {
+						departments = rebuilt;
+						builtFrom = version;
+					} else {
+						departments.putAll(rebuilt);
+					}
+				}
+				logger.info(name + " rebuilt " + (all ? "all" : rebuilt.size()) + " departments from snapshot v"
+						+ version + " in " + (System.currentTimeMillis() - start) + " ms");
+			} finally {
+				synchronized (this) {
+					pending = null;
+				}
+			}
+		}
+	}
+
+	/** The sketch of one department and how many of its values still belong to a row. */
+	private final class Department {
+		private final long builtFrom;
+		private S sketch;
+		private long values;
+		private long stale;
+
+		Department(long builtFrom) {
+			this.builtFrom = builtFrom;
+		}
+
+		/** Whether the snapshot this department was built from already has the change. */
+		boolean includes(long snapshotVersion) {
+			return snapshotVersion != 0 && snapshotVersion <= builtFrom;
+		}
+
+		void add(Employee employee) {
+			if (sketch == null) {
+				sketch = newSketch.get();
+			}
+			DepartmentSketches.this.add.accept(sketch, employee);
+			values++;
+		}
+
+		long rows() {
+			return values - stale;
+		}
+
+		boolean tooStale() {
+			return stale > 0 && (rows() <= 0 || stale > values * MAX_STALE_FRACTION);
+		}
+	}
+
+	private static final class Change {
+		private final List<Employee> previous;
+		private final List<Employee> current;
+		private final long snapshotVersion;
+
+		Change(List<Employee> previous, List<Employee> current, long snapshotVersion) {
+			this.previous = previous;
+			this.current = current;
+			this.snapshotVersion = snapshotVersion;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.org.java.app.sketch;
+
+import com.org.java.app.util.Hashing;
+
+/**
+ * HyperLogLog distinct counter (Flajolet et al. 2007) with 2^p one-byte
+ * registers. A value's 64-bit hash picks a register with its top p bits; the
+ * register keeps the highest position of the first 1-bit seen in the
+ * remaining bits.
+ *
+ * The estimate uses Ertl's improved raw estimator ("New cardinality
+ * estimation algorithms for HyperLogLog sketches", 2017), which is unbiased
+ * from zero up without the linear counting switch or empirical bias tables.
+ * Its relative standard error is about 1.04 / sqrt(2^p): 1.6% for the default
+ * p = 12, which takes 4 KB. Merging takes the register-wise maximum and is
+ * exact: the union of two sketches equals the sketch of the union.
+ *
+ * Not thread safe.
+ */
+public final class HyperLogLog {
+
+	public static final int DEFAULT_PRECISION = 12;
+
+	private final int p;
+	private final byte[] registers;
+
+	public HyperLogLog() {
+		this(DEFAULT_PRECISION);
+	}
+
+	public HyperLogLog(int p) {
+		if (p < 4 || p > 18) {
+			throw new IllegalArgumentException("p must be between 4 and 18 but was " + p);
+		}
+		this.p = p;
+		this.registers = new byte[1 << p];
+	}
+
+	/** Relative standard error of the estimate for precision p. */
+	public static double relativeError(int p) {
+		return 1.04 / Math.sqrt(1 << p);
+	}
+
+	public void add(String value) {
+		if (value != null) {
+			addHash(hash(value));
+		}
+	}
+
+	public void addHash(long hash) {
+		int index = (int) (hash >>> (64 - p));
+		int rank = Long.numberOfLeadingZeros((hash << p) | (1L << (p - 1))) + 1;
+		if (rank > registers[index]) {
+			registers[index] = (byte) rank;
+		}
+	}
+
+	public void merge(HyperLogLog other) {
+		if (other.p != p) {
+			throw new IllegalArgumentException("cannot merge precision " + other.p + " into " + p);
+		}
+		for (int i = 0; i < registers.length; i++) {
+			if (other.registers[i] > registers[i]) {
+				registers[i] = other.registers[i];
+			}
+		}
+	}
+
+	public HyperLogLog copy() {
+		HyperLogLog copy = new HyperLogLog(p);
+		System.arraycopy(registers, 0, copy.registers, 0, registers.length);
+		return copy;
+	}
+
+	public int getPrecision() {
+		return p;
+	}
+
+	public int memoryBytes() {
+		return registers.length;
+	}
+
+	public long estimate() {
+		int m = registers.length;
+		int q = 64 - p;
+		int[] counts = new int[q + 2];
+		for (byte register : registers) {
+			counts[register]++;
+		}
+		if (counts[0] == m) {
+			return 0;
+		}
+		double z = m * tau(1 - (double) counts[q + 1] / m);
+		for (int k = q; k >= 1; k--) {
+			z = 0.5 * (z + counts[k]);
+		}
+		z += m * sigma((double) counts[0] / m);
+		return Math.round(m / (2 * Math.log(2)) * m / z);
+	}
+
+	private static double sigma(double x) {
+		if (x == 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double y = 1;
+		double z = x;
+		double previous;
+		do {
+			x *= x;
+			previous = z;
+			z += x * y;
+			y += y;
+		} while (z != previous);
+		return z;
+	}
+
+	private static double tau(double x) {
+		if (x == 0 || x == 1) {
+			return 0;
+		}
+		double y = 1;
+		double z = 1 - x;
+		double previous;
+		do {
+			x = Math.sqrt(x);
+			previous = z;
+			y *= 0.5;
+			z -= (1 - x) * (1 - x) * y;
+		} while (z != previous);
+		return z / 3;
+	}
+
+	/** 64-bit FNV-1a over the chars, finished with MurmurHash3's fmix64. */
+	private static long hash(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return Hashing.fmix64(h);
+	}
+}
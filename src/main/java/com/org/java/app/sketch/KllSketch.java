@@ -0,0 +1,218 @@
+package com.org.java.app.sketch;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch over doubles (Karnin, Lang, Liberty 2016).
+ *
+ * Items are kept in a stack of compactors; an item at level h stands for 2^h
+ * input items. When a level is full it is sorted and every other item (odd or
+ * even positions, chosen at random) moves one level up. Level capacities shrink
+ * geometrically by 2/3 going down from the top, so the sketch retains about
+ * 3k items plus a few per level whatever the input size.
+ *
+ * Error: with k = 200 the rank of a returned quantile is within about 1.65% of
+ * the requested rank with 99% confidence (the figures published for the
+ * Apache DataSketches KLL sketch, whose compaction this follows). Merging two
+ * sketches keeps the same guarantee for the combined input. Min and max are
+ * exact.
+ *
+ * Not thread safe.
+ */
+public final class KllSketch {
+
+	public static final int DEFAULT_K = 200;
+
+	/** Normalized rank error at 99% confidence for DEFAULT_K. */
+	public static final double DEFAULT_RANK_ERROR = 0.0165;
+
+	private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+	private final int k;
+	private final SplittableRandom random;
+	private double[][] levels = new double[1][];
+	private int[] sizes = new int[1];
+	private int retained;
+	private int maxRetained;
+	private long n;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+	public KllSketch() {
+		this(DEFAULT_K);
+	}
+
+	public KllSketch(int k) {
+		if (k < 8) {
+			throw new IllegalArgumentException("k must be at least 8");
+		}
+		this.k = k;
+		this.random = new SplittableRandom(k);
+		levels[0] = new double[capacity(0)];
+		maxRetained = capacity(0);
+	}
+
+	public void update(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		if (n == 0) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		n++;
+		append(0, value);
+		retained++;
+		if (retained >= maxRetained) {
+			compress();
+		}
+	}
+
+	/** Adds every item of other to this sketch; other is not changed. */
+	public void merge(KllSketch other) {
+		if (other.n == 0) {
+			return;
+		}
+		while (levels.length < other.levels.length) {
+			grow();
+		}
+		for (int h = 0; h < other.levels.length; h++) {
+			for (int i = 0; i < other.sizes[h]; i++) {
+				append(h, other.levels[h][i]);
+			}
+		}
+		retained += other.retained;
+		min = n == 0 ? other.min : Math.min(min, other.min);
+		max = n == 0 ? other.max : Math.max(max, other.max);
+		n += other.n;
+		while (retained >= maxRetained) {
+			compress();
+		}
+	}
+
+	public KllSketch copy() {
+		KllSketch copy = new KllSketch(k);
+		copy.merge(this);
+		return copy;
+	}
+
+	public long getN() {
+		return n;
+	}
+
+	/** NaN when empty. */
+	public double getMin() {
+		return min;
+	}
+
+	/** NaN when empty. */
+	public double getMax() {
+		return max;
+	}
+
+	/** Items held, the measure of the sketch's memory (8 bytes each). */
+	public int getRetained() {
+		return retained;
+	}
+
+	/**
+	 * The smallest retained value whose estimated rank reaches q * n, with q in
+	 * [0, 1]; 0 and 1 give the exact min and max. NaN when empty.
+	 */
+	public double quantile(double q) {
+		if (q < 0 || q > 1 || Double.isNaN(q)) {
+			throw new IllegalArgumentException("q must be between 0 and 1 but was " + q);
+		}
+		if (n == 0) {
+			return Double.NaN;
+		}
+		if (q == 0) {
+			return min;
+		}
+		if (q == 1) {
+			return max;
+		}
+		// merge the sorted levels, adding up weights until the target rank is reached
+		int height = levels.length;
+		double[][] sorted = new double[height][];
+		int[] next = new int[height];
+		for (int h = 0; h < height; h++) {
+			sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+			Arrays.sort(sorted[h]);
+		}
+		double target = q * n;
+		long weight = 0;
+		while (true) {
+			int best = -1;
+			for (int h = 0; h < height; h++) {
+				if (next[h] < sorted[h].length && (best < 0 || sorted[h][next[h]] < sorted[best][next[best]])) {
+					best = h;
+				}
+			}
+			if (best < 0) {
+				return max;
+			}
+			double value = sorted[best][next[best]++];
+			weight += 1L << best;
+			if (weight >= target) {
+				return value;
+			}
+		}
+	}
+
+	private int capacity(int level) {
+		int depth = levels.length - level - 1;
+		return (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)) + 1;
+	}
+
+	private void append(int level, double value) {
+		if (sizes[level] == levels[level].length) {
+			levels[level] = Arrays.copyOf(levels[level], Math.max(4, levels[level].length * 2));
+		}
+		levels[level][sizes[level]++] = value;
+	}
+
+	private void grow() {
+		levels = Arrays.copyOf(levels, levels.length + 1);
+		sizes = Arrays.copyOf(sizes, sizes.length + 1);
+		levels[levels.length - 1] = new double[4];
+		maxRetained = 0;
+		for (int h = 0; h < levels.length; h++) {
+			maxRetained += capacity(h);
+		}
+	}
+
+	/** Compacts the lowest full level into the one above it. */
+	private void compress() {
+		for (int h = 0; h < levels.length; h++) {
+			if (sizes[h] >= capacity(h)) {
+				if (h + 1 == levels.length) {
+					grow();
+				}
+				compact(h);
+				return;
+			}
+		}
+	}
+
+	private void compact(int level) {
+		double[] items = levels[level];
+		int size = sizes[level];
+		Arrays.sort(items, 0, size);
+		// with an odd count the largest item stays behind
+		int pairs = size / 2;
+		int offset = random.nextBoolean() ? 1 : 0;
+		for (int i = 0; i < pairs; i++) {
+			append(level + 1, items[2 * i + offset]);
+		}
+		if (size % 2 == 1) {
+			items[0] = items[size - 1];
+		}
+		sizes[level] = size % 2;
+		retained -= pairs;
+	}
+}
@@ -0,0 +1,110 @@
+package com.org.java.app.snapshot;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.org.java.app.entity.Employee;
+
+/**
+ * Immutable, versioned view of the employee table ordered by empId.
+ *
+ * Rows are kept in two parallel arrays (sorted ids and the matching rows) so
+ * lookups are a binary search and readers never need a lock. Writers build a
+ * new snapshot through {@link EmployeeSnapshotStore}; a reader that already
+ * holds a snapshot keeps seeing the same data for as long as it uses it.
+ */
+public final class EmployeeSnapshot {
+
+	static final EmployeeSnapshot EMPTY = new EmployeeSnapshot(0L, new int[0], new Employee[0]);
+
+	private final long version;
+	private final int[] ids;
+	private final Employee[] rows;
+	private final List<Employee> view;
+
+	EmployeeSnapshot(long version, int[] ids, Employee[] rows) {
+		this.version = version;
+		this.ids = ids;
+		this.rows = rows;
+		this.view = Collections.unmodifiableList(Arrays.asList(rows));
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/** All employees ordered by empId. The list is read-only. */
+	public List<Employee> getEmployees() {
+		return view;
+	}
+
+	public Optional<Employee> findById(int empId) {
+		int idx = Arrays.binarySearch(ids, empId);
+		return idx >= 0 ? Optional.of(rows[idx]) : Optional.empty();
+	}
+
+	public int size() {
+		return rows.length;
+	}
+
+	public boolean isEmpty() {
+		return rows.length == 0;
+	}
+
+	/**
+	 * Returns a copy with the given rows inserted or replaced. {@code sorted}
+	 * must be ordered by empId without duplicates; replaced rows are added to
+	 * {@code previous}.
+	 */
+	EmployeeSnapshot withUpserts(long newVersion, Employee[] sorted, List<Employee> previous) {
+		int[] mergedIds = new int[ids.length + sorted.length];
+		Employee[] mergedRows = new Employee[ids.length + sorted.length];
+		int i = 0, j = 0, n = 0;
+		while (i < ids.length || j < sorted.length) {
+			if (j == sorted.length || (i < ids.length && ids[i] < sorted[j].getEmpId())) {
+				mergedIds[n] = ids[i];
+				mergedRows[n++] = rows[i++];
+			} else if (i == ids.length || sorted[j].getEmpId() < ids[i]) {
+				mergedIds[n] = sorted[j].getEmpId();
+				mergedRows[n++] = sorted[j++];
+			} else {
+				previous.add(rows[i++]);
+				mergedIds[n] = sorted[j].getEmpId();
+				mergedRows[n++] = sorted[j++];
+			}
+		}
+		return new EmployeeSnapshot(newVersion, Arrays.copyOf(mergedIds, n), Arrays.copyOf(mergedRows, n));
+	}
+
+	/**
+	 * Returns a copy without the given ids. {@code sortedIds} must be ascending;
+	 * removed rows are added to {@code removed}.
+	 */
+	EmployeeSnapshot withoutIds(long newVersion, int[] sortedIds, List<Employee> removed) {
+		int[] keptIds = new int[ids.length];
+		Employee[] keptRows = new Employee[ids.length];
+		int i = 0, j = 0, n = 0;
+		while (i < ids.length) {
+			while (j < sortedIds.length && sortedIds[j] < ids[i]) {
+				j++;
+			}
+			if (j < sortedIds.length && sortedIds[j] == ids[i]) {
+				removed.add(rows[i++]);
+			} else {
+				keptIds[n] = ids[i];
+				keptRows[n++] = rows[i++];
+			}
+		}
+		return new EmployeeSnapshot(newVersion, Arrays.copyOf(keptIds, n), Arrays.copyOf(keptRows, n));
+	}
+
+	static EmployeeSnapshot of(long version, Employee[] sorted) {
+		int[] ids = new int[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			ids[i] = sorted[i].getEmpId();
+		}
+		return new EmployeeSnapshot(version, ids, sorted);
+	}
+}
@@ -0,0 +1,163 @@
+package com.org.java.app.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds the current {@link EmployeeSnapshot}. The table is read once at
+ * startup; after that EmployeeSnapshotUpdater patches the snapshot with every
+ * committed EmployeeEvent so the read-only endpoints never have to go back to
+ * the database. A rolled back write never reaches the snapshot.
+ *
+ * Patching is copy-on-write: each change publishes a new snapshot with a
+ * bumped version, so readers always see one consistent table.
+ *
+ * After-commit listeners of two transactions can run in the other order than
+ * the commits, so a patch never replaces a row by one with a lower
+ * {@link Employee#getVersion()} and never brings back a deleted row.
+ */
+@Component
+public class EmployeeSnapshotStore {
+
+	Logger logger = LoggerFactory.getLogger(EmployeeSnapshotStore.class);
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	// deleted empId -> version of the deleted row; a late patch only lags by a commit or two,
+	// so the oldest entries are dropped
+	private static final int MAX_TOMBSTONES = 100_000;
+
+	private volatile EmployeeSnapshot snapshot;
+
+	private final Map<Integer, Long> tombstones = new LinkedHashMap<Integer, Long>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+			return size() > MAX_TOMBSTONES;
+		}
+	};
+
+	@PostConstruct
+	public void init() {
+		reload();
+	}
+
+	public EmployeeSnapshot current() {
+		EmployeeSnapshot current = snapshot;
+		if (current != null) {
+			return current;
+		}
+		synchronized (this) {
+			return snapshot != null ? snapshot : reload();
+		}
+	}
+
+	/** Re-reads the whole table, e.g. to repair the snapshot after out-of-band changes. */
+	public synchronized EmployeeSnapshot reload() {
+		long start = System.currentTimeMillis();
+		List<Employee> list = employeeRepository.findAll();
+		long version = snapshot == null ? 1L : snapshot.getVersion() + 1;
+		snapshot = EmployeeSnapshot.of(version, sortedDistinct(list));
+		logger.info("employee snapshot v" + version + " loaded with " + snapshot.size() + " rows in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return snapshot;
+	}
+
+	/**
+	 * Applies one committed change: rows of previous that are not in current
+	 * are removed, the rows of current are inserted or replaced unless the
+	 * snapshot already holds a newer version of them. Both happen in one new
+	 * snapshot. Nothing to do before the snapshot is first loaded, the load
+	 * will read the committed rows.
+	 *
+	 * @return the version of the first snapshot that includes the change, 0
+	 *         before the snapshot is loaded
+	 */
+	public synchronized long apply(Collection<Employee> previous, Collection<Employee> current) {
+		if (snapshot == null) {
+			return 0L;
+		}
+		if (previous.isEmpty() && current.isEmpty()) {
+			return snapshot.getVersion();
+		}
+		Set<Integer> kept = current.stream().map(Employee::getEmpId).collect(Collectors.toSet());
+		List<Employee> removed = previous.stream().filter(e -> !kept.contains(e.getEmpId()))
+				.collect(Collectors.toList());
+		List<Employee> upserts = current.stream().filter(e -> !isStale(e)).collect(Collectors.toList());
+		if (upserts.size() < current.size()) {
+			logger.debug("skipped " + (current.size() - upserts.size()) + " rows older than the snapshot");
+		}
+		long version = snapshot.getVersion() + 1;
+		EmployeeSnapshot next = snapshot;
+		if (!removed.isEmpty()) {
+			for (Employee employee : removed) {
+				tombstones.put(employee.getEmpId(), employee.getVersion());
+			}
+			int[] removedIds = removed.stream().mapToInt(Employee::getEmpId).sorted().distinct().toArray();
+			next = next.withoutIds(version, removedIds, new ArrayList<>());
+		}
+		if (!upserts.isEmpty()) {
+			next = next.withUpserts(version, sortedDistinct(upserts), new ArrayList<>());
+		}
+		snapshot = next;
+		return snapshot.getVersion();
+	}
+
+	/**
+	 * True if the snapshot holds a newer version of the row, or the row was
+	 * deleted after this version of it. Rows without a version always apply.
+	 */
+	private boolean isStale(Employee row) {
+		if (row.getVersion() == null) {
+			return false;
+		}
+		if (tombstones.containsKey(row.getEmpId())) {
+			Long deletedVersion = tombstones.get(row.getEmpId());
+			return deletedVersion == null || row.getVersion() <= deletedVersion;
+		}
+		Long held = snapshot.findById(row.getEmpId()).map(Employee::getVersion).orElse(null);
+		return held != null && row.getVersion() < held;
+	}
+
+	/**
+	 * Copies the rows (so later changes to managed or client-supplied entities
+	 * cannot leak into the snapshot), sorts them by empId and keeps the last row
+	 * for a repeated id.
+	 */
+	private static Employee[] sortedDistinct(Collection<Employee> employees) {
+		Employee[] copies = employees.stream().map(EmployeeSnapshotStore::copyOf).toArray(Employee[]::new);
+		Arrays.sort(copies, Comparator.comparingInt(Employee::getEmpId));
+		int n = 0;
+		for (int i = 0; i < copies.length; i++) {
+			if (i + 1 < copies.length && copies[i + 1].getEmpId() == copies[i].getEmpId()) {
+				continue;
+			}
+			copies[n++] = copies[i];
+		}
+		return n == copies.length ? copies : Arrays.copyOf(copies, n);
+	}
+
+	/** Detached copy of a row, e.g. to keep the state of a managed entity before it is changed. */
+	public static Employee copyOf(Employee e) {
+		return new Employee(e.getEmpId(), e.getEmpName(), e.getAge(), e.getSalary(), e.getDesignation(),
+				e.getPlateform(), e.getSector(), e.getMobbileNumber(), e.getEmail(), e.getDepartmentId(),
+				e.getDeptName(), e.getVersion());
+	}
+}
@@ -0,0 +1,120 @@
+package com.org.java.app.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Character statistics of one string, computed in a single pass over its code
+ * points. Counts live in primitive arrays indexed by the order of first
+ * appearance; a small open-addressing table maps a code point to that index,
+ * so no object is allocated per character. Strings are created only for the
+ * distinct characters, when the results are read.
+ *
+ * "First repeated" is the first character, by first appearance, that occurs
+ * more than once ("suresh" gives "s"), matching the former LinkedHashMap
+ * based implementations.
+ */
+public final class CharacterAnalytics {
+
+	private final String text;
+	private final int length;
+	// distinct code points in order of first appearance and their counts
+	private final int[] codePoints;
+	private final int[] counts;
+	private int distinct;
+
+	private CharacterAnalytics(String text) {
+		this.text = text;
+		this.length = text.codePointCount(0, text.length());
+		this.codePoints = new int[length];
+		this.counts = new int[length];
+		// keys are code point + 1 so that 0 marks a free slot; power of two >= 2 * length
+		int[] table = new int[Integer.highestOneBit(Math.max(1, length) * 2 - 1) << 1];
+		int[] slots = new int[table.length];
+		int mask = table.length - 1;
+		int shift = Integer.numberOfLeadingZeros(mask);
+		for (int i = 0; i < text.length();) {
+			int codePoint = text.codePointAt(i);
+			i += Character.charCount(codePoint);
+			// Fibonacci hashing: the top bits of the product pick the slot
+			int h = (codePoint * 0x9E3779B9) >>> shift;
+			while (table[h] != 0 && table[h] != codePoint + 1) {
+				h = (h + 1) & mask;
+			}
+			if (table[h] == 0) {
+				table[h] = codePoint + 1;
+				slots[h] = distinct;
+				codePoints[distinct++] = codePoint;
+			}
+			counts[slots[h]]++;
+		}
+	}
+
+	public static CharacterAnalytics of(String text) {
+		return new CharacterAnalytics(text == null ? "" : text);
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/** Number of code points, not chars. */
+	public int getLength() {
+		return length;
+	}
+
+	public int getDistinct() {
+		return distinct;
+	}
+
+	/** Count per character in order of first appearance. */
+	public Map<String, Integer> frequencies() {
+		Map<String, Integer> frequencies = new LinkedHashMap<>(distinct * 2);
+		for (int i = 0; i < distinct; i++) {
+			frequencies.put(Character.toString(codePoints[i]), counts[i]);
+		}
+		return frequencies;
+	}
+
+	/** The first character that occurs exactly once, or null. */
+	public String firstUnique() {
+		for (int i = 0; i < distinct; i++) {
+			if (counts[i] == 1) {
+				return Character.toString(codePoints[i]);
+			}
+		}
+		return null;
+	}
+
+	/** The first character that occurs more than once, or null. */
+	public String firstRepeated() {
+		for (int i = 0; i < distinct; i++) {
+			if (counts[i] > 1) {
+				return Character.toString(codePoints[i]);
+			}
+		}
+		return null;
+	}
+
+	public List<String> duplicates() {
+		List<String> duplicates = new ArrayList<>();
+		for (int i = 0; i < distinct; i++) {
+			if (counts[i] > 1) {
+				duplicates.add(Character.toString(codePoints[i]));
+			}
+		}
+		return duplicates;
+	}
+
+	public List<String> uniques() {
+		List<String> uniques = new ArrayList<>();
+		for (int i = 0; i < distinct; i++) {
+			if (counts[i] == 1) {
+				uniques.add(Character.toString(codePoints[i]));
+			}
+		}
+		return uniques;
+	}
+}
@@ -0,0 +1,55 @@
+package com.org.java.app.util;
+
+/**
+ * Levenshtein distance with a cap. Only the diagonal band of width
+ * 2 * max + 1 is filled and the computation stops as soon as every cell of a
+ * row exceeds the cap, so comparing two unrelated strings costs O(max * n)
+ * and usually much less.
+ */
+public final class EditDistance {
+
+	private EditDistance() {
+	}
+
+	/** The edit distance of a and b if it is at most max, otherwise max + 1. */
+	public static int bounded(CharSequence a, CharSequence b, int max) {
+		int n = a.length();
+		int m = b.length();
+		if (Math.abs(n - m) > max) {
+			return max + 1;
+		}
+		if (max == 0) {
+			return a.toString().contentEquals(b) ? 0 : 1;
+		}
+		int over = max + 1;
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j <= max ? j : over;
+		}
+		for (int i = 1; i <= n; i++) {
+			int from = Math.max(1, i - max);
+			int to = Math.min(m, i + max);
+			current[from - 1] = from == 1 && i <= max ? i : over;
+			int rowMin = current[from - 1];
+			char c = a.charAt(i - 1);
+			for (int j = from; j <= to; j++) {
+				int cost = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+				cost = Math.min(cost, previous[j] + 1);
+				cost = Math.min(cost, current[j - 1] + 1);
+				current[j] = Math.min(cost, over);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (to < m) {
+				current[to + 1] = over;
+			}
+			if (rowMin > max) {
+				return over;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return Math.min(previous[m], over);
+	}
+}
@@ -1,22 +1,52 @@
 package com.org.java.app.util;
 
+import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import com.org.java.app.dto.EmailDeliveryDto;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeUtility;
 
 @Component
 public class EmailSender {
 
+	Logger logger = LoggerFactory.getLogger(EmailSender.class);
+
+	// RFC 2045 base64: 76 character lines separated by CRLF
+	private static final Base64.Encoder MIME_BASE64 = Base64.getMimeEncoder(76, new byte[] { '\r', '\n' });
+
 	@Autowired
 	private JavaMailSender mailSender;
 
+	@Value("${mail.transport.pool-size:4}")
+	private int poolSize = 4;
+
+	// connected transports kept open between bulk sends
+	private final BlockingQueue<Transport> idleTransports = new LinkedBlockingQueue<>();
+
 	public void sendPdf(String to, String subject, String bodyHtml, byte[] pdfBytes, String filename)
 			throws MessagingException {
 		MimeMessage message = mailSender.createMimeMessage();
@@ -27,7 +57,119 @@ public class EmailSender {
 		helper.addAttachment(filename, new ByteArrayResource(pdfBytes), "application/pdf");
 		mailSender.send(message);
 	}
-}
 
+	/**
+	 * Sends the same PDF to every recipient, one message each, over a pooled
+	 * SMTP connection. The attachment is base64 encoded once for the whole call
+	 * and every message reuses the encoded bytes. Delivery problems of single
+	 * messages do not stop the others; they are reported in the result, which
+	 * has one entry per recipient in the given order.
+	 */
+	public List<EmailDeliveryDto> sendPdfToAll(List<String> recipients, String subject, String bodyHtml,
+			byte[] pdfBytes, String filename) throws MessagingException {
+		InternetHeaders attachmentHeaders = new InternetHeaders();
+		String encodedName;
+		try {
+			encodedName = MimeUtility.encodeText(filename, StandardCharsets.UTF_8.name(), null);
+		} catch (UnsupportedEncodingException ex) {
+			throw new MessagingException("cannot encode attachment name " + filename, ex);
+		}
+		attachmentHeaders.setHeader("Content-Type", "application/pdf; name=\"" + encodedName + "\"");
+		attachmentHeaders.setHeader("Content-Transfer-Encoding", "base64");
+		attachmentHeaders.setHeader("Content-Disposition", "attachment; filename=\"" + encodedName + "\"");
+		byte[] encodedPdf = MIME_BASE64.encode(pdfBytes);
+
+		List<EmailDeliveryDto> results = new ArrayList<>(recipients.size());
+		Transport transport = null;
+		try {
+			for (String recipient : recipients) {
+				MimeMessage message = mailSender.createMimeMessage();
+				MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+				helper.setTo(recipient);
+				helper.setSubject(subject);
+				helper.setText(bodyHtml, true);
+				// the part keeps a reference to the encoded bytes and writes them out as they are
+				helper.getRootMimeMultipart().addBodyPart(new MimeBodyPart(attachmentHeaders, encodedPdf));
+				message.saveChanges();
+
+				long start = System.nanoTime();
+				try {
+					if (transport == null) {
+						transport = borrowTransport();
+					}
+					send(transport, message);
+					results.add(new EmailDeliveryDto(recipient, true, micros(start), null));
+				} catch (MessagingException | MailException ex) {
+					results.add(new EmailDeliveryDto(recipient, false, micros(start), ex.getMessage()));
+					// a rejected message leaves the connection usable, a dropped connection is replaced
+					if (transport != null && !transport.isConnected()) {
+						closeQuietly(transport);
+						transport = null;
+					}
+				}
+			}
+		} finally {
+			releaseTransport(transport);
+		}
+		return results;
+	}
+
+	private void send(Transport transport, MimeMessage message) throws MessagingException {
+		if (transport == null) {
+			// no session to pool, e.g. a custom JavaMailSender
+			mailSender.send(message);
+		} else {
+			transport.sendMessage(message, message.getAllRecipients());
+		}
+	}
+
+	private Transport borrowTransport() throws MessagingException {
+		if (!(mailSender instanceof JavaMailSenderImpl)) {
+			return null;
+		}
+		Transport transport;
+		while ((transport = idleTransports.poll()) != null) {
+			if (transport.isConnected()) {
+				return transport;
+			}
+			closeQuietly(transport);
+		}
+		JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+		String protocol = sender.getProtocol() == null ? JavaMailSenderImpl.DEFAULT_PROTOCOL : sender.getProtocol();
+		transport = sender.getSession().getTransport(protocol);
+		transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+		return transport;
+	}
+
+	private void releaseTransport(Transport transport) {
+		if (transport == null) {
+			return;
+		}
+		if (!transport.isConnected() || idleTransports.size() >= poolSize || !idleTransports.offer(transport)) {
+			closeQuietly(transport);
+		}
+	}
 
+	@PreDestroy
+	public void closeTransports() {
+		Transport transport;
+		while ((transport = idleTransports.poll()) != null) {
+			closeQuietly(transport);
+		}
+	}
+
+	private void closeQuietly(Transport transport) {
+		if (transport == null) {
+			return;
+		}
+		try {
+			transport.close();
+		} catch (MessagingException ex) {
+			logger.warn("could not close SMTP connection", ex);
+		}
+	}
 
+	private static long micros(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+	}
+}
@@ -0,0 +1,46 @@
+package com.org.java.app.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+
+/**
+ * The text fields of Employee that endpoints may address by name, e.g.
+ * {@code ?field=designation}.
+ */
+public final class EmployeeFields {
+
+	private static final Map<String, Function<Employee, String>> TEXT_FIELDS;
+
+	static {
+		Map<String, Function<Employee, String>> fields = new LinkedHashMap<>();
+		fields.put("empName", Employee::getEmpName);
+		fields.put("designation", Employee::getDesignation);
+		fields.put("plateform", Employee::getPlateform);
+		fields.put("sector", Employee::getSector);
+		fields.put("email", Employee::getEmail);
+		fields.put("deptName", Employee::getDeptName);
+		TEXT_FIELDS = Collections.unmodifiableMap(fields);
+	}
+
+	private EmployeeFields() {
+	}
+
+	public static Set<String> textFieldNames() {
+		return TEXT_FIELDS.keySet();
+	}
+
+	/** Accessor of the named text field; throws InvalidInputException for unknown names. */
+	public static Function<Employee, String> textField(String field) {
+		Function<Employee, String> accessor = field == null ? null : TEXT_FIELDS.get(field);
+		if (accessor == null) {
+			throw new InvalidInputException("field must be one of " + TEXT_FIELDS.keySet() + " but was::" + field);
+		}
+		return accessor;
+	}
+}
@@ -2,7 +2,10 @@ package com.org.java.app.util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -12,19 +15,28 @@ import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import com.org.java.app.entity.Employee;
 
 public final class ExcelGenerator {
 
+	private static final String[] HEADERS = new String[] {"ID","Name","Dept","Salary","Age","Designation","sector","Email","DepartmentId","Platform"};
+	// rows kept in memory by the streaming writer; older rows are flushed to a temp file
+	private static final int ROW_WINDOW = 100;
+	// column widths are taken from the header and the first rows instead of autoSizeColumn
+	private static final int WIDTH_SAMPLE_ROWS = 500;
+	private static final int MAX_COLUMN_CHARS = 60;
+
 	private ExcelGenerator() {}
 
 	public static byte[] generateEmployeesExcel(List<Employee> employees) {
 		try (Workbook wb = new XSSFWorkbook(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 			Sheet sheet = wb.createSheet("Employees");
 
-			String[] headers = new String[] {"ID","Name","Dept","Salary","Age","Designation","sector","Email","DepartmentId","Platform"};
+			String[] headers = HEADERS;
 
 			CellStyle headerStyle = wb.createCellStyle();
 			headerStyle.setAlignment(HorizontalAlignment.CENTER);
@@ -65,6 +77,74 @@ public final class ExcelGenerator {
 		}
 	}
 
+	/**
+	 * Streaming variant: writes the rows that {@code source} hands over (typically
+	 * a DB cursor) through an SXSSF workbook that keeps only a window of
+	 * {@value #ROW_WINDOW} rows in memory, then writes the xlsx to {@code out}.
+	 * Column widths come from the first {@value #WIDTH_SAMPLE_ROWS} rows, so no
+	 * column is rescanned at the end.
+	 */
+	public static void writeEmployeesExcel(Consumer<Consumer<Stream<Employee>>> source, OutputStream out) {
+		SXSSFWorkbook wb = new SXSSFWorkbook(ROW_WINDOW);
+		wb.setCompressTempFiles(true);
+		try (wb) {
+			SXSSFSheet sheet = wb.createSheet("Employees");
+
+			CellStyle headerStyle = wb.createCellStyle();
+			headerStyle.setAlignment(HorizontalAlignment.CENTER);
+			headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+			headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+			int[] widths = new int[HEADERS.length];
+			Row headerRow = sheet.createRow(0);
+			for (int i = 0; i < HEADERS.length; i++) {
+				Cell cell = headerRow.createCell(i);
+				cell.setCellValue(HEADERS[i]);
+				cell.setCellStyle(headerStyle);
+				widths[i] = HEADERS[i].length();
+			}
+
+			int[] rowIdx = {1};
+			source.accept(rows -> rows.forEach(e -> {
+				Row row = sheet.createRow(rowIdx[0]);
+				row.createCell(0).setCellValue(e.getEmpId());
+				row.createCell(1).setCellValue(ns(e.getEmpName()));
+				row.createCell(2).setCellValue(ns(e.getDeptName()));
+				row.createCell(3).setCellValue(e.getSalary());
+				row.createCell(4).setCellValue(e.getAge());
+				row.createCell(5).setCellValue(ns(e.getDesignation()));
+				row.createCell(6).setCellValue(ns(e.getSector()));
+				row.createCell(7).setCellValue(e.getEmail());
+				row.createCell(8).setCellValue(e.getDepartmentId());
+				row.createCell(9).setCellValue(e.getPlateform());
+				if (rowIdx[0] <= WIDTH_SAMPLE_ROWS) {
+					sampleWidths(e, widths);
+				}
+				rowIdx[0]++;
+			}));
+
+			for (int i = 0; i < widths.length; i++) {
+				// width unit is 1/256 of a character; two extra characters of padding
+				sheet.setColumnWidth(i, Math.min(widths[i] + 2, MAX_COLUMN_CHARS) * 256);
+			}
+
+			wb.write(out);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to generate Excel", ex);
+		} finally {
+			wb.dispose();
+		}
+	}
+
+	private static void sampleWidths(Employee e, int[] widths) {
+		String[] values = {String.valueOf(e.getEmpId()), ns(e.getEmpName()), ns(e.getDeptName()),
+				String.valueOf(e.getSalary()), String.valueOf(e.getAge()), ns(e.getDesignation()), ns(e.getSector()),
+				ns(e.getEmail()), String.valueOf(e.getDepartmentId()), ns(e.getPlateform())};
+		for (int i = 0; i < widths.length; i++) {
+			widths[i] = Math.max(widths[i], values[i].length());
+		}
+	}
+
 	private static String ns(String s) { return s == null ? "" : s; }
 }
 
@@ -0,0 +1,20 @@
+package com.org.java.app.util;
+
+/** Bit mixing shared by the in-process hash tables and sketches. */
+public final class Hashing {
+
+	private Hashing() {
+	}
+
+	/**
+	 * The 64-bit finalizer of MurmurHash3 (fmix64): every input bit affects
+	 * every output bit, so the high bits are as good as the low ones.
+	 */
+	public static long fmix64(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+}
@@ -0,0 +1,87 @@
+package com.org.java.app.util;
+
+import java.util.Arrays;
+
+import com.org.java.app.exception.InvalidInputException;
+
+/**
+ * Bucket layout of a histogram over doubles: either equal-width buckets
+ * aligned to multiples of the width, or buckets between explicit boundaries
+ * with an open bucket below the first and above the last boundary. Lower
+ * bounds are inclusive, upper bounds exclusive.
+ */
+public final class HistogramBuckets {
+
+	private final double[] edges;
+	private final double width;
+	private final boolean open;
+
+	private HistogramBuckets(double[] edges, double width, boolean open) {
+		this.edges = edges;
+		this.width = width;
+		this.open = open;
+	}
+
+	/** Buckets [k * width, (k + 1) * width) covering min .. max, at most maxBuckets of them. */
+	public static HistogramBuckets ofWidth(double width, double min, double max, int maxBuckets) {
+		if (!(width > 0) || Double.isInfinite(width)) {
+			throw new InvalidInputException("width must be a positive number but was::" + width);
+		}
+		double first = Math.floor(min / width) * width;
+		double buckets = Math.floor((max - first) / width) + 1;
+		if (buckets > maxBuckets) {
+			throw new InvalidInputException("width " + width + " needs " + (long) buckets + " buckets, at most "
+					+ maxBuckets + " are allowed");
+		}
+		double[] edges = new double[(int) buckets + 1];
+		for (int i = 0; i < edges.length; i++) {
+			edges[i] = first + i * width;
+		}
+		return new HistogramBuckets(edges, width, false);
+	}
+
+	/** Buckets between the given strictly increasing boundaries, plus one below and one above them. */
+	public static HistogramBuckets ofBoundaries(double[] boundaries) {
+		if (boundaries.length == 0) {
+			throw new InvalidInputException("boundaries must not be empty");
+		}
+		for (int i = 0; i < boundaries.length; i++) {
+			if (!Double.isFinite(boundaries[i]) || (i > 0 && boundaries[i] <= boundaries[i - 1])) {
+				throw new InvalidInputException(
+						"boundaries must be finite and strictly increasing but were::" + Arrays.toString(boundaries));
+			}
+		}
+		return new HistogramBuckets(boundaries.clone(), 0, true);
+	}
+
+	public int size() {
+		return open ? edges.length + 1 : edges.length - 1;
+	}
+
+	/** Inclusive lower bound of the bucket, null for the open bucket at the bottom. */
+	public Double lower(int bucket) {
+		if (open) {
+			return bucket == 0 ? null : edges[bucket - 1];
+		}
+		return edges[bucket];
+	}
+
+	/** Exclusive upper bound of the bucket, null for the open bucket at the top. */
+	public Double upper(int bucket) {
+		if (open) {
+			return bucket == edges.length ? null : edges[bucket];
+		}
+		return edges[bucket + 1];
+	}
+
+	public int bucketOf(double value) {
+		if (!open) {
+			int bucket = (int) Math.floor((value - edges[0]) / width);
+			// guards rounding at the edges of the covered range
+			return Math.max(0, Math.min(edges.length - 2, bucket));
+		}
+		int index = Arrays.binarySearch(edges, value);
+		// an exact hit on boundary i opens bucket i + 1; otherwise the insertion point is the bucket
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+}
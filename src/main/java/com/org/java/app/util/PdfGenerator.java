@@ -2,10 +2,15 @@ package com.org.java.app.util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -17,77 +22,110 @@ import com.org.java.app.entity.Employee;
 
 public final class PdfGenerator {
 
+	private static final String[] HEADERS = {"ID","Name","Age","Salary","Designation","Plateform","Sector","Mobile","Email","DeptId","DeptName"};
+	// Column widths tuned for A4 width with small margins
+	// Sum ~= 790 points to fit A4 landscape (842pt) with margins
+	private static final float[] COL_WIDTHS = {36f, 110f, 32f, 60f, 80f, 80f, 70f, 70f, 140f, 44f, 88f};
+	private static final float MARGIN = 24f; // tighter margins
+	private static final float LEADING = 12f; // tighter line height
+
 	private PdfGenerator() {}
 
 	public static byte[] generateEmployeesPdf(List<Employee> employees) {
-		try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			// Use landscape by swapping A4 width/height (PDFBox 3 has no rotate())
-			PDPage page = new PDPage(new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth()));
-			document.addPage(page);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		writeEmployeesPdf(rows -> rows.accept(employees.stream()), baos);
+		return baos.toByteArray();
+	}
 
-			PDPageContentStream content = new PDPageContentStream(document, page);
-			float margin = 24f; // tighter margins
-			float y = page.getMediaBox().getHeight() - margin;
-			float leading = 12f; // tighter line height
+	/**
+	 * Renders the rows that {@code source} hands over (typically a DB cursor, see
+	 * EmployeeService#streamAllEmployeeDetails) and writes the finished PDF to
+	 * {@code out}. Page content goes to a scratch file rather than the heap, so
+	 * memory use does not grow with the row count. Rendering finishes before
+	 * saving starts, so a cursor is not held open while a slow client downloads.
+	 */
+	public static void writeEmployeesPdf(Consumer<Consumer<Stream<Employee>>> source, OutputStream out) {
+		try (PDDocument document = new PDDocument(IOUtils.createTempFileOnlyStreamCache())) {
+			TableWriter table = new TableWriter(document);
+			source.accept(rows -> rows.forEach(table::row));
+			table.close();
+			document.save(out);
+		} catch (IOException | UncheckedIOException ex) {
+			throw new IllegalStateException("Failed to generate PDF", ex);
+		}
+	}
+
+	/** Lays rows out page by page; the fonts are created once per document. */
+	private static final class TableWriter {
 
-			content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
-			text(content, margin, y, "Employees Report");
-			y -= leading * 1.5f;
+		private final PDDocument document;
+		private final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+		private final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+		private final String[] cols = new String[HEADERS.length];
+		private PDPageContentStream content;
+		private float y;
 
-			content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 9);
-			text(content, margin, y, "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-			y -= leading * 1.2f;
+		TableWriter(PDDocument document) throws IOException {
+			this.document = document;
+			newPage();
+			content.setFont(bold, 14);
+			text(content, MARGIN, y, "Employees Report");
+			y -= LEADING * 1.5f;
+
+			content.setFont(regular, 9);
+			text(content, MARGIN, y, "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+			y -= LEADING * 1.2f;
 
 			// Header
-			content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 8);
-			String[] headers = {"ID","Name","Age","Salary","Designation","Plateform","Sector","Mobile","Email","DeptId","DeptName"};
-			writeRow(content, margin, y, headers);
-			y -= leading;
-			content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 8);
-
-			for (Employee e : employees) {
-				if (y < margin + leading) {
+			content.setFont(bold, 8);
+			writeRow(content, MARGIN, y, HEADERS);
+			y -= LEADING;
+			content.setFont(regular, 8);
+		}
+
+		void row(Employee e) {
+			try {
+				if (y < MARGIN + LEADING) {
 					content.close();
-					page = new PDPage(new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth()));
-					document.addPage(page);
-					content = new PDPageContentStream(document, page);
-					y = page.getMediaBox().getHeight() - margin;
-					content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 8);
+					newPage();
+					content.setFont(regular, 8);
 				}
-
-				String[] cols = new String[] {
-					String.valueOf(e.getEmpId()),
-					ns(e.getEmpName()),
-					String.valueOf(e.getAge()),
-					String.format("%.2f", e.getSalary()),
-					ns(e.getDesignation()),
-					ns(e.getPlateform()),
-					ns(e.getSector()),
-					String.valueOf(e.getMobbileNumber()),
-					ns(e.getEmail()),
-					String.valueOf(e.getDepartmentId()),
-					ns(e.getDeptName())
-				};
-				writeRow(content, margin, y, cols);
-				y -= leading;
+				cols[0] = String.valueOf(e.getEmpId());
+				cols[1] = ns(e.getEmpName());
+				cols[2] = String.valueOf(e.getAge());
+				cols[3] = String.format("%.2f", e.getSalary());
+				cols[4] = ns(e.getDesignation());
+				cols[5] = ns(e.getPlateform());
+				cols[6] = ns(e.getSector());
+				cols[7] = String.valueOf(e.getMobbileNumber());
+				cols[8] = ns(e.getEmail());
+				cols[9] = String.valueOf(e.getDepartmentId());
+				cols[10] = ns(e.getDeptName());
+				writeRow(content, MARGIN, y, cols);
+				y -= LEADING;
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
 			}
+		}
 
+		void close() throws IOException {
 			content.close();
-			document.save(baos);
-			return baos.toByteArray();
-		} catch (IOException ex) {
-			throw new IllegalStateException("Failed to generate PDF", ex);
+		}
+
+		private void newPage() throws IOException {
+			// Use landscape by swapping A4 width/height (PDFBox 3 has no rotate())
+			PDPage page = new PDPage(new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth()));
+			document.addPage(page);
+			content = new PDPageContentStream(document, page);
+			y = page.getMediaBox().getHeight() - MARGIN;
 		}
 	}
 
 	private static void writeRow(PDPageContentStream content, float x, float y, String[] cols) throws IOException {
-		// Column widths tuned for A4 width with small margins
-		// Sum ~= 790 points to fit A4 landscape (842pt) with margins
-		float[] colWidths = {36f, 110f, 32f, 60f, 80f, 80f, 70f, 70f, 140f, 44f, 88f};
 		float cx = x;
-		for (int i = 0; i < Math.min(cols.length, colWidths.length); i++) {
-			text(content, cx, y, truncate(cols[i], (int)(colWidths[i] / 5))); // tighter fit per width
-			cx += colWidths[i];
+		for (int i = 0; i < Math.min(cols.length, COL_WIDTHS.length); i++) {
+			text(content, cx, y, truncate(cols[i], (int)(COL_WIDTHS[i] / 5))); // tighter fit per width
+			cx += COL_WIDTHS[i];
 		}
 	}
 
@@ -101,5 +139,3 @@ public final class PdfGenerator {
 	private static String ns(String s) { return s == null ? "" : s; }
 	private static String truncate(String s, int maxChars) { return s != null && s.length() > maxChars ? s.substring(0, maxChars - 1) + "…" : ns(s); }
 }
-
-
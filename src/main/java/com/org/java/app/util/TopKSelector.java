@@ -0,0 +1,168 @@
+package com.org.java.app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Bounded-heap selection of the k highest or lowest elements by a primitive
+ * double key, after skipping {@code offset} elements. It gives the same result
+ * as {@code sorted(...).skip(offset).limit(k)}, but keeps only
+ * {@code offset + k} entries and runs in O(n log(offset + k)) instead of
+ * sorting and copying the whole input.
+ *
+ * Equal keys keep their encounter order (like a stable sort) for sequential
+ * streams. Parallel streams still return the right keys, but the order of
+ * equal keys is not defined.
+ */
+public final class TopKSelector<T> {
+
+	private final ToDoubleFunction<? super T> keyFunction;
+	private final boolean highest;
+	private final int offset;
+	private final int capacity;
+
+	// binary heap whose root is the entry that would be evicted first
+	private final double[] keys;
+	private final long[] sequence;
+	private final Object[] items;
+	private int size;
+	private long seen;
+
+	private TopKSelector(ToDoubleFunction<? super T> keyFunction, boolean highest, int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("offset and limit must not be negative");
+		}
+		this.keyFunction = keyFunction;
+		this.highest = highest;
+		this.offset = offset;
+		this.capacity = Math.addExact(offset, limit);
+		this.keys = new double[capacity];
+		this.sequence = new long[capacity];
+		this.items = new Object[capacity];
+	}
+
+	/** Collects the elements ranked offset+1 .. offset+limit by descending key. */
+	public static <T> Collector<T, ?, List<T>> highest(ToDoubleFunction<? super T> keyFunction, int offset, int limit) {
+		return collector(keyFunction, true, offset, limit);
+	}
+
+	/** Collects the elements ranked offset+1 .. offset+limit by ascending key. */
+	public static <T> Collector<T, ?, List<T>> lowest(ToDoubleFunction<? super T> keyFunction, int offset, int limit) {
+		return collector(keyFunction, false, offset, limit);
+	}
+
+	private static <T> Collector<T, TopKSelector<T>, List<T>> collector(ToDoubleFunction<? super T> keyFunction,
+			boolean highest, int offset, int limit) {
+		return Collector.of(() -> new TopKSelector<T>(keyFunction, highest, offset, limit), TopKSelector::add,
+				TopKSelector::merge, TopKSelector::result);
+	}
+
+	void add(T item) {
+		offer(keyFunction.applyAsDouble(item), seen++, item);
+	}
+
+	TopKSelector<T> merge(TopKSelector<T> other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.keys[i], seen++, other.items[i]);
+		}
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	List<T> result() {
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		// best entry first, i.e. the reverse of the heap's eviction order
+		Arrays.sort(order, this::compareEviction);
+		if (size <= offset) {
+			return Collections.emptyList();
+		}
+		List<T> result = new ArrayList<>(size - offset);
+		for (int i = offset; i < size; i++) {
+			result.add((T) items[order[i]]);
+		}
+		return result;
+	}
+
+	private void offer(double key, long seq, Object item) {
+		if (capacity == 0) {
+			return;
+		}
+		if (size < capacity) {
+			keys[size] = key;
+			sequence[size] = seq;
+			items[size] = item;
+			siftUp(size++);
+			return;
+		}
+		// replace the root only if the new entry ranks better than it
+		if (compare(key, seq, keys[0], sequence[0]) < 0) {
+			keys[0] = key;
+			sequence[0] = seq;
+			items[0] = item;
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Orders entries by rank: negative when (k1, s1) ranks before (k2, s2). Earlier
+	 * sequence numbers win ties.
+	 */
+	private int compare(double k1, long s1, double k2, long s2) {
+		int byKey = highest ? Double.compare(k2, k1) : Double.compare(k1, k2);
+		return byKey != 0 ? byKey : Long.compare(s1, s2);
+	}
+
+	/** Positive when entry a should be evicted before entry b. */
+	private int compareEviction(int a, int b) {
+		return compare(keys[a], sequence[a], keys[b], sequence[b]);
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (compareEviction(i, parent) <= 0) {
+				return;
+			}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int left = 2 * i + 1;
+			if (left >= size) {
+				return;
+			}
+			int worst = left;
+			int right = left + 1;
+			if (right < size && compareEviction(right, left) > 0) {
+				worst = right;
+			}
+			if (compareEviction(worst, i) <= 0) {
+				return;
+			}
+			swap(i, worst);
+			i = worst;
+		}
+	}
+
+	private void swap(int a, int b) {
+		double k = keys[a];
+		keys[a] = keys[b];
+		keys[b] = k;
+		long s = sequence[a];
+		sequence[a] = sequence[b];
+		sequence[b] = s;
+		Object o = items[a];
+		items[a] = items[b];
+		items[b] = o;
+	}
+}
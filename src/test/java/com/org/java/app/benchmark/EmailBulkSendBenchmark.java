@@ -0,0 +1,76 @@
+package com.org.java.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.dto.EmailDeliveryDto;
+import com.org.java.app.servicetest.LocalSmtpStub;
+import com.org.java.app.util.EmailSender;
+
+/**
+ * Compares messages/s of one {@link EmailSender#sendPdf} call per recipient
+ * (new SMTP connection and attachment encoding per message) with one
+ * {@link EmailSender#sendPdfToAll} call (pooled connection, attachment encoded
+ * once) against {@link LocalSmtpStub}, for 1, 10 and 100 recipients.
+ *
+ * Not a unit test; run it manually, e.g. {@code java -cp
+ * target/test-classes:target/classes:<deps>
+ * com.org.java.app.benchmark.EmailBulkSendBenchmark 500}, where the argument
+ * is the attachment size in KB.
+ */
+public class EmailBulkSendBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int attachmentKb = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		byte[] pdf = new byte[attachmentKb * 1024];
+		new Random(42).nextBytes(pdf);
+
+		try (LocalSmtpStub smtp = new LocalSmtpStub(0)) {
+			JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+			mailSender.setHost("127.0.0.1");
+			mailSender.setPort(smtp.getPort());
+			mailSender.getJavaMailProperties().put("mail.smtp.from", "reports@test.local");
+			EmailSender emailSender = new EmailSender();
+			ReflectionTestUtils.setField(emailSender, "mailSender", mailSender);
+
+			// warm up class loading and JIT
+			run(emailSender, pdf, 20);
+
+			System.out.printf("%-10s %14s %14s %16s%n", "recipients", "sendPdf msg/s", "bulk msg/s", "bulk p99 us/msg");
+			for (int recipients : new int[] { 1, 10, 100 }) {
+				double[] result = run(emailSender, pdf, recipients);
+				System.out.printf("%-10d %14.0f %14.0f %16.0f%n", recipients, result[0], result[1], result[2]);
+			}
+			emailSender.closeTransports();
+		}
+	}
+
+	/** Returns {messages/s one by one, messages/s bulk, p99 per-message latency of bulk in us}. */
+	private static double[] run(EmailSender emailSender, byte[] pdf, int count) throws Exception {
+		List<String> recipients = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			recipients.add("head" + i + "@example.com");
+		}
+
+		long start = System.nanoTime();
+		for (String recipient : recipients) {
+			emailSender.sendPdf(recipient, "Employees Report", "<p>report</p>", pdf, "employees.pdf");
+		}
+		double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+		start = System.nanoTime();
+		List<EmailDeliveryDto> results = emailSender.sendPdfToAll(recipients, "Employees Report", "<p>report</p>", pdf,
+				"employees.pdf");
+		double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+		long[] latencies = results.stream().mapToLong(EmailDeliveryDto::getLatencyMicros).toArray();
+		Arrays.sort(latencies);
+		long p99 = latencies[Math.min(latencies.length - 1, (int) Math.ceil(latencies.length * 0.99) - 1)];
+		return new double[] { count / singleSeconds, count / bulkSeconds, p99 };
+	}
+}
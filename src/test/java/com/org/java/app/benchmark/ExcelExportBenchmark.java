@@ -0,0 +1,63 @@
+package com.org.java.app.benchmark;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.util.ExcelGenerator;
+
+/**
+ * Compares peak heap and wall time of the in-memory XSSF export
+ * ({@link ExcelGenerator#generateEmployeesExcel}) with the streaming SXSSF
+ * export ({@link ExcelGenerator#writeEmployeesExcel}).
+ *
+ * Not a unit test; run it manually, one size per JVM for clean heap numbers,
+ * e.g. {@code java -Xmx4g -cp target/test-classes:target/classes:<deps>
+ * com.org.java.app.benchmark.ExcelExportBenchmark 200000}.
+ */
+public class ExcelExportBenchmark {
+
+	public static void main(String[] args) {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+		// the old path needs the rows as a list, the controller used to build it first
+		measure("XSSF + autoSize", () -> ExcelGenerator.generateEmployeesExcel(employees(rows)));
+		measure("SXSSF streaming", () -> ExcelGenerator.writeEmployeesExcel(
+				source -> source.accept(IntStream.rangeClosed(1, rows).mapToObj(ExcelExportBenchmark::employee)),
+				OutputStream.nullOutputStream()));
+	}
+
+	private static void measure(String name, Runnable export) {
+		System.gc();
+		List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				heapPools.add(pool);
+			}
+		}
+		long start = System.nanoTime();
+		export.run();
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		long peakBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+		System.out.printf("%-16s %,8d ms  peak heap %,8d MB%n", name, millis, peakBytes / (1024 * 1024));
+	}
+
+	private static List<Employee> employees(int rows) {
+		List<Employee> employees = new ArrayList<>(rows);
+		for (int i = 1; i <= rows; i++) {
+			employees.add(employee(i));
+		}
+		return employees;
+	}
+
+	private static Employee employee(int id) {
+		return new Employee(id, "employee" + id, 20 + id % 40, 20_000 + id % 90_000, "Engineer", "Java", "Tech",
+				9_000_000_000L + id, "employee" + id + "@example.com", id % 50, "Dept" + id % 50);
+	}
+}
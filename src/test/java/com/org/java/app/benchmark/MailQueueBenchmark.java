@@ -0,0 +1,107 @@
+package com.org.java.app.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.dto.MailJobDto;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.service.EmployeeService;
+import com.org.java.app.serviceimpl.MailQueueServiceImpl;
+import com.org.java.app.servicetest.LocalSmtpStub;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.EmailSender;
+
+/**
+ * Measures end-to-end throughput of {@link MailQueueServiceImpl}: messages/s
+ * from the first {@code queueReportEmail} call until every job is SENT, and
+ * the number of SMTP sessions the batches needed, against
+ * {@link LocalSmtpStub}.
+ *
+ * Not a unit test; run it manually, e.g. {@code java -cp
+ * target/test-classes:target/classes:<deps>
+ * com.org.java.app.benchmark.MailQueueBenchmark 2000 50}, where the arguments
+ * are the number of messages and the batch size.
+ */
+public class MailQueueBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+		try (LocalSmtpStub smtp = new LocalSmtpStub(0)) {
+			// warm up class loading and JIT
+			run(smtp, 100, batchSize);
+
+			int sessionsBefore = smtp.getSessions();
+			double seconds = run(smtp, messages, batchSize);
+			System.out.printf("%,d messages in %.3f s = %,.0f messages/s over %d SMTP sessions (batch size %d)%n",
+					messages, seconds, messages / seconds, smtp.getSessions() - sessionsBefore, batchSize);
+		}
+	}
+
+	/** Returns the seconds until all messages were delivered. */
+	private static double run(LocalSmtpStub smtp, int messages, int batchSize) throws InterruptedException {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(smtp.getPort());
+		mailSender.getJavaMailProperties().put("mail.smtp.from", "reports@test.local");
+		EmailSender emailSender = new EmailSender();
+		ReflectionTestUtils.setField(emailSender, "mailSender", mailSender);
+		MailQueueServiceImpl mailQueueService = mailQueueService(emailSender, messages, batchSize);
+		try {
+			long start = System.nanoTime();
+			List<String> trackingIds = new ArrayList<>(messages);
+			for (int i = 0; i < messages; i++) {
+				trackingIds.add(mailQueueService.queueReportEmail(Collections.singletonList("user" + i + "@test.local")));
+			}
+			for (String trackingId : trackingIds) {
+				while (mailQueueService.findMailJob(trackingId).getStatus() != MailJobDto.Status.SENT) {
+					if (mailQueueService.findMailJob(trackingId).getStatus() == MailJobDto.Status.FAILED) {
+						throw new IllegalStateException("mail job " + trackingId + " failed");
+					}
+					Thread.sleep(1);
+				}
+			}
+			return (System.nanoTime() - start) / 1e9;
+		} finally {
+			mailQueueService.shutdown();
+			emailSender.closeTransports();
+		}
+	}
+
+	private static MailQueueServiceImpl mailQueueService(EmailSender emailSender, int capacity, int batchSize) {
+		EmployeeService employeeService = mock(EmployeeService.class);
+		willAnswer(invocation -> {
+			Consumer<Stream<Employee>> consumer = invocation.getArgument(0);
+			consumer.accept(Stream.of(new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L,
+					"john@test.com", 10, "IT")));
+			return null;
+		}).given(employeeService).streamAllEmployeeDetails(any());
+		EmployeeSnapshotStore employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", mock(EmployeeRepository.class));
+
+		MailQueueServiceImpl mailQueueService = new MailQueueServiceImpl();
+		ReflectionTestUtils.setField(mailQueueService, "emailSender", emailSender);
+		ReflectionTestUtils.setField(mailQueueService, "employeeService", employeeService);
+		ReflectionTestUtils.setField(mailQueueService, "employeeSnapshotStore", employeeSnapshotStore);
+		ReflectionTestUtils.setField(mailQueueService, "workers", 2);
+		ReflectionTestUtils.setField(mailQueueService, "capacity", capacity);
+		ReflectionTestUtils.setField(mailQueueService, "batchSize", batchSize);
+		ReflectionTestUtils.setField(mailQueueService, "maxAttempts", 3);
+		ReflectionTestUtils.setField(mailQueueService, "initialBackoffMs", 10L);
+		ReflectionTestUtils.setField(mailQueueService, "maxBackoffMs", 100L);
+		mailQueueService.init();
+		return mailQueueService;
+	}
+}
@@ -0,0 +1,65 @@
+package com.org.java.app.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.org.java.app.search.InvertedIndex;
+
+/**
+ * Query latency of {@link InvertedIndex} over synthetic employees with the
+ * field weights of EmployeeSearchIndex.
+ *
+ * Not a unit test; run it manually, e.g. {@code java -Xmx4g -cp
+ * target/test-classes:target/classes:<deps>
+ * com.org.java.app.benchmark.SearchIndexBenchmark}.
+ */
+public class SearchIndexBenchmark {
+
+	private static final int[] SIZES = { 100_000, 1_000_000 };
+	private static final int QUERIES = 20_000;
+
+	private static final String[] FIRST = { "john", "mary", "suresh", "naveen", "kumar", "alice", "bob", "ravi",
+			"priya", "anil", "sita", "ram", "li", "wei", "ana", "jose", "fatima", "omar", "yuki", "hans" };
+	private static final String[] LAST = { "smith", "rao", "reddy", "sharma", "patel", "garcia", "chen", "wang",
+			"khan", "mueller", "tanaka", "silva", "kim", "lee", "nguyen" };
+	private static final String[] DESIGNATIONS = { "Software Engineer", "Senior Engineer", "Manager", "Analyst",
+			"Tester", "Architect", "HR Executive", "Accountant" };
+	private static final String[] DEPARTMENTS = { "IT", "HR", "Finance", "Sales", "Support", "Marketing" };
+	private static final String[] SECTORS = { "Tech", "Banking", "Retail", "Health" };
+	private static final String[] PLATFORMS = { "Java", "Python", "DotNet", "Go", "Node" };
+	private static final String[] SEARCHES = { "com", "john", "engineer", "john smith", "senior engineer it",
+			"mary rao1234", "mail com", "suresh reddy finance", "kumar", "java tech" };
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			Random random = new Random(1);
+			// same order as EmployeeSearchIndex.FIELDS
+			InvertedIndex index = new InvertedIndex(new double[] { 3.0, 2.0, 1.5, 1.0, 1.0, 1.0 }, size);
+			long start = System.nanoTime();
+			for (int id = 1; id <= size; id++) {
+				String first = FIRST[random.nextInt(FIRST.length)];
+				String last = LAST[random.nextInt(LAST.length)] + random.nextInt(2000);
+				index.put(id, new String[] { first + " " + last, DESIGNATIONS[random.nextInt(DESIGNATIONS.length)],
+						DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], SECTORS[random.nextInt(SECTORS.length)],
+						PLATFORMS[random.nextInt(PLATFORMS.length)], first + "." + last + "@mail.com" });
+			}
+			index.trim();
+			System.out.printf("%,d employees indexed in %d ms: %,d terms, %,d KB postings, %,d KB skip data%n", size,
+					(System.nanoTime() - start) / 1_000_000, index.terms(), index.postingBytes() / 1024,
+					index.skipBytes() / 1024);
+
+			long[] nanos = new long[QUERIES];
+			// first round warms up the JIT
+			for (int round = 0; round < 2; round++) {
+				for (int i = 0; i < QUERIES; i++) {
+					long queryStart = System.nanoTime();
+					index.search(SEARCHES[i % SEARCHES.length], 10);
+					nanos[i] = System.nanoTime() - queryStart;
+				}
+			}
+			Arrays.sort(nanos);
+			System.out.printf("  top-10 latency: p50 %d us, p99 %d us, max %d us%n", nanos[QUERIES / 2] / 1000,
+					nanos[QUERIES * 99 / 100] / 1000, nanos[QUERIES - 1] / 1000);
+		}
+	}
+}
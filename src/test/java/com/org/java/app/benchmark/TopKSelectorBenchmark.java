@@ -0,0 +1,70 @@
+package com.org.java.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.util.TopKSelector;
+
+/**
+ * Compares the old sort-then-skip selection with {@link TopKSelector} for the
+ * "particular records" query shape (skip 1, take 4).
+ *
+ * Not a unit test; run it manually with enough heap for the largest size, e.g.
+ * {@code java -Xmx4g -cp target/test-classes:target/classes:<deps>
+ * com.org.java.app.benchmark.TopKSelectorBenchmark}.
+ */
+public class TopKSelectorBenchmark {
+
+	private static final int[] SIZES = { 100_000, 1_000_000, 10_000_000 };
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			List<Employee> employees = employees(size);
+			// warm-up so both paths are compiled before measuring
+			fullSort(employees);
+			topK(employees);
+
+			long sortNanos = Long.MAX_VALUE;
+			long topKNanos = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				List<Employee> sorted = fullSort(employees);
+				sortNanos = Math.min(sortNanos, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				List<Employee> selected = topK(employees);
+				topKNanos = Math.min(topKNanos, System.nanoTime() - start);
+
+				if (!sorted.equals(selected)) {
+					throw new IllegalStateException("selections differ for " + size + " rows");
+				}
+			}
+			System.out.printf("%,12d rows  sort+skip %9.2f ms  top-k %9.2f ms  speedup %6.1fx%n", size,
+					sortNanos / 1e6, topKNanos / 1e6, (double) sortNanos / topKNanos);
+		}
+	}
+
+	private static List<Employee> fullSort(List<Employee> employees) {
+		return employees.stream().sorted(Comparator.comparingDouble(Employee::getSalary)).skip(1).limit(4)
+				.collect(Collectors.toList());
+	}
+
+	private static List<Employee> topK(List<Employee> employees) {
+		return employees.stream().collect(TopKSelector.lowest(Employee::getSalary, 1, 4));
+	}
+
+	private static List<Employee> employees(int size) {
+		Random random = new Random(size);
+		List<Employee> employees = new ArrayList<>(size);
+		for (int i = 1; i <= size; i++) {
+			employees.add(new Employee(i, "emp", 30, 20_000 + random.nextInt(200_000), "Dev", "Java", "Tech", i,
+					"emp@x.com", 10, "IT"));
+		}
+		return employees;
+	}
+}
@@ -0,0 +1,90 @@
+package com.org.java.app.deduptest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.org.java.app.dedup.ExactDuplicateFinder;
+import com.org.java.app.dedup.KeyColumn;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+
+class ExactDuplicateFinderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void finish_countsKeysOverTheChosenColumns() throws IOException {
+		ExactDuplicateFinder.Result result;
+		try (ExactDuplicateFinder finder = new ExactDuplicateFinder(KeyColumn.parse("deptName, salary"), 1 << 20,
+				tempDir.resolve("scan"))) {
+			finder.add(employee(1, "suresh", "IT", 50000));
+			finder.add(employee(2, "naveen", "IT", 50000));
+			finder.add(employee(3, "ravi", "HR", 50000));
+			finder.add(employee(4, "anil", null, -0.0));
+			finder.add(employee(5, "kiran", null, 0.0));
+			finder.add(employee(6, "mohan", "IT", 50000));
+			result = finder.finish(10);
+		}
+
+		assertThat(result.getRows()).isEqualTo(6);
+		assertThat(result.getDistinctKeys()).isEqualTo(3);
+		assertThat(result.getDuplicateKeys()).isEqualTo(2);
+		assertThat(result.getDuplicateRows()).isEqualTo(5);
+		assertThat(result.getSpillFiles()).isZero();
+		List<ExactDuplicateFinder.Group> groups = result.getGroups();
+		assertThat(groups.get(0).getValues()).containsExactly("IT", 50000.0);
+		assertThat(groups.get(0).getCount()).isEqualTo(3);
+		assertThat(groups.get(0).getSampleIds()).containsExactly(1, 2, 6);
+		assertThat(groups.get(1).getValues()).containsExactly(null, 0.0);
+		assertThat(groups.get(1).getSampleIds()).containsExactly(4, 5);
+	}
+
+	@Test
+	void finish_givesTheSameAnswerWhenSpillingToDisk() throws IOException {
+		Path scan = tempDir.resolve("scan");
+		ExactDuplicateFinder.Result result;
+		try (ExactDuplicateFinder finder = new ExactDuplicateFinder(KeyColumn.parse("empName,age"), 64 * 1024,
+				scan)) {
+			// 20000 distinct names, every 100th of them carried by 3 rows
+			int empId = 1;
+			for (int i = 0; i < 20000; i++) {
+				int copies = i % 100 == 0 ? 3 : 1;
+				for (int c = 0; c < copies; c++) {
+					finder.add(employee(empId++, "name" + i, "IT", 1000));
+				}
+			}
+			result = finder.finish(5);
+		}
+
+		assertThat(result.getSpillFiles()).isPositive();
+		assertThat(result.getRows()).isEqualTo(20400);
+		assertThat(result.getDistinctKeys()).isEqualTo(20000);
+		assertThat(result.getDuplicateKeys()).isEqualTo(200);
+		assertThat(result.getDuplicateRows()).isEqualTo(600);
+		assertThat(result.getGroups()).hasSize(5);
+		assertThat(result.getGroups().get(0).getValues()).containsExactly("name0", 30);
+		assertThat(result.getGroups().get(0).getSampleIds()).containsExactly(1, 2, 3);
+		assertThat(Files.exists(scan)).isFalse();
+	}
+
+	@Test
+	void parse_rejectsUnknownAndRepeatedColumns() {
+		assertThatThrownBy(() -> KeyColumn.parse("deptName,bonus")).isInstanceOf(InvalidInputException.class);
+		assertThatThrownBy(() -> KeyColumn.parse("salary,salary")).isInstanceOf(InvalidInputException.class);
+		assertThatThrownBy(() -> KeyColumn.parse(" ")).isInstanceOf(InvalidInputException.class);
+	}
+
+	private static Employee employee(int empId, String empName, String deptName, double salary) {
+		return new Employee(empId, empName, 30, salary, "Developer", "Java", "IT", 9876543210L, empName + "@mail.com",
+				1, deptName);
+	}
+}
@@ -0,0 +1,74 @@
+package com.org.java.app.deduptest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.dedup.FuzzyDuplicateFinder;
+import com.org.java.app.entity.Employee;
+
+class FuzzyDuplicateFinderTest {
+
+	private final FuzzyDuplicateFinder finder = new FuzzyDuplicateFinder(2, 2);
+
+	@Test
+	void find_clustersRecordsWithTyposInTwoFields() {
+		List<Employee> employees = List.of(
+				employee(1, "Suresh Kumar", "suresh.kumar@mail.com", 9876543210L),
+				employee(2, "Suresh Kumarr", "suresh.kumar@mail.com", 1111111111L),
+				employee(3, "Naveen", "naveen@mail.com", 9123456789L),
+				employee(4, "suresh kumar", "suresh.kuamr@mail.com", 9876543219L),
+				employee(5, "Naveen", "naveen.k@yahoo.com", 9988776655L));
+
+		FuzzyDuplicateFinder.Result result = finder.find(employees);
+
+		assertThat(result.getClusters()).hasSize(1);
+		assertThat(result.getClusters().get(0)).containsExactly(0, 1, 3);
+		assertThat(result.getMatchedPairs()).isEqualTo(2);
+	}
+
+	@Test
+	void find_chainsMatchesThroughAThirdRecord() {
+		// 1 and 3 agree on the name only, but both match 2
+		List<Employee> employees = List.of(
+				employee(1, "Ravi Teja", "ravi.teja@mail.com", 9100000005L),
+				employee(2, "Ravi Teja", "ravi.teja@mail.com", 9000000002L),
+				employee(3, "Ravi Tej", "ravi.t@other.com", 9000000002L));
+
+		List<int[]> clusters = finder.find(employees).getClusters();
+
+		assertThat(clusters).hasSize(1);
+		assertThat(clusters.get(0)).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	void find_needsAllThreeFieldsWhenAsked() {
+		List<Employee> employees = List.of(
+				employee(1, "Anil", "anil@mail.com", 9000000001L),
+				employee(2, "Anil", "anil@mail.com", 7000000002L));
+
+		assertThat(finder.find(employees).getClusters()).hasSize(1);
+		assertThat(new FuzzyDuplicateFinder(2, 3).find(employees).getClusters()).isEmpty();
+	}
+
+	@Test
+	void find_staysLinearForAPlaceholderEmailSharedByManyRows() {
+		List<Employee> employees = new ArrayList<>();
+		// no names and no numbers, so the email alone never makes a match
+		for (int id = 1; id <= 5000; id++) {
+			employees.add(employee(id, null, "noreply@mail.com", 0));
+		}
+
+		FuzzyDuplicateFinder.Result result = finder.find(employees);
+
+		assertThat(result.getClusters()).isEmpty();
+		assertThat(result.getCandidatePairs()).isLessThan(5000L * 33);
+	}
+
+	private static Employee employee(int empId, String empName, String email, long mobileNumber) {
+		return new Employee(empId, empName, 30, 50000, "Developer", "Java", "IT", mobileNumber, email, 1, "IT");
+	}
+}
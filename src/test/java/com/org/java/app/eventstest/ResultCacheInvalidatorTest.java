@@ -0,0 +1,99 @@
+package com.org.java.app.eventstest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.configuration.ResultCacheConfig;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.events.EmployeeEvent;
+import com.org.java.app.events.ResultCacheInvalidator;
+import com.org.java.app.exception.InvalidInputException;
+
+class ResultCacheInvalidatorTest {
+
+	private CacheManager cacheManager;
+	private ResultCacheInvalidator resultCacheInvalidator;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager = new ResultCacheConfig().cacheManager(100, Duration.ofMinutes(10));
+		resultCacheInvalidator = new ResultCacheInvalidator();
+		ReflectionTestUtils.setField(resultCacheInvalidator, "cacheManager", cacheManager);
+		cacheManager.getCache(ResultCacheConfig.MAX_SALARY).put("key", "cached");
+		cacheManager.getCache(ResultCacheConfig.SUM_SALARY).put("key", 100.0);
+	}
+
+	@Test
+	void onEmployeeEvent_clearsEveryResultCache() {
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L,
+				"john@test.com", 10, "IT");
+
+		resultCacheInvalidator.onEmployeeEvent(new EmployeeEvent(this, EmployeeEvent.ChangeType.CREATED,
+				Collections.emptyList(), Collections.singletonList(employee)));
+
+		assertThat(cacheManager.getCache(ResultCacheConfig.MAX_SALARY).get("key")).isNull();
+		assertThat(cacheManager.getCache(ResultCacheConfig.SUM_SALARY).get("key")).isNull();
+	}
+
+	@Test
+	void onEmployeeEvent_ignoresDemoEventsWithoutChangeType() {
+		resultCacheInvalidator.onEmployeeEvent(new EmployeeEvent(this, "1", "John"));
+
+		assertThat(cacheManager.getCache(ResultCacheConfig.MAX_SALARY).get("key")).isNotNull();
+	}
+
+	@Test
+	void get_whenClearedDuringComputation_returnsValueWithoutCachingIt() {
+		Cache cache = cacheManager.getCache(ResultCacheConfig.MIN_SALARY);
+
+		// a reader misses and computes from data before the commit, which then clears the cache
+		Double stale = cache.get("key", () -> {
+			resultCacheInvalidator.onEmployeeEvent(new EmployeeEvent(this, EmployeeEvent.ChangeType.UPDATED,
+					Collections.emptyList(), Collections.emptyList()));
+			return 100.0;
+		});
+
+		assertThat(stale).isEqualTo(100.0);
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.get("key", () -> 200.0)).isEqualTo(200.0); // computed after the clear
+		assertThat(cache.get("key").get()).isEqualTo(200.0);
+	}
+
+	@Test
+	void get_whenComputationFails_cachesNothing() {
+		Cache cache = cacheManager.getCache(ResultCacheConfig.SALARY_HISTOGRAM);
+
+		assertThatThrownBy(() -> cache.get("bad arguments", () -> {
+			throw new InvalidInputException("give either width or boundaries");
+		})).isInstanceOf(Cache.ValueRetrievalException.class).hasCauseInstanceOf(InvalidInputException.class);
+		assertThat(cache.get("bad arguments")).isNull();
+	}
+
+	@Test
+	void get_returnsTheSameReadOnlyCopyOnEveryHit() {
+		Cache cache = cacheManager.getCache(ResultCacheConfig.GROUP_BY_SALARY);
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L,
+				"john@test.com", 10, "IT");
+		List<Employee> computed = new ArrayList<>(Collections.singletonList(employee));
+
+		List<Employee> first = cache.get("key", () -> computed);
+		computed.get(0).setSalary(1.0); // the computing caller keeps its own instances
+		computed.clear();
+		List<Employee> second = cache.get("key", () -> computed);
+
+		assertThat(second).isSameAs(first);
+		assertThat(second).extracting(Employee::getSalary).containsExactly(50000.0);
+		assertThatThrownBy(() -> second.add(employee)).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
@@ -0,0 +1,55 @@
+package com.org.java.app.searchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.search.EmployeeSearchIndex;
+import com.org.java.app.search.InvertedIndex;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void update_whenChangesArriveOutOfCommitOrder_indexesNewestRow() {
+		given(employeeRepository.findAll()).willReturn(Collections.singletonList(employee("John", 0L)));
+		EmployeeSnapshotStore employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+		employeeSnapshotStore.init();
+		EmployeeSearchIndex employeeSearchIndex = new EmployeeSearchIndex();
+		ReflectionTestUtils.setField(employeeSearchIndex, "employeeSnapshotStore", employeeSnapshotStore);
+		employeeSearchIndex.init();
+
+		// John -> Mary (v1) commits before Mary -> Ravi (v2), but is applied after it
+		List<Employee> mary = Collections.singletonList(employee("Mary", 1L));
+		List<Employee> ravi = Collections.singletonList(employee("Ravi", 2L));
+		employeeSnapshotStore.apply(mary, ravi);
+		employeeSearchIndex.update(mary, ravi);
+		List<Employee> john = Collections.singletonList(employee("John", 0L));
+		employeeSnapshotStore.apply(john, mary);
+		employeeSearchIndex.update(john, mary);
+
+		assertThat(employeeSearchIndex.search("ravi", 10)).extracting(InvertedIndex.Hit::getId).containsExactly(1);
+		assertThat(employeeSearchIndex.search("mary", 10)).isEmpty();
+		assertThat(employeeSearchIndex.search("john", 10)).isEmpty();
+	}
+
+	private static Employee employee(String name, Long version) {
+		return new Employee(1, name, 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L,
+				name.toLowerCase() + "@test.com", 10, "IT", version);
+	}
+}
@@ -0,0 +1,89 @@
+package com.org.java.app.searchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.search.InvertedIndex;
+
+class InvertedIndexTest {
+
+	private static final double[] WEIGHTS = { 3.0, 1.0 };
+
+	@Test
+	void search_ranksNameMatchAboveEmailMatch() {
+		InvertedIndex index = new InvertedIndex(WEIGHTS, 16);
+		index.put(1, new String[] { "Alice Rao", "john.doe@mail.com" });
+		index.put(2, new String[] { "John Smith", "jsmith@mail.com" });
+		index.put(3, new String[] { "Bob Chen", "bob@mail.com" });
+
+		List<InvertedIndex.Hit> hits = index.search("john", 10);
+
+		assertThat(hits).extracting(InvertedIndex.Hit::getId).containsExactly(2, 1);
+	}
+
+	@Test
+	void put_replacesDocumentWithSameId() {
+		InvertedIndex index = new InvertedIndex(WEIGHTS, 16);
+		index.put(1, new String[] { "John Smith", null });
+		index.put(1, new String[] { "Mary Smith", null });
+
+		assertThat(index.search("john", 10)).isEmpty();
+		assertThat(index.search("mary", 10)).extracting(InvertedIndex.Hit::getId).containsExactly(1);
+		assertThat(index.documents()).isEqualTo(1);
+	}
+
+	@Test
+	void remove_hidesDocumentAndCompactsWhenMostlyDeleted() {
+		InvertedIndex index = new InvertedIndex(WEIGHTS, 16);
+		for (int id = 1; id <= 3000; id++) {
+			index.put(id, new String[] { "name" + id + " common", "user" + id + "@mail.com" });
+		}
+		for (int id = 1; id <= 2000; id++) {
+			assertThat(index.remove(id)).isTrue();
+		}
+
+		assertThat(index.remove(1)).isFalse();
+		assertThat(index.documents()).isEqualTo(1000);
+		assertThat(index.deletedDocuments()).isLessThan(1000);
+		assertThat(index.search("common", 5000)).hasSize(1000).allMatch(hit -> hit.getId() > 2000);
+		assertThat(index.search("name2500", 10)).extracting(InvertedIndex.Hit::getId).containsExactly(2500);
+	}
+
+	@Test
+	void search_topKMatchesExhaustiveRanking() {
+		String[] words = { "java", "python", "engineer", "manager", "it", "hr", "senior", "analyst" };
+		Random random = new Random(7);
+		InvertedIndex index = new InvertedIndex(WEIGHTS, 16);
+		for (int id = 1; id <= 20_000; id++) {
+			StringBuilder name = new StringBuilder();
+			for (int i = random.nextInt(4); i >= 0; i--) {
+				name.append(words[random.nextInt(words.length)]).append(' ');
+			}
+			index.put(id, new String[] { name.toString(), words[random.nextInt(words.length)] });
+		}
+
+		for (String query : new String[] { "java", "senior engineer it", "hr manager", "analyst python java" }) {
+			List<Double> top = index.search(query, 10).stream().map(InvertedIndex.Hit::getScore)
+					.collect(Collectors.toList());
+			List<Double> all = new ArrayList<>(index.search(query, 20_000).stream().map(InvertedIndex.Hit::getScore)
+					.sorted(Comparator.reverseOrder()).collect(Collectors.toList()));
+			// the pruned search must find the same scores as scoring every match
+			assertThat(top).containsExactlyElementsOf(all.subList(0, 10));
+		}
+	}
+
+	@Test
+	void search_whenQueryHasNoWordCharacters_returnsNothing() {
+		InvertedIndex index = new InvertedIndex(WEIGHTS, 16);
+		index.put(1, new String[] { "John", null });
+
+		assertThat(index.search("  @@ ", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,110 @@
+package com.org.java.app.searchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.search.PrefixIndex;
+
+class PrefixIndexTest {
+
+	@Test
+	void complete_ranksByCountThenName() {
+		PrefixIndex index = new PrefixIndex(Map.of("suresh", 2, "sunil", 5, "suma", 2, "naveen", 9));
+
+		List<PrefixIndex.Completion> completions = index.complete("su", 10);
+
+		assertThat(completions).extracting(PrefixIndex.Completion::getName).containsExactly("sunil", "suma", "suresh");
+		assertThat(completions).extracting(PrefixIndex.Completion::getCount).containsExactly(5, 2, 2);
+		assertThat(index.complete("su", 1)).extracting(PrefixIndex.Completion::getName).containsExactly("sunil");
+	}
+
+	@Test
+	void complete_ignoresCase() {
+		PrefixIndex index = new PrefixIndex(Map.of("Ab", 1, "ab", 2, "ABC", 3, "b", 4));
+
+		assertThat(index.complete("AB", 10)).extracting(PrefixIndex.Completion::getName)
+				.containsExactly("ABC", "ab", "Ab");
+		assertThat(index.complete("abc", 10)).extracting(PrefixIndex.Completion::getName).containsExactly("ABC");
+		assertThat(index.complete("x", 10)).isEmpty();
+	}
+
+	@Test
+	void add_isVisibleBeforeAndAfterMerge() {
+		PrefixIndex index = new PrefixIndex(Map.of("ravi", 3, "ramesh", 1));
+		index.add("ramesh", 5);
+		index.add("ravi", -3);
+		index.add("raju", 2);
+
+		assertThat(index.complete("ra", 10)).extracting(PrefixIndex.Completion::getName)
+				.containsExactly("ramesh", "raju");
+		assertThat(index.names()).isEqualTo(2);
+
+		for (int i = 0; i < 5000; i++) {
+			index.add("name" + i, 1);
+		}
+
+		assertThat(index.merges()).isPositive();
+		assertThat(index.pendingChanges()).isLessThan(5000);
+		assertThat(index.complete("ra", 10)).extracting(PrefixIndex.Completion::getCount).containsExactly(6, 2);
+		assertThat(index.names()).isEqualTo(5002);
+		assertThat(index.encodedNameBytes()).isLessThan(5000L * "name0000".length());
+	}
+
+	@Test
+	void complete_matchesBruteForceUnderRandomChanges() {
+		String[] syllables = { "a", "An", "ku", "Ma", "ra", "sh", "Su", "re", "n", "Ee" };
+		Random random = new Random(7);
+		Map<String, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 3000; i++) {
+			expected.merge(randomName(random, syllables), 1, Integer::sum);
+		}
+		PrefixIndex index = new PrefixIndex(expected);
+
+		for (int step = 0; step < 20000; step++) {
+			String name = randomName(random, syllables);
+			int delta = expected.getOrDefault(name, 0) > 0 && random.nextBoolean() ? -1 : 1;
+			expected.merge(name, delta, (a, b) -> a + b == 0 ? null : a + b);
+			index.add(name, delta);
+			if (step % 1000 == 0) {
+				String prefix = randomName(random, syllables).substring(0, 1);
+				assertThat(index.complete(prefix, 8)).extracting(PrefixIndex.Completion::getName)
+						.containsExactlyElementsOf(bruteForce(expected, prefix, 8));
+			}
+		}
+	}
+
+	private static String randomName(Random random, String[] syllables) {
+		StringBuilder name = new StringBuilder();
+		for (int i = 1 + random.nextInt(4); i > 0; i--) {
+			name.append(syllables[random.nextInt(syllables.length)]);
+		}
+		return name.toString();
+	}
+
+	private static List<String> bruteForce(Map<String, Integer> counts, String prefix, int limit) {
+		String folded = prefix.toLowerCase(Locale.ROOT);
+		List<String> names = new ArrayList<>();
+		counts.forEach((name, count) -> {
+			if (name.toLowerCase(Locale.ROOT).startsWith(folded)) {
+				names.add(name);
+			}
+		});
+		names.sort((a, b) -> {
+			int byCount = Integer.compare(counts.get(b), counts.get(a));
+			if (byCount != 0) {
+				return byCount;
+			}
+			int byFolded = a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT));
+			return byFolded != 0 ? byFolded : a.compareTo(b);
+		});
+		return names.subList(0, Math.min(limit, names.size()));
+	}
+}
@@ -0,0 +1,92 @@
+package com.org.java.app.servicetest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.org.java.app.dto.DepartmentSummaryDto;
+import com.org.java.app.entity.DepartmentSummary;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.DepartmentSummaryRepository;
+import com.org.java.app.serviceimpl.DepartmentSummaryServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentSummaryServiceImplTest {
+
+	@Mock
+	private DepartmentSummaryRepository departmentSummaryRepository;
+
+	@InjectMocks
+	private DepartmentSummaryServiceImpl departmentSummaryService;
+
+	@Test
+	void applyChanges_addsNewRowsToTheirDepartment() {
+		departmentSummaryService.applyChanges(Collections.emptyList(), Arrays.asList(
+			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
+			new Employee(2, "B", 26, 300.0, "Dev", "Java", "Tech", 2L, "b@x.com", 10, "IT")));
+
+		verify(departmentSummaryRepository).applyDelta("IT", 2L, 400.0, 100000.0, 100.0, 300.0);
+		verify(departmentSummaryRepository, never()).refreshMinMax(any());
+	}
+
+	@Test
+	void applyChanges_movesChangedRowBetweenDepartmentsAndRefreshesMinMaxOfTheOldOne() {
+		Employee before = new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT");
+		Employee after = new Employee(1, "A", 25, 200.0, "Dev", "Java", "Tech", 1L, "a@x.com", 20, "HR");
+
+		departmentSummaryService.applyChanges(Collections.singletonList(before), Collections.singletonList(after));
+
+		verify(departmentSummaryRepository).applyDelta("HR", 1L, 200.0, 40000.0, 200.0, 200.0);
+		verify(departmentSummaryRepository).applyDelta("IT", -1L, -100.0, -10000.0, null, null);
+		verify(departmentSummaryRepository).refreshMinMax(Set.of("IT"));
+		verify(departmentSummaryRepository).deleteEmpty(Set.of("IT"));
+	}
+
+	@Test
+	void applyChanges_whenSalaryAndDepartmentUnchanged_writesNothing() {
+		Employee before = new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT");
+		Employee after = new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "new@x.com", 10, "IT");
+
+		departmentSummaryService.applyChanges(Collections.singletonList(before), Collections.singletonList(after));
+
+		verifyNoInteractions(departmentSummaryRepository);
+	}
+
+	@Test
+	void findDepartmentSummaries_derivesAverageAndStandardDeviation() {
+		// salaries 100 and 300
+		given(departmentSummaryRepository.findAllByOrderByDeptName()).willReturn(
+			Collections.singletonList(new DepartmentSummary("IT", 2L, 400.0, 100000.0, 100.0, 300.0)));
+
+		List<DepartmentSummaryDto> result = departmentSummaryService.findDepartmentSummaries();
+
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getSalaryAvg()).isEqualTo(200.0);
+		assertThat(result.get(0).getSalaryStdDev()).isEqualTo(100.0);
+	}
+
+	@Test
+	void rebuildDepartmentSummaries_replacesAllRowsFromEmployeeTable() {
+		given(departmentSummaryRepository.insertFromEmployees()).willReturn(0);
+		given(departmentSummaryRepository.findAllByOrderByDeptName()).willReturn(Collections.emptyList());
+
+		departmentSummaryService.rebuildDepartmentSummaries();
+
+		verify(departmentSummaryRepository).deleteAllRows();
+		verify(departmentSummaryRepository).insertFromEmployees();
+	}
+}
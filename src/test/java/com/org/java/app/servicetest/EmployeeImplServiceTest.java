@@ -2,28 +2,63 @@ package com.org.java.app.servicetest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.org.java.app.dto.BulkDeleteResultDto;
+import com.org.java.app.dto.BulkSaveResultDto;
+import com.org.java.app.dto.BulkUpdateResultDto;
+import com.org.java.app.dto.DepartmentSummaryDto;
 import com.org.java.app.dto.EmployeeDto;
+import com.org.java.app.dto.EmployeePatchDto;
+import com.org.java.app.dto.HistogramBucketDto;
+import com.org.java.app.dto.SalaryAggregateDto;
+import com.org.java.app.dto.SalaryHistogramDto;
+import com.org.java.app.dto.SalaryRevisionDto;
+import com.org.java.app.dto.TextAnalysisDto;
 import com.org.java.app.entity.Employee;
+import com.org.java.app.events.EmployeeEvent;
+import com.org.java.app.events.EmployeeSnapshotUpdater;
+import com.org.java.app.exception.InvalidInputException;
 import com.org.java.app.exception.NoDataAvailableException;
 import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.service.DepartmentSummaryService;
 import com.org.java.app.serviceimpl.EmployeeImplService;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeImplServiceTest {
@@ -31,9 +66,36 @@ class EmployeeImplServiceTest {
 	@Mock
 	private EmployeeRepository employeeRepository;
 
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Mock
+	private DepartmentSummaryService departmentSummaryService;
+
 	@InjectMocks
 	private EmployeeImplService employeeImplService;
 
+	@BeforeEach
+	void setUp() {
+		// real snapshot store over the mocked repository; it loads lazily on first read
+		EmployeeSnapshotStore employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+		ReflectionTestUtils.setField(employeeImplService, "employeeSnapshotStore", employeeSnapshotStore);
+		// the mocked transactions always commit, so every event reaches the snapshot right away
+		EmployeeSnapshotUpdater employeeSnapshotUpdater = new EmployeeSnapshotUpdater();
+		ReflectionTestUtils.setField(employeeSnapshotUpdater, "employeeSnapshotStore", employeeSnapshotStore);
+		lenient().doAnswer(invocation -> {
+			employeeSnapshotUpdater.onEmployeeEvent(invocation.getArgument(0));
+			return null;
+		}).when(applicationEventPublisher).publishEvent(any(ApplicationEvent.class));
+	}
+
 	// Basic CRUD Tests
 	
 	  @Test void saveEmployeeDetails_returnsSavedEmployee() { EmployeeDto dto = new
@@ -51,35 +113,248 @@ class EmployeeImplServiceTest {
 
 	@Test
 	void updateEmployeeDetails_returnsUpdatedEmployee() {
-		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 2L);
+		given(employeeRepository.findById(1)).willReturn(Optional.of(
+			new Employee(1, "John", 30, 45000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 2L)));
 		given(employeeRepository.save(any(Employee.class))).willReturn(employee);
 		
 		Employee result = employeeImplService.updateEmployeeDetails(employee);
 		
 		assertThat(result.getEmpName()).isEqualTo("John");
 		verify(employeeRepository).save(employee);
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+		verify(applicationEventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getChangeType()).isEqualTo(EmployeeEvent.ChangeType.UPDATED);
+		assertThat(event.getValue().getCurrent()).containsExactly(employee);
+	}
+
+	@Test
+	void updateEmployeeDetails_publishesStoredRowAsPrevious() {
+		// the snapshot is behind the database, e.g. while another commit is being applied
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			new Employee(1, "John", 30, 40000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 1L)));
+		employeeImplService.findAllEmployeeDetails(); // load the snapshot
+		given(employeeRepository.findById(1)).willReturn(Optional.of(
+			new Employee(1, "John", 30, 45000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "HR", 2L)));
+		given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+		employeeImplService.updateEmployeeDetails(
+			new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 2L));
+
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+		verify(applicationEventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getPrevious()).extracting(Employee::getSalary, Employee::getDeptName)
+			.containsExactly(tuple(45000.0, "HR"));
+	}
+
+	@Test
+	void updateEmployeeDetails_whenVersionIsStale_throwsConflictAndLeavesSnapshot() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			new Employee(1, "John", 30, 45000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 2L)));
+		given(employeeRepository.findById(1)).willReturn(Optional.of(
+			new Employee(1, "John", 30, 45000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 2L)));
+
+		assertThatThrownBy(() -> employeeImplService.updateEmployeeDetails(
+			new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 1L)))
+			.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		verify(employeeRepository, never()).save(any(Employee.class));
+		assertThat(employeeImplService.findAllEmployeeDetails()).extracting(EmployeeDto::getSalary).containsExactly(45000.0);
+	}
+
+	@Test
+	void updateEmployeeDetails_whenVersionMissing_throwsInvalidInputException() {
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
+
+		assertThatThrownBy(() -> employeeImplService.updateEmployeeDetails(employee))
+			.isInstanceOf(InvalidInputException.class)
+			.hasMessageContaining("version");
+		verify(employeeRepository, never()).save(any(Employee.class));
+	}
+
+	@Test
+	void patchEmployeeDetails_appliesOnlySuppliedFields() {
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 3L);
+		given(employeeRepository.findById(1)).willReturn(Optional.of(employee));
+		given(employeeRepository.saveAndFlush(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+		EmployeePatchDto patch = new EmployeePatchDto();
+		patch.setSalary(55000.0);
+		patch.setVersion(3L);
+
+		Employee result = employeeImplService.patchEmployeeDetails(1, patch);
+
+		assertThat(result.getSalary()).isEqualTo(55000.0);
+		assertThat(result.getEmpName()).isEqualTo("John");
+		assertThat(result.getAge()).isEqualTo(30);
+		assertThat(result.getDeptName()).isEqualTo("IT");
+		verify(employeeRepository).saveAndFlush(employee);
+	}
+
+	@Test
+	void patchEmployeeDetails_whenVersionIsStale_throwsConflict() {
+		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 4L);
+		given(employeeRepository.findById(1)).willReturn(Optional.of(employee));
+		EmployeePatchDto patch = new EmployeePatchDto();
+		patch.setSalary(55000.0);
+		patch.setVersion(3L);
+
+		assertThatThrownBy(() -> employeeImplService.patchEmployeeDetails(1, patch))
+			.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(employee.getSalary()).isEqualTo(50000.0);
+		verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+	}
+
+	@Test
+	void patchEmployeeDetails_whenVersionMissing_throwsInvalidInputException() {
+		EmployeePatchDto patch = new EmployeePatchDto();
+		patch.setSalary(55000.0);
+
+		assertThatThrownBy(() -> employeeImplService.patchEmployeeDetails(1, patch))
+			.isInstanceOf(InvalidInputException.class)
+			.hasMessageContaining("version");
+		verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+	}
+
+	@Test
+	void reviseSalaries_updatesByIdRangeAndPublishesOnlyChangedRows() {
+		Employee first = new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT");
+		Employee second = new Employee(2, "C", 27, 300.0, "Dev", "Java", "Tech", 3L, "c@x.com", 20, "HR");
+		Employee last = new Employee(12000, "B", 26, 200.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR");
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(first, second, last));
+		given(employeeRepository.findMinEmpId()).willReturn(1);
+		given(employeeRepository.findMaxEmpId()).willReturn(12000);
+		// the filter matches only employee 1 of the first range
+		given(employeeRepository.findRevisedRowsForUpdate(1.1, 0.0, 1, 5001, "IT", null, null, null))
+			.willReturn(Arrays.asList(first));
+		given(employeeRepository.findRevisedRowsForUpdate(1.1, 0.0, 5001, 10001, "IT", null, null, null))
+			.willReturn(Collections.emptyList());
+		given(employeeRepository.findRevisedRowsForUpdate(1.1, 0.0, 10001, 12001, "IT", null, null, null))
+			.willReturn(Collections.emptyList());
+		given(employeeRepository.reviseSalaries(1.1, 0.0, 1, 5001, "IT", null, null, null)).willReturn(1);
+		given(employeeRepository.findByEmpIds(Arrays.asList(1))).willReturn(
+			Arrays.asList(new Employee(1, "A", 25, 110.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT", 1L)));
+		employeeImplService.findAllEmployeeDetails(); // load the snapshot
+
+		BulkUpdateResultDto result = employeeImplService.reviseSalaries(new SalaryRevisionDto("IT", null, null, null, 10.0, null));
+
+		assertThat(result.getUpdated()).isEqualTo(1);
+		assertThat(result.getChunks()).isEqualTo(3);
+		// ranges without a changing row skip the UPDATE
+		verify(employeeRepository, times(1)).reviseSalaries(any(Double.class), any(Double.class), any(Integer.class),
+			any(Integer.class), any(), any(), any(), any());
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+		verify(applicationEventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getPrevious()).extracting(Employee::getEmpId).containsExactly(1);
+		assertThat(event.getValue().getCurrent()).extracting(Employee::getSalary).containsExactly(110.0);
+		assertThat(employeeImplService.findAllEmployeeDetails()).extracting(EmployeeDto::getSalary)
+			.containsExactly(110.0, 300.0, 200.0);
+	}
+
+	@Test
+	void reviseSalaries_whenPercentAndAmountGiven_throwsInvalidInputException() {
+		assertThatThrownBy(() -> employeeImplService.reviseSalaries(new SalaryRevisionDto(null, null, null, null, 5.0, 100.0)))
+			.isInstanceOf(InvalidInputException.class);
 	}
 
 	@Test
 	void deleteEmployeeDetails_whenEmployeeExists_returnsDeletedEmployee() {
 		Employee employee = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
-		List<Employee> employees = Arrays.asList(employee);
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.findById(1)).willReturn(Optional.of(employee));
 		
 		Employee result = employeeImplService.deleteEmployeeDetails(employee);
 		
 		assertThat(result.getEmpName()).isEqualTo("John");
 		verify(employeeRepository).delete(employee);
+		verify(employeeRepository, never()).findAll();
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+		verify(applicationEventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getChangeType()).isEqualTo(EmployeeEvent.ChangeType.DELETED);
+		assertThat(event.getValue().getEmpId()).isEqualTo("1");
+	}
+
+	@Test
+	void deleteEmployeeDetails_whenRowWasUpdated_deletesLoadedRowWithItsVersion() {
+		Employee stored = new Employee(1, "John", 30, 55000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT", 3L);
+		given(employeeRepository.findById(1)).willReturn(Optional.of(stored));
+		// the body carries the id only, as clients of /delete send it
+		Employee body = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
+
+		employeeImplService.deleteEmployeeDetails(body);
+
+		ArgumentCaptor<Employee> deleted = ArgumentCaptor.forClass(Employee.class);
+		verify(employeeRepository).delete(deleted.capture());
+		assertThat(deleted.getValue()).isSameAs(stored);
+		assertThat(deleted.getValue().getVersion()).isEqualTo(3L);
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.forClass(EmployeeEvent.class);
+		verify(applicationEventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getPrevious()).extracting(Employee::getSalary).containsExactly(55000.0);
 	}
 
 	@Test
 	void deleteEmployeeDetails_whenEmployeeNotExists_throwsException() {
 		Employee employee = new Employee(999, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
-		List<Employee> employees = Arrays.asList(new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"));
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.findById(999)).willReturn(Optional.empty());
 		
 		assertThatThrownBy(() -> employeeImplService.deleteEmployeeDetails(employee))
 			.isInstanceOf(NoDataAvailableException.class);
+		verify(employeeRepository, never()).delete(any(Employee.class));
+	}
+
+	@Test
+	void deleteEmployeesByIds_deletesDistinctIdsInChunks() {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 1; i <= 2500; i++) {
+			ids.add(i);
+		}
+		ids.add(1); // repeated id is deleted once
+		given(employeeRepository.deleteByEmpIds(any())).willAnswer(invocation -> invocation.<List<Integer>>getArgument(0).size());
+
+		BulkDeleteResultDto result = employeeImplService.deleteEmployeesByIds(ids);
+
+		assertThat(result.getRequested()).isEqualTo(2500);
+		assertThat(result.getDeleted()).isEqualTo(2500);
+		assertThat(result.getChunks()).isEqualTo(3);
+		verify(employeeRepository, times(3)).deleteByEmpIds(any());
+	}
+
+	@Test
+	void deleteEmployeesByDeptName_walksDepartmentByKeysetAndPatchesSnapshot() {
+		Employee it = new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT");
+		Employee hr = new Employee(2, "B", 26, 200.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR");
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(it, hr));
+		given(employeeRepository.findEmpIdsByDeptName("IT", Integer.MIN_VALUE, PageRequest.of(0, 1000)))
+			.willReturn(Arrays.asList(1));
+		given(employeeRepository.findEmpIdsByDeptName("IT", 1, PageRequest.of(0, 1000))).willReturn(Collections.emptyList());
+		given(employeeRepository.findByEmpIdsForUpdate(Arrays.asList(1))).willReturn(Arrays.asList(it));
+		given(employeeRepository.deleteByEmpIds(Arrays.asList(1))).willReturn(1);
+		employeeImplService.findAllEmployeeDetails(); // load the snapshot
+
+		BulkDeleteResultDto result = employeeImplService.deleteEmployeesByDeptName("IT");
+
+		assertThat(result.getDeleted()).isEqualTo(1);
+		assertThat(result.getChunks()).isEqualTo(1);
+		assertThat(employeeImplService.findAllEmployeeDetails()).extracting(EmployeeDto::getDeptName).containsExactly("HR");
+	}
+
+	// Snapshot Tests
+	@Test
+	void readMethods_loadSnapshotOnceAndSeePatchedWrites() {
+		Employee alice = new Employee(1, "Alice", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT", 0L);
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(alice));
+		given(employeeRepository.findById(1)).willReturn(Optional.of(alice));
+		given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> {
+			Employee saved = invocation.getArgument(0);
+			if (saved.getEmpId() == 0) {
+				saved.setEmpId(2); // next id of employee_seq
+			}
+			return saved;
+		});
+
+		assertThat(employeeImplService.joiningNamesDeatails()).isEqualTo("Alice");
+		employeeImplService.saveEmployeeDetails(new EmployeeDto(0, "Bob", 26, 200.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"));
+		employeeImplService.updateEmployeeDetails(new Employee(1, "Alicia", 25, 150.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT", 0L));
+
+		assertThat(employeeImplService.mapNamesToUppercaseDeatails()).containsExactly("ALICIA", "BOB");
+		verify(employeeRepository, times(1)).findAll();
 	}
 
 	@Test
@@ -115,15 +390,67 @@ class EmployeeImplServiceTest {
 	  assertThat(result.get(0).getEmpName()).isEqualTo("John"); }
 	 
 
+	@Test
+	void streamAllEmployeeDetails_detachesEachRowFromCursor() {
+		Employee first = new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "john@test.com", 10, "IT");
+		Employee second = new Employee(2, "Jane", 25, 45000.0, "Developer", "Python", "Tech", 1234567891L, "jane@test.com", 20, "HR");
+		given(employeeRepository.streamAllBy()).willReturn(Stream.of(first, second));
+		List<String> names = new ArrayList<>();
+
+		employeeImplService.streamAllEmployeeDetails(
+			employees -> names.addAll(employees.map(Employee::getEmpName).collect(Collectors.toList())));
+
+		assertThat(names).containsExactly("John", "Jane");
+		verify(entityManager).detach(first);
+		verify(entityManager).detach(second);
+	}
+
+	@Test
+	void saveAllEmployeeDetails_persistsInJdbcBatchesAndPatchesSnapshot() {
+		ReflectionTestUtils.setField(employeeImplService, "jdbcBatchSize", 2);
+		AtomicInteger ids = new AtomicInteger(100);
+		willAnswer(invocation -> {
+			invocation.<Employee>getArgument(0).setEmpId(ids.incrementAndGet());
+			return null;
+		}).given(entityManager).persist(any(Employee.class));
+		List<EmployeeDto> dtos = Arrays.asList(
+			new EmployeeDto(7, "A", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L, "a@test.com", 10, "IT"),
+			new EmployeeDto(7, "B", 31, 51000.0, "Engineer", "Java", "Tech", 1234567891L, "b@test.com", 10, "IT"),
+			new EmployeeDto(7, "C", 32, 52000.0, "Engineer", "Java", "Tech", 1234567892L, "c@test.com", 10, "IT"));
+		employeeImplService.findAllEmployeeDetails(); // load the (empty) snapshot
+
+		BulkSaveResultDto result = employeeImplService.saveAllEmployeeDetails(dtos.iterator());
+
+		assertThat(result.getRows()).isEqualTo(3);
+		verify(entityManager, times(3)).persist(any(Employee.class));
+		// once after the first JDBC batch of 2 and once for the rest
+		verify(entityManager, times(2)).flush();
+		verify(transactionManager).commit(any());
+		assertThat(employeeImplService.findAllEmployeeDetails()).extracting(EmployeeDto::getEmpId)
+			.containsExactly(101, 102, 103);
+	}
+
+	@Test
+	void saveAllEmployeeDetails_whenRecordUnreadable_throwsInvalidInputException() {
+		Iterator<EmployeeDto> broken = new Iterator<EmployeeDto>() {
+			public boolean hasNext() {
+				return true;
+			}
+
+			public EmployeeDto next() {
+				throw new IllegalArgumentException("Unexpected character");
+			}
+		};
+
+		assertThatThrownBy(() -> employeeImplService.saveAllEmployeeDetails(broken))
+			.isInstanceOf(InvalidInputException.class)
+			.hasMessageContaining("#1");
+	}
+
 	// Salary Calculation Tests
 	@Test
 	void findBySumSalaryDeatails_returnsSumOfSalaries() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
-			new Employee(2, "B", 26, 200.5, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"),
-			new Employee(3, "C", 27, 300.25, "Dev", "Java", "Tech", 3L, "c@x.com", 30, "FIN"));
-
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.findSumSalary()).willReturn(600.75);
 
 		double sum = employeeImplService.findBySumSalaryDeatails();
 
@@ -131,12 +458,15 @@ class EmployeeImplServiceTest {
 	}
 
 	@Test
-	void findByCountSalaryDeatails_returnsCountOfEmployees() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
-			new Employee(2, "B", 26, 200.5, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"));
+	void findBySumSalaryDeatails_whenNoEmployees_returnsZero() {
+		given(employeeRepository.findSumSalary()).willReturn(null);
 
-		given(employeeRepository.findAll()).willReturn(employees);
+		assertThat(employeeImplService.findBySumSalaryDeatails()).isZero();
+	}
+
+	@Test
+	void findByCountSalaryDeatails_returnsCountOfEmployees() {
+		given(employeeRepository.count()).willReturn(2L);
 
 		double count = employeeImplService.findByCountSalaryDeatails();
 
@@ -145,11 +475,8 @@ class EmployeeImplServiceTest {
 
 	@Test
 	void findByMaxSalaryDeatails_returnsEmployeeWithMaxSalary() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
-			new Employee(2, "B", 26, 200.5, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"));
-
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.findFirstByOrderBySalaryDesc()).willReturn(
+			Optional.of(new Employee(2, "B", 26, 200.5, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR")));
 
 		Employee result = employeeImplService.findByMaxSalaryDeatails();
 
@@ -158,17 +485,85 @@ class EmployeeImplServiceTest {
 
 	@Test
 	void findByMinSalaryDeatails_returnsEmployeeWithMinSalary() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
-			new Employee(2, "B", 26, 200.5, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"));
-
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.findFirstByOrderBySalaryAsc()).willReturn(
+			Optional.of(new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT")));
 
 		Employee result = employeeImplService.findByMinSalaryDeatails();
 
 		assertThat(result.getSalary()).isEqualTo(100.0);
 	}
 
+	@Test
+	void findByMinSalaryDeatails_whenNoEmployees_throwsException() {
+		given(employeeRepository.findFirstByOrderBySalaryAsc()).willReturn(Optional.empty());
+
+		assertThatThrownBy(() -> employeeImplService.findByMinSalaryDeatails())
+			.isInstanceOf(NoDataAvailableException.class);
+	}
+
+	@Test
+	void findSalaryAggregatesDeatails_groupsByRequestedColumn() {
+		given(departmentSummaryService.findDepartmentSummaries()).willReturn(Arrays.asList(
+			new DepartmentSummaryDto("HR", 1L, 200.0, 200.0, 200.0, 200.0, 0.0),
+			new DepartmentSummaryDto("IT", 2L, 400.0, 100.0, 300.0, 200.0, 100.0)));
+
+		List<SalaryAggregateDto> result = employeeImplService.findSalaryAggregatesDeatails("deptName");
+
+		assertThat(result).containsExactly(
+			new SalaryAggregateDto("HR", 1L, 200.0, 200.0, 200.0, 200.0),
+			new SalaryAggregateDto("IT", 2L, 400.0, 100.0, 300.0, 200.0));
+	}
+
+	@Test
+	void findSalaryAggregatesDeatails_whenGroupByUnknown_throwsException() {
+		assertThatThrownBy(() -> employeeImplService.findSalaryAggregatesDeatails("empName"))
+			.isInstanceOf(InvalidInputException.class);
+	}
+
+	@Test
+	void findSalaryHistogramDeatails_countsAndSumsPerWidthBucket() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			new Employee(1, "A", 25, 12000.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
+			new Employee(2, "B", 26, 18000.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"),
+			new Employee(3, "C", 27, 35000.0, "Dev", "Java", "Tech", 3L, "c@x.com", 10, "IT")));
+
+		List<SalaryHistogramDto> result = employeeImplService.findSalaryHistogramDeatails(10000.0, null, false);
+
+		// the empty 20000 bucket is left out
+		assertThat(result).containsExactly(new SalaryHistogramDto(null, 3L, 65000.0, Arrays.asList(
+			new HistogramBucketDto(10000.0, 20000.0, 2L, 30000.0),
+			new HistogramBucketDto(30000.0, 40000.0, 1L, 35000.0))));
+	}
+
+	@Test
+	void findSalaryHistogramDeatails_groupsBoundaryBucketsByDepartment() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			new Employee(1, "A", 25, 500.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
+			new Employee(2, "B", 26, 1000.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"),
+			new Employee(3, "C", 27, 5000.0, "Dev", "Java", "Tech", 3L, "c@x.com", 10, "IT")));
+
+		List<SalaryHistogramDto> result = employeeImplService.findSalaryHistogramDeatails(null, "1000, 2000", true);
+
+		assertThat(result).containsExactly(
+			new SalaryHistogramDto("HR", 1L, 1000.0,
+				Arrays.asList(new HistogramBucketDto(1000.0, 2000.0, 1L, 1000.0))),
+			new SalaryHistogramDto("IT", 2L, 5500.0, Arrays.asList(
+				new HistogramBucketDto(null, 1000.0, 1L, 500.0),
+				new HistogramBucketDto(2000.0, null, 1L, 5000.0))));
+	}
+
+	@Test
+	void findSalaryHistogramDeatails_rejectsInvalidBucketSpecs() {
+		assertThatThrownBy(() -> employeeImplService.findSalaryHistogramDeatails(null, null, false))
+			.isInstanceOf(InvalidInputException.class);
+		assertThatThrownBy(() -> employeeImplService.findSalaryHistogramDeatails(100.0, "1,2", false))
+			.isInstanceOf(InvalidInputException.class);
+		assertThatThrownBy(() -> employeeImplService.findSalaryHistogramDeatails(null, "2000,1000", false))
+			.isInstanceOf(InvalidInputException.class);
+		assertThatThrownBy(() -> employeeImplService.findSalaryHistogramDeatails(null, "10,abc", false))
+			.isInstanceOf(InvalidInputException.class);
+	}
+
 	// Sorting Tests
 	@Test
 	void findByEmployeeSalaryAscDeatails_whenEmployeesExist_returnsSortedList() {
@@ -442,22 +837,62 @@ class EmployeeImplServiceTest {
 		assertThat(result.getSalary()).isEqualTo(200.0); // second lowest
 	}
 
+	@Test
+	void findParticularRecordsAscsDeatails_returnsSecondToFifthLowestSalaries() {
+		List<Employee> employees = Arrays.asList(
+			new Employee(1, "A", 25, 600.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
+			new Employee(2, "B", 26, 100.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"),
+			new Employee(3, "C", 27, 500.0, "Dev", "Java", "Tech", 3L, "c@x.com", 30, "FIN"),
+			new Employee(4, "D", 28, 200.0, "Dev", "Java", "Tech", 4L, "d@x.com", 40, "IT"),
+			new Employee(5, "E", 29, 400.0, "Dev", "Java", "Tech", 5L, "e@x.com", 50, "HR"),
+			new Employee(6, "F", 30, 300.0, "Dev", "Java", "Tech", 6L, "f@x.com", 60, "FIN"));
+
+		given(employeeRepository.findAll()).willReturn(employees);
+
+		List<Employee> result = employeeImplService.findParticularRecordsAscsDeatails();
+
+		assertThat(result).extracting(Employee::getSalary).containsExactly(200.0, 300.0, 400.0, 500.0);
+	}
+
+	@Test
+	void secondHigestSalaryDeatails_whenSingleEmployee_throwsException() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT")));
+
+		assertThatThrownBy(() -> employeeImplService.secondHigestSalaryDeatails())
+			.isInstanceOf(NoDataAvailableException.class);
+	}
+
 	// Filtering Tests
 	
-	  @Test void findByEmployeeBetweenSalaryDeatails_returnsFilteredEmployees() {
-	  List<Employee> employees = Arrays.asList( new Employee(1, "A", 25, 50000.0,
-	  "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"), new Employee(2, "B", 26,
-	  70000.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"), new Employee(3,
-	  "C", 27, 100000.0, "Dev", "Java", "Tech", 3L, "c@x.com", 30, "FIN"));
-	  
-	  given(employeeRepository.findAll()).willReturn(employees);
-	  
-	  List<EmployeeDto> result =
-	  employeeImplService.findByEmployeeBetweenSalaryDeatails();
-	  
-	  assertThat(result).hasSize(1);
-	  assertThat(result.get(0).getEmpName()).isEqualTo("B"); }
-	 
+	@Test
+	void findByEmployeeBetweenSalaryDeatails_firstPage_startsBelowRange() {
+		List<Employee> employees = Arrays.asList(
+			new Employee(2, "B", 26, 70000.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"));
+		given(employeeRepository.findSalaryRangePage(65000, 90000, 65000, Integer.MIN_VALUE, PageRequest.of(0, 10)))
+			.willReturn(employees);
+
+		List<EmployeeDto> result = employeeImplService.findByEmployeeBetweenSalaryDeatails(65000, 90000, 10, null, null);
+
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getEmpName()).isEqualTo("B");
+	}
+
+	@Test
+	void findByEmployeeBetweenSalaryDeatails_nextPage_usesCursor() {
+		given(employeeRepository.findSalaryRangePage(65000, 90000, 70000, 2, PageRequest.of(0, 10)))
+			.willReturn(Collections.emptyList());
+
+		List<EmployeeDto> result = employeeImplService.findByEmployeeBetweenSalaryDeatails(65000, 90000, 10, 70000.0, 2);
+
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	void findByEmployeeBetweenSalaryDeatails_whenCursorIncomplete_throwsException() {
+		assertThatThrownBy(() -> employeeImplService.findByEmployeeBetweenSalaryDeatails(65000, 90000, 10, 70000.0, null))
+			.isInstanceOf(InvalidInputException.class);
+	}
 
 	@Test
 	void mapNamesToUppercaseDeatails_returnsUppercaseNames() {
@@ -496,12 +931,9 @@ class EmployeeImplServiceTest {
 	// Department Count Tests
 	
 	  @Test void findBygroupCountDeatails_returnsDepartmentCountMap() {
-	  List<Employee> employees = Arrays.asList( new Employee(1, "A", 25, 100.0,
-	  "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"), new Employee(2, "B", 26,
-	  200.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"), new Employee(3, "C",
-	  27, 300.0, "Dev", "Java", "Tech", 3L, "c@x.com", 30, "IT"));
-	  
-	  given(employeeRepository.findAll()).willReturn(employees);
+	  given(departmentSummaryService.findDepartmentSummaries()).willReturn(Arrays.asList(
+	  new DepartmentSummaryDto("HR", 1L, 200.0, 200.0, 200.0, 200.0, 0.0),
+	  new DepartmentSummaryDto("IT", 2L, 400.0, 100.0, 300.0, 200.0, 100.0)));
 	  
 	  Map<String, Long> result = employeeImplService.findBygroupCountDeatails();
 	  
@@ -535,12 +967,9 @@ class EmployeeImplServiceTest {
 	// String Analysis Tests (with proper null handling)
 	@Test
 	void firstnonRepeactedCharacterInStringDeatails_returnsFirstNonRepeatedCharacter() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "suresh", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"));
-
-		given(employeeRepository.findAll()).willReturn(employees);
+		given(employeeRepository.existsByEmpName("suresh")).willReturn(true);
 
-		String result = employeeImplService.firstnonRepeactedCharacterInStringDeatails();
+		String result = employeeImplService.firstnonRepeactedCharacterInStringDeatails("suresh");
 
 		// In "suresh": s(2), u(1), r(1), e(1), h(1) - first non-repeated is 'u'
 		assertThat(result).isEqualTo("u");
@@ -548,40 +977,59 @@ class EmployeeImplServiceTest {
 
 	@Test
 	void firstRepeactedCharacterInStringDeatails_returnsFirstRepeatedCharacter() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "suresh", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"));
+		given(employeeRepository.existsByEmpName("suresh")).willReturn(true);
 
-		given(employeeRepository.findAll()).willReturn(employees);
-
-		String result = employeeImplService.firstRepeactedCharacterInStringDeatails();
+		String result = employeeImplService.firstRepeactedCharacterInStringDeatails("suresh");
 
 		assertThat(result).isEqualTo("s"); // first repeated character in "suresh"
 	}
 
 	@Test
 	void printDublicatesInStringDeatails_returnsDuplicateCharacters() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "suresh", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"));
+		given(employeeRepository.existsByEmpName("suresh")).willReturn(true);
 
-		given(employeeRepository.findAll()).willReturn(employees);
-
-		List<String> result = employeeImplService.printDublicatesInStringDeatails();
+		List<String> result = employeeImplService.printDublicatesInStringDeatails("suresh");
 
 		assertThat(result).contains("s"); // 's' is duplicated in "suresh"
 	}
 
 	@Test
 	void uniquerecordsInStringDeatails_returnsUniqueCharacters() {
-		List<Employee> employees = Arrays.asList(
-			new Employee(1, "suresh", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"));
+		given(employeeRepository.existsByEmpName("suresh")).willReturn(true);
 
-		given(employeeRepository.findAll()).willReturn(employees);
-
-		List<String> result = employeeImplService.uniquerecordsInStringDeatails();
+		List<String> result = employeeImplService.uniquerecordsInStringDeatails("suresh");
 
 		assertThat(result).contains("u", "r", "e", "h"); // unique characters in "suresh"
 	}
 
+	@Test
+	void firstnonRepeactedCharacterInStringDeatails_whenNoEmployeeHasName_returnsNull() {
+		given(employeeRepository.existsByEmpName("nobody")).willReturn(false);
+
+		assertThat(employeeImplService.firstnonRepeactedCharacterInStringDeatails("nobody")).isNull();
+		verify(employeeRepository, never()).findAll();
+	}
+
+	@Test
+	void analyzeEmployeeTextDeatails_analyzesRequestedFieldOfOneRow() {
+		Employee employee = new Employee(1, "John", 25, 100.0, "Developer", "Java", "Tech", 1L, "a@x.com", 10, "IT");
+		given(employeeRepository.findByEmpId(1)).willReturn(Optional.of(employee));
+
+		TextAnalysisDto result = employeeImplService.analyzeEmployeeTextDeatails(1, "designation");
+
+		assertThat(result.getText()).isEqualTo("Developer");
+		assertThat(result.getFrequencies()).containsEntry("e", 3);
+		assertThat(result.getFirstUnique()).isEqualTo("D");
+		assertThat(result.getFirstRepeated()).isEqualTo("e");
+		verify(employeeRepository, never()).findAll();
+	}
+
+	@Test
+	void analyzeEmployeeTextDeatails_whenFieldUnknown_throwsInvalidInputException() {
+		assertThatThrownBy(() -> employeeImplService.analyzeEmployeeTextDeatails(1, "salary"))
+			.isInstanceOf(InvalidInputException.class);
+	}
+
 	@Test
 	void longestStringDeatails_returnsLongestName() {
 		List<Employee> employees = Arrays.asList(
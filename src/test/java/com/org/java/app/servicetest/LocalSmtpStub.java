@@ -0,0 +1,112 @@
+package com.org.java.app.servicetest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server on a loopback port for tests. It accepts every message
+ * without storing it and only counts deliveries and connections. The first
+ * {@code failFirst} messages are rejected with a temporary 451 error to
+ * exercise retries.
+ */
+public class LocalSmtpStub implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService connections = Executors.newCachedThreadPool();
+	private final AtomicInteger accepted = new AtomicInteger();
+	private final AtomicInteger sessions = new AtomicInteger();
+	private final AtomicInteger failuresLeft;
+
+	public LocalSmtpStub(int failFirst) {
+		try {
+			serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		failuresLeft = new AtomicInteger(failFirst);
+		connections.execute(this::acceptLoop);
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public int getAcceptedMessages() {
+		return accepted.get();
+	}
+
+	public int getSessions() {
+		return sessions.get();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.execute(() -> session(socket));
+			} catch (IOException ex) {
+				return;
+			}
+		}
+	}
+
+	private void session(Socket socket) {
+		sessions.incrementAndGet();
+		try (socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+				OutputStream out = socket.getOutputStream()) {
+			reply(out, "220 localhost stub");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+				switch (command) {
+				case "EHLO":
+				case "HELO":
+					reply(out, "250 localhost");
+					break;
+				case "DATA":
+					reply(out, "354 end with <CRLF>.<CRLF>");
+					while ((line = in.readLine()) != null && !line.equals(".")) {
+						// discard the message body
+					}
+					if (failuresLeft.getAndDecrement() > 0) {
+						reply(out, "451 try again later");
+					} else {
+						accepted.incrementAndGet();
+						reply(out, "250 queued");
+					}
+					break;
+				case "QUIT":
+					reply(out, "221 bye");
+					return;
+				default:
+					// MAIL, RCPT, RSET, NOOP
+					reply(out, "250 ok");
+				}
+			}
+		} catch (IOException ex) {
+			// client went away
+		}
+	}
+
+	private static void reply(OutputStream out, String line) throws IOException {
+		out.write((line + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		connections.shutdownNow();
+	}
+}
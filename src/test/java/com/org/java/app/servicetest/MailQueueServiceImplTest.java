@@ -0,0 +1,155 @@
+package com.org.java.app.servicetest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.dto.MailJobDto;
+import com.org.java.app.entity.Employee;
+import com.org.java.app.exception.InvalidInputException;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.service.EmployeeService;
+import com.org.java.app.serviceimpl.MailQueueServiceImpl;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+import com.org.java.app.util.EmailSender;
+
+@ExtendWith(MockitoExtension.class)
+class MailQueueServiceImplTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	@Mock
+	private EmployeeService employeeService;
+
+	private LocalSmtpStub smtp;
+	private MailQueueServiceImpl mailQueueService;
+
+	private void start(int failFirst, int maxAttempts) {
+		smtp = new LocalSmtpStub(failFirst);
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(smtp.getPort());
+		mailSender.getJavaMailProperties().put("mail.smtp.from", "reports@test.local");
+		EmailSender emailSender = new EmailSender();
+		ReflectionTestUtils.setField(emailSender, "mailSender", mailSender);
+
+		EmployeeSnapshotStore employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+
+		mailQueueService = new MailQueueServiceImpl();
+		ReflectionTestUtils.setField(mailQueueService, "emailSender", emailSender);
+		ReflectionTestUtils.setField(mailQueueService, "employeeService", employeeService);
+		ReflectionTestUtils.setField(mailQueueService, "employeeSnapshotStore", employeeSnapshotStore);
+		ReflectionTestUtils.setField(mailQueueService, "workers", 2);
+		ReflectionTestUtils.setField(mailQueueService, "capacity", 1000);
+		ReflectionTestUtils.setField(mailQueueService, "batchSize", 50);
+		ReflectionTestUtils.setField(mailQueueService, "maxAttempts", maxAttempts);
+		ReflectionTestUtils.setField(mailQueueService, "initialBackoffMs", 10L);
+		ReflectionTestUtils.setField(mailQueueService, "maxBackoffMs", 100L);
+		mailQueueService.init();
+	}
+
+	private void givenOneEmployee() {
+		willAnswer(invocation -> {
+			Consumer<Stream<Employee>> consumer = invocation.getArgument(0);
+			consumer.accept(Stream.of(new Employee(1, "John", 30, 50000.0, "Engineer", "Java", "Tech", 1234567890L,
+					"john@test.com", 10, "IT")));
+			return null;
+		}).given(employeeService).streamAllEmployeeDetails(any());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (mailQueueService != null) {
+			mailQueueService.shutdown();
+		}
+		if (smtp != null) {
+			smtp.close();
+		}
+	}
+
+	@Test
+	void queueReportEmail_deliversBatchesToLocalSmtp() throws Exception {
+		start(0, 3);
+		givenOneEmployee();
+		int messages = 200;
+
+		List<String> trackingIds = new ArrayList<>();
+		for (int i = 0; i < messages; i++) {
+			trackingIds.add(mailQueueService.queueReportEmail(Collections.singletonList("user" + i + "@test.local")));
+		}
+		awaitFinished(trackingIds);
+
+		assertThat(trackingIds).allMatch(id -> mailQueueService.findMailJob(id).getStatus() == MailJobDto.Status.SENT);
+		assertThat(smtp.getAcceptedMessages()).isEqualTo(messages);
+		// batches share one connection and one rendered report
+		assertThat(smtp.getSessions()).isLessThan(messages);
+		verify(employeeService, times(1)).streamAllEmployeeDetails(any());
+	}
+
+	@Test
+	void queueReportEmail_retriesTemporaryFailure() throws Exception {
+		start(1, 3);
+		givenOneEmployee();
+
+		String trackingId = mailQueueService.queueReportEmail(Collections.singletonList("john@test.local"));
+		awaitFinished(Collections.singletonList(trackingId));
+
+		MailJobDto job = mailQueueService.findMailJob(trackingId);
+		assertThat(job.getStatus()).isEqualTo(MailJobDto.Status.SENT);
+		assertThat(job.getAttempts()).isEqualTo(2);
+		assertThat(smtp.getAcceptedMessages()).isEqualTo(1);
+	}
+
+	@Test
+	void queueReportEmail_givesUpAfterMaxAttempts() throws Exception {
+		start(100, 2);
+		givenOneEmployee();
+
+		String trackingId = mailQueueService.queueReportEmail(Collections.singletonList("john@test.local"));
+		awaitFinished(Collections.singletonList(trackingId));
+
+		MailJobDto job = mailQueueService.findMailJob(trackingId);
+		assertThat(job.getStatus()).isEqualTo(MailJobDto.Status.FAILED);
+		assertThat(job.getAttempts()).isEqualTo(2);
+		assertThat(job.getError()).isNotBlank();
+	}
+
+	@Test
+	void queueReportEmail_rejectsInvalidAddress() {
+		start(0, 3);
+
+		assertThatThrownBy(() -> mailQueueService.queueReportEmail(Collections.singletonList("not an address")))
+				.isInstanceOf(InvalidInputException.class);
+	}
+
+	private void awaitFinished(List<String> trackingIds) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (!trackingIds.stream().map(mailQueueService::findMailJob)
+				.allMatch(job -> job.getStatus() == MailJobDto.Status.SENT || job.getStatus() == MailJobDto.Status.FAILED)) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("mail jobs did not finish in time");
+			}
+			Thread.sleep(10);
+		}
+	}
+}
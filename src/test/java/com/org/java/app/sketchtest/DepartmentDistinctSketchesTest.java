@@ -0,0 +1,101 @@
+package com.org.java.app.sketchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.BDDMockito.given;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.sketch.DepartmentDistinctSketches;
+import com.org.java.app.sketch.HyperLogLog;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentDistinctSketchesTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	private DepartmentDistinctSketches departmentDistinctSketches;
+
+	@BeforeEach
+	void setUp() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			employee(1, "IT", "a@x.com"), employee(2, "IT", "b@x.com"), employee(3, "HR", "c@x.com")));
+		employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+		departmentDistinctSketches = new DepartmentDistinctSketches();
+		ReflectionTestUtils.setField(departmentDistinctSketches, "employeeSnapshotStore", employeeSnapshotStore);
+		departmentDistinctSketches.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		departmentDistinctSketches.shutdown();
+	}
+
+	@Test
+	void update_addsNewValuesRightAway() {
+		commit(Collections.emptyList(), Arrays.asList(employee(4, "IT", "d@x.com")));
+
+		assertThat(departmentDistinctSketches.sketches("email", Collections.singleton("IT")).get("IT").estimate())
+			.isEqualTo(3);
+	}
+
+	@Test
+	void update_forgetsValuesOfRowsThatLeftOnlyAfterTheBackgroundRebuild() throws InterruptedException {
+		commit(Arrays.asList(employee(2, "IT", "b@x.com")), Arrays.asList(employee(2, "IT", "new@x.com")));
+		commit(Arrays.asList(employee(3, "HR", "c@x.com")), Collections.emptyList());
+
+		Map<String, HyperLogLog> sketches = awaitEmails(2);
+
+		assertThat(sketches).containsOnlyKeys("IT");
+	}
+
+	@Test
+	void sketches_keepsOneSketchPerField() {
+		commit(Arrays.asList(employee(1, "IT", "a@x.com")), Arrays.asList(employee(1, "IT", "b@x.com")));
+
+		assertThat(departmentDistinctSketches.sketches("deptName", null).get("IT").estimate()).isEqualTo(1);
+	}
+
+	private void commit(List<Employee> previous, List<Employee> current) {
+		// the order of the after-commit listeners
+		long snapshotVersion = employeeSnapshotStore.apply(previous, current);
+		departmentDistinctSketches.update(previous, current, snapshotVersion);
+	}
+
+	/** Waits until the background rebuild left this many distinct emails in IT. */
+	private Map<String, HyperLogLog> awaitEmails(long it) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			Map<String, HyperLogLog> sketches = departmentDistinctSketches.sketches("email", null);
+			if (sketches.size() == 1 && sketches.containsKey("IT") && sketches.get("IT").estimate() == it) {
+				return sketches;
+			}
+			if (System.currentTimeMillis() > deadline) {
+				fail("sketches not rebuilt in time: " + sketches.keySet());
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private static Employee employee(int empId, String deptName, String email) {
+		return new Employee(empId, "E" + empId, 30, 100.0, "Dev", "Java", "Tech", 1L, email, 10, deptName);
+	}
+}
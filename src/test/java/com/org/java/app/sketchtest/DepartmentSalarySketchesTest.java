@@ -0,0 +1,135 @@
+package com.org.java.app.sketchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.sketch.DepartmentSalarySketches;
+import com.org.java.app.sketch.KllSketch;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentSalarySketchesTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	private DepartmentSalarySketches departmentSalarySketches;
+
+	@BeforeEach
+	void setUp() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(
+			employee(1, "IT", 100.0, "a@x.com"), employee(2, "IT", 200.0, "b@x.com"), employee(3, "HR", 300.0, "c@x.com")));
+		employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+		departmentSalarySketches = new DepartmentSalarySketches();
+		ReflectionTestUtils.setField(departmentSalarySketches, "employeeSnapshotStore", employeeSnapshotStore);
+		departmentSalarySketches.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		departmentSalarySketches.shutdown();
+	}
+
+	@Test
+	void update_addsNewRowsRightAway() {
+		commit(Collections.emptyList(), Arrays.asList(employee(4, "IT", 400.0, "d@x.com")));
+
+		KllSketch it = departmentSalarySketches.sketches(Collections.singleton("IT")).get("IT");
+		assertThat(it.getN()).isEqualTo(3);
+		assertThat(it.getMax()).isEqualTo(400.0);
+	}
+
+	@Test
+	void update_rebuildsDepartmentsWithStaleSalariesInTheBackground() throws InterruptedException {
+		commit(Arrays.asList(employee(2, "IT", 200.0, "b@x.com")), Arrays.asList(employee(2, "HR", 250.0, "b@x.com")));
+		commit(Arrays.asList(employee(3, "HR", 300.0, "c@x.com")), Collections.emptyList());
+		commit(Collections.emptyList(), Arrays.asList(employee(4, "IT", 400.0, "d@x.com")));
+
+		Map<String, KllSketch> sketches = awaitSketches(2, 1);
+
+		assertThat(sketches.get("IT").getMin()).isEqualTo(100.0);
+		assertThat(sketches.get("IT").getMax()).isEqualTo(400.0);
+		assertThat(sketches.get("HR").getMin()).isEqualTo(250.0);
+		assertThat(sketches.get("HR").getMax()).isEqualTo(250.0);
+		// rebuilt from the snapshot, the table is read only at startup
+		verify(employeeRepository, times(1)).findAll();
+	}
+
+	@Test
+	void update_whenChangesArriveOutOfCommitOrder_countsEveryRowOnce() throws InterruptedException {
+		// employee 4 is created, then deleted; the delete reaches the sketches first
+		List<Employee> created = Arrays.asList(employee(4, "FIN", 400.0, "d@x.com"));
+		long createdIn = employeeSnapshotStore.apply(Collections.emptyList(), created);
+		long deletedIn = employeeSnapshotStore.apply(created, Collections.emptyList());
+		departmentSalarySketches.update(created, Collections.emptyList(), deletedIn);
+		departmentSalarySketches.update(Collections.emptyList(), created, createdIn);
+
+		Map<String, KllSketch> sketches = awaitSketches(2, 1);
+
+		assertThat(sketches).containsOnlyKeys("HR", "IT");
+	}
+
+	@Test
+	void update_alreadyInTheBuiltSnapshot_isSkipped() {
+		List<Employee> created = Arrays.asList(employee(4, "IT", 400.0, "d@x.com"));
+		long createdIn = employeeSnapshotStore.apply(Collections.emptyList(), created);
+		departmentSalarySketches.rebuild(); // reads the snapshot before the event reaches the sketches
+		departmentSalarySketches.update(Collections.emptyList(), created, createdIn);
+
+		assertThat(departmentSalarySketches.sketches(Collections.singleton("IT")).get("IT").getN()).isEqualTo(3);
+	}
+
+	@Test
+	void update_ignoresChangesOutsideDeptNameAndSalary() {
+		commit(Arrays.asList(employee(1, "IT", 100.0, "a@x.com")), Arrays.asList(employee(1, "IT", 100.0, "new@x.com")));
+
+		assertThat(departmentSalarySketches.sketches(Collections.singleton("IT")).get("IT").getN()).isEqualTo(2);
+	}
+
+	private void commit(List<Employee> previous, List<Employee> current) {
+		// the order of the after-commit listeners
+		long snapshotVersion = employeeSnapshotStore.apply(previous, current);
+		departmentSalarySketches.update(previous, current, snapshotVersion);
+	}
+
+	/** Waits until the background rebuild left exactly these salary counts in IT and HR. */
+	private Map<String, KllSketch> awaitSketches(long it, long hr) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			Map<String, KllSketch> sketches = departmentSalarySketches.sketches(null);
+			if (sketches.size() == 2 && sketches.containsKey("IT") && sketches.containsKey("HR")
+					&& sketches.get("IT").getN() == it && sketches.get("HR").getN() == hr) {
+				return sketches;
+			}
+			if (System.currentTimeMillis() > deadline) {
+				fail("sketches not rebuilt in time: " + sketches.keySet());
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private static Employee employee(int empId, String deptName, double salary, String email) {
+		return new Employee(empId, "E" + empId, 30, salary, "Dev", "Java", "Tech", 1L, email, 10, deptName);
+	}
+}
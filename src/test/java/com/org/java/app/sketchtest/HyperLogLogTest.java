@@ -0,0 +1,55 @@
+package com.org.java.app.sketchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.sketch.HyperLogLog;
+
+class HyperLogLogTest {
+
+	@Test
+	void estimate_isWithinFourStandardErrors() {
+		double error = HyperLogLog.relativeError(HyperLogLog.DEFAULT_PRECISION);
+		for (int n : new int[] { 1_000, 10_000, 200_000 }) {
+			HyperLogLog sketch = new HyperLogLog();
+			for (int i = 0; i < n; i++) {
+				sketch.add("user" + i + "@example.com");
+				sketch.add("user" + i + "@example.com");
+			}
+
+			assertThat((double) sketch.estimate() / n).isCloseTo(1, offset(4 * error));
+		}
+	}
+
+	@Test
+	void smallCounts_areExact() {
+		HyperLogLog sketch = new HyperLogLog();
+
+		assertThat(sketch.estimate()).isZero();
+		for (String sector : new String[] { "IT", "Banking", "Retail", "IT", null }) {
+			sketch.add(sector);
+		}
+		assertThat(sketch.estimate()).isEqualTo(3);
+	}
+
+	@Test
+	void merge_equalsSketchOfUnion() {
+		HyperLogLog left = new HyperLogLog();
+		HyperLogLog right = new HyperLogLog();
+		HyperLogLog union = new HyperLogLog();
+		for (int i = 0; i < 30_000; i++) {
+			(i < 20_000 ? left : right).add("e" + i);
+			right.add("e" + (i / 2));
+			union.add("e" + i);
+		}
+
+		HyperLogLog merged = left.copy();
+		merged.merge(right);
+
+		assertThat(merged.estimate()).isEqualTo(union.estimate());
+		assertThat(left.estimate()).isLessThan(merged.estimate());
+		assertThat(merged.memoryBytes()).isEqualTo(4096);
+	}
+}
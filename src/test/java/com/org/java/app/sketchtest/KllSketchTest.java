@@ -0,0 +1,81 @@
+package com.org.java.app.sketchtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.sketch.KllSketch;
+
+class KllSketchTest {
+
+	@Test
+	void quantile_isWithinRankError() {
+		Random random = new Random(42);
+		double[] values = new double[200_000];
+		KllSketch sketch = new KllSketch();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Math.exp(random.nextGaussian()) * 50_000;
+			sketch.update(values[i]);
+		}
+		Arrays.sort(values);
+
+		assertThat(sketch.getN()).isEqualTo(values.length);
+		assertThat(sketch.getRetained()).isLessThan(1000);
+		for (double q : new double[] { 0.01, 0.25, 0.5, 0.9, 0.99 }) {
+			assertThat(rankOf(values, sketch.quantile(q))).isCloseTo(q, offset(KllSketch.DEFAULT_RANK_ERROR));
+		}
+	}
+
+	@Test
+	void merge_matchesOneSketchOverAllValues() {
+		Random random = new Random(7);
+		double[] values = new double[100_000];
+		KllSketch left = new KllSketch();
+		KllSketch right = new KllSketch();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i < values.length / 2 ? random.nextDouble() * 100 : 50 + random.nextDouble() * 100;
+			(i % 3 == 0 ? left : right).update(values[i]);
+		}
+		Arrays.sort(values);
+
+		KllSketch merged = left.copy();
+		merged.merge(right);
+
+		assertThat(merged.getN()).isEqualTo(values.length);
+		assertThat(left.getN() + right.getN()).isEqualTo(values.length);
+		assertThat(rankOf(values, merged.quantile(0.5))).isCloseTo(0.5, offset(KllSketch.DEFAULT_RANK_ERROR));
+		assertThat(merged.getMin()).isEqualTo(values[0]);
+		assertThat(merged.getMax()).isEqualTo(values[values.length - 1]);
+	}
+
+	@Test
+	void smallInput_isExact() {
+		KllSketch sketch = new KllSketch();
+		for (double salary : new double[] { 30_000, 10_000, 20_000, Double.NaN }) {
+			sketch.update(salary);
+		}
+
+		assertThat(sketch.getN()).isEqualTo(3);
+		assertThat(sketch.quantile(0)).isEqualTo(10_000);
+		assertThat(sketch.quantile(0.5)).isEqualTo(20_000);
+		assertThat(sketch.quantile(1)).isEqualTo(30_000);
+	}
+
+	@Test
+	void emptySketch_returnsNaN() {
+		KllSketch sketch = new KllSketch();
+
+		assertThat(sketch.getN()).isZero();
+		assertThat(sketch.quantile(0.5)).isNaN();
+		assertThat(sketch.getMin()).isNaN();
+	}
+
+	private static double rankOf(double[] sorted, double value) {
+		int index = Arrays.binarySearch(sorted, value);
+		return (double) (index >= 0 ? index : -index - 1) / sorted.length;
+	}
+}
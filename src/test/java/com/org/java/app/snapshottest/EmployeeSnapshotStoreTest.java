@@ -0,0 +1,75 @@
+package com.org.java.app.snapshottest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.repository.EmployeeRepository;
+import com.org.java.app.snapshot.EmployeeSnapshotStore;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotStoreTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@BeforeEach
+	void setUp() {
+		given(employeeRepository.findAll()).willReturn(Arrays.asList(employee(1, 100.0, 0L), employee(2, 200.0, 0L)));
+		employeeSnapshotStore = new EmployeeSnapshotStore();
+		ReflectionTestUtils.setField(employeeSnapshotStore, "employeeRepository", employeeRepository);
+		employeeSnapshotStore.init();
+	}
+
+	@Test
+	void apply_whenPatchesArriveOutOfCommitOrder_keepsNewestVersion() {
+		// A commits 100 -> 110 (v1), then B commits 110 -> 120 (v2); B's listener runs first
+		employeeSnapshotStore.apply(Collections.singletonList(employee(1, 110.0, 1L)),
+				Collections.singletonList(employee(1, 120.0, 2L)));
+		employeeSnapshotStore.apply(Collections.singletonList(employee(1, 100.0, 0L)),
+				Collections.singletonList(employee(1, 110.0, 1L)));
+
+		assertThat(employeeSnapshotStore.current().getEmployees())
+			.extracting(Employee::getEmpId, Employee::getSalary, Employee::getVersion)
+			.containsExactly(tuple(1, 120.0, 2L), tuple(2, 200.0, 0L));
+	}
+
+	@Test
+	void apply_whenUpdateArrivesAfterDelete_doesNotBringRowBack() {
+		// the update (v1) commits before the delete, which removed row 1 at v1
+		employeeSnapshotStore.apply(Collections.singletonList(employee(1, 110.0, 1L)), Collections.emptyList());
+		employeeSnapshotStore.apply(Collections.singletonList(employee(1, 100.0, 0L)),
+				Collections.singletonList(employee(1, 110.0, 1L)));
+
+		assertThat(employeeSnapshotStore.current().getEmployees()).extracting(Employee::getEmpId).containsExactly(2);
+	}
+
+	@Test
+	void apply_inCommitOrder_appliesEveryPatch() {
+		employeeSnapshotStore.apply(Collections.singletonList(employee(2, 200.0, 0L)),
+				Collections.singletonList(employee(2, 210.0, 1L)));
+		employeeSnapshotStore.apply(Collections.emptyList(), Collections.singletonList(employee(3, 300.0, 0L)));
+
+		assertThat(employeeSnapshotStore.current().getEmployees())
+			.extracting(Employee::getEmpId, Employee::getSalary)
+			.containsExactly(tuple(1, 100.0), tuple(2, 210.0), tuple(3, 300.0));
+	}
+
+	private static Employee employee(int empId, double salary, Long version) {
+		return new Employee(empId, "emp" + empId, 30, salary, "Engineer", "Java", "Tech", 1234567890L,
+				"emp" + empId + "@test.com", 10, "IT", version);
+	}
+}
@@ -0,0 +1,66 @@
+package com.org.java.app.utiltest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.util.CharacterAnalytics;
+
+class CharacterAnalyticsTest {
+
+	@Test
+	void of_countsCharactersInOrderOfFirstAppearance() {
+		CharacterAnalytics analytics = CharacterAnalytics.of("naveenkumar");
+
+		assertThat(analytics.frequencies()).containsExactly(
+			entry("n", 2), entry("a", 2),
+			entry("v", 1), entry("e", 2),
+			entry("k", 1), entry("u", 1),
+			entry("m", 1), entry("r", 1));
+		assertThat(analytics.getLength()).isEqualTo(11);
+		assertThat(analytics.getDistinct()).isEqualTo(8);
+	}
+
+	@Test
+	void of_findsFirstUniqueFirstRepeatedDuplicatesAndUniques() {
+		CharacterAnalytics analytics = CharacterAnalytics.of("suresh");
+
+		assertThat(analytics.firstUnique()).isEqualTo("u");
+		assertThat(analytics.firstRepeated()).isEqualTo("s");
+		assertThat(analytics.duplicates()).containsExactly("s");
+		assertThat(analytics.uniques()).containsExactly("u", "r", "e", "h");
+	}
+
+	@Test
+	void of_treatsSurrogatePairsAsOneCharacter() {
+		String text = "a\uD83D\uDE00b\uD83D\uDE00";
+
+		CharacterAnalytics analytics = CharacterAnalytics.of(text);
+
+		assertThat(analytics.getLength()).isEqualTo(4);
+		assertThat(analytics.firstRepeated()).isEqualTo("\uD83D\uDE00");
+		assertThat(analytics.uniques()).containsExactly("a", "b");
+	}
+
+	@Test
+	void of_whenEmptyOrNull_hasNoCharacters() {
+		assertThat(CharacterAnalytics.of("").frequencies()).isEmpty();
+		assertThat(CharacterAnalytics.of(null).firstUnique()).isNull();
+		assertThat(CharacterAnalytics.of(null).firstRepeated()).isNull();
+	}
+
+	@Test
+	void of_handlesLongTextWithManyDistinctCharacters() {
+		StringBuilder text = new StringBuilder();
+		for (int codePoint = 0x4E00; codePoint < 0x4E00 + 5000; codePoint++) {
+			text.appendCodePoint(codePoint).appendCodePoint(codePoint);
+		}
+
+		CharacterAnalytics analytics = CharacterAnalytics.of(text.toString());
+
+		assertThat(analytics.getDistinct()).isEqualTo(5000);
+		assertThat(analytics.uniques()).isEmpty();
+		assertThat(analytics.frequencies().values()).containsOnly(2);
+	}
+}
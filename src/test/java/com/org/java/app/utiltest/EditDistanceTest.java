@@ -0,0 +1,26 @@
+package com.org.java.app.utiltest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.util.EditDistance;
+
+class EditDistanceTest {
+
+	@Test
+	void bounded_returnsDistanceUpToTheCap() {
+		assertThat(EditDistance.bounded("suresh", "suresh", 2)).isEqualTo(0);
+		assertThat(EditDistance.bounded("suresh", "sursh", 2)).isEqualTo(1);
+		assertThat(EditDistance.bounded("kitten", "sitting", 3)).isEqualTo(3);
+		assertThat(EditDistance.bounded("", "ab", 2)).isEqualTo(2);
+	}
+
+	@Test
+	void bounded_returnsCapPlusOneBeyondIt() {
+		assertThat(EditDistance.bounded("kitten", "sitting", 2)).isEqualTo(3);
+		assertThat(EditDistance.bounded("naveen", "suresh", 1)).isEqualTo(2);
+		assertThat(EditDistance.bounded("a", "abcd", 2)).isEqualTo(3);
+		assertThat(EditDistance.bounded("ab", "ba", 0)).isEqualTo(1);
+	}
+}
@@ -0,0 +1,57 @@
+package com.org.java.app.utiltest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.java.app.dto.EmailDeliveryDto;
+import com.org.java.app.servicetest.LocalSmtpStub;
+import com.org.java.app.util.EmailSender;
+
+class EmailSenderTest {
+
+	private LocalSmtpStub smtp;
+	private EmailSender emailSender;
+
+	@BeforeEach
+	void setUp() {
+		// the first message is rejected once with a temporary error
+		smtp = new LocalSmtpStub(1);
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(smtp.getPort());
+		mailSender.getJavaMailProperties().put("mail.smtp.from", "reports@test.local");
+		emailSender = new EmailSender();
+		ReflectionTestUtils.setField(emailSender, "mailSender", mailSender);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		emailSender.closeTransports();
+		smtp.close();
+	}
+
+	@Test
+	void sendPdfToAll_reportsEachMessageAndReusesTheConnection() throws Exception {
+		byte[] pdf = new byte[10_000];
+		List<String> recipients = Arrays.asList("a@test.local", "b@test.local", "c@test.local");
+
+		List<EmailDeliveryDto> first = emailSender.sendPdfToAll(recipients, "Report", "<p>hi</p>", pdf, "employees.pdf");
+		List<EmailDeliveryDto> second = emailSender.sendPdfToAll(recipients, "Report", "<p>hi</p>", pdf, "employees.pdf");
+
+		assertThat(first).extracting(EmailDeliveryDto::getRecipient).containsExactlyElementsOf(recipients);
+		assertThat(first).extracting(EmailDeliveryDto::isSent).containsExactly(false, true, true);
+		assertThat(first.get(0).getError()).contains("451");
+		assertThat(second).allMatch(EmailDeliveryDto::isSent);
+		assertThat(smtp.getAcceptedMessages()).isEqualTo(5);
+		// both calls went over one pooled connection
+		assertThat(smtp.getSessions()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,61 @@
+package com.org.java.app.utiltest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.org.java.app.entity.Employee;
+import com.org.java.app.util.TopKSelector;
+
+class TopKSelectorTest {
+
+	@Test
+	void highest_skipsOffsetAndLimitsResult() {
+		List<Double> salaries = Arrays.asList(300.0, 100.0, 500.0, 200.0, 400.0);
+
+		List<Double> result = salaries.stream().collect(TopKSelector.highest(Double::doubleValue, 1, 2));
+
+		assertThat(result).containsExactly(400.0, 300.0);
+	}
+
+	@Test
+	void lowest_whenOffsetBeyondInput_returnsEmptyList() {
+		List<Double> salaries = Arrays.asList(300.0, 100.0);
+
+		List<Double> result = salaries.stream().collect(TopKSelector.lowest(Double::doubleValue, 2, 3));
+
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	void lowest_keepsEncounterOrderForEqualKeys() {
+		List<Employee> employees = Arrays.asList(
+			new Employee(1, "A", 25, 100.0, "Dev", "Java", "Tech", 1L, "a@x.com", 10, "IT"),
+			new Employee(2, "B", 26, 100.0, "Dev", "Java", "Tech", 2L, "b@x.com", 20, "HR"),
+			new Employee(3, "C", 27, 50.0, "Dev", "Java", "Tech", 3L, "c@x.com", 30, "FIN"));
+
+		List<Employee> result = employees.stream().collect(TopKSelector.lowest(Employee::getSalary, 1, 2));
+
+		assertThat(result).extracting(Employee::getEmpId).containsExactly(1, 2);
+	}
+
+	@Test
+	void matchesFullSortOnRandomInput() {
+		Random random = new Random(42);
+		List<Integer> values = IntStream.range(0, 10_000).map(i -> random.nextInt(500)).boxed()
+				.collect(Collectors.toList());
+
+		List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).skip(7).limit(25)
+				.collect(Collectors.toList());
+		List<Integer> result = values.stream().collect(TopKSelector.highest(Integer::doubleValue, 7, 25));
+
+		assertThat(result).isEqualTo(expected);
+	}
+}